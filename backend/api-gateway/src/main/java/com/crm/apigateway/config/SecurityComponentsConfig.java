@@ -0,0 +1,16 @@
+package com.crm.apigateway.config;
+
+import com.crm.common.context.ReactorContextPropagationConfig;
+import com.crm.common.security.identity.InternalIdentityCodec;
+import com.crm.common.security.jwt.JwtUtil;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Shared JWT, internal identity and tenant context propagation components from common.
+ * The gateway does not component-scan com.crm.common (it excludes the servlet stack), so import them explicitly.
+ */
+@Configuration
+@Import({JwtUtil.class, InternalIdentityCodec.class, ReactorContextPropagationConfig.class})
+public class SecurityComponentsConfig {
+}
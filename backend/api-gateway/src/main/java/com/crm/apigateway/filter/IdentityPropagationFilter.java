@@ -0,0 +1,72 @@
+package com.crm.apigateway.filter;
+
+import com.crm.common.context.TenantContextAccessor;
+import com.crm.common.security.identity.InternalIdentityCodec;
+import com.crm.common.security.jwt.JwtUtil;
+import com.crm.common.security.jwt.VerifiedPrincipal;
+import com.crm.common.util.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Verifies the bearer JWT once at the edge and forwards a signed X-Internal-Identity header,
+ * so downstream services can skip their own JWT parse.
+ * Any client-supplied X-Internal-Identity header is always stripped. Requests without a valid
+ * access token are forwarded unchanged and downstream services apply their normal JWT checks.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdentityPropagationFilter implements GlobalFilter, Ordered {
+
+    private final JwtUtil jwtUtil;
+    private final InternalIdentityCodec internalIdentityCodec;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Optional<VerifiedPrincipal> principal = Optional.empty();
+
+        if (internalIdentityCodec.isEnabled()) {
+            String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                principal = jwtUtil.verifyToken(authHeader.substring(7))
+                        .filter(VerifiedPrincipal::isAccessToken);
+            }
+        }
+
+        String identityHeader = principal.map(internalIdentityCodec::encode).orElse(null);
+        Mono<Void> result;
+        if (identityHeader == null && !request.getHeaders().containsKey(InternalIdentityCodec.HEADER_NAME)) {
+            result = chain.filter(exchange);
+        } else {
+            ServerHttpRequest mutated = request.mutate()
+                    .headers(headers -> {
+                        headers.remove(InternalIdentityCodec.HEADER_NAME);
+                        if (identityHeader != null) {
+                            headers.set(InternalIdentityCodec.HEADER_NAME, identityHeader);
+                        }
+                    })
+                    .build();
+            result = chain.filter(exchange.mutate().request(mutated).build());
+        }
+
+        // Downstream filters see the tenant through TenantContext on whichever thread they run
+        return principal
+                .map(verified -> result.contextWrite(ctx -> ctx.put(TenantContextAccessor.KEY, TenantContext.Snapshot.of(verified))))
+                .orElse(result);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -1,9 +1,6 @@
 package com.crm.apigateway.filter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import com.crm.common.security.jwt.JwtUtil;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpHeaders;
@@ -13,17 +10,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-
 @Component
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final JwtUtil jwtUtil;
 
-    public JwtAuthenticationFilter() {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
         super(Config.class);
+        this.jwtUtil = jwtUtil;
     }
 
     @Override
@@ -53,12 +47,11 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
 
             String token = authHeader.substring(7);
 
-            try {
-                validateToken(token);
-                return chain.filter(exchange);
-            } catch (Exception e) {
-                return onError(exchange, "Invalid JWT token: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
+            // Parser and signing key are built once; repeat tokens are served from the verified-token cache
+            if (jwtUtil.verifyToken(token).isEmpty()) {
+                return onError(exchange, "Invalid JWT token", HttpStatus.UNAUTHORIZED);
             }
+            return chain.filter(exchange);
         };
     }
 
@@ -70,14 +63,6 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
                path.contains("/actuator");
     }
 
-    private void validateToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        Jwts.parser()
-            .verifyWith(key)
-            .build()
-            .parseSignedClaims(token);
-    }
-
     private Mono<Void> onError(ServerWebExchange exchange, String err, HttpStatus httpStatus) {
         exchange.getResponse().setStatusCode(httpStatus);
         return exchange.getResponse().setComplete();
@@ -0,0 +1,78 @@
+package com.crm.benchmarks.common;
+
+import com.crm.benchmarks.lead.BenchmarkLeads;
+import com.crm.common.dto.ApiResponse;
+import com.crm.leadservice.dto.response.LeadDTO;
+import com.crm.leadservice.entity.Lead;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of ApiResponse payloads as the MVC message converter writes them
+ * (ObjectMapper configured like Boot's: JavaTimeModule, ISO dates).
+ * pagedLeads is a typical list endpoint; message is the smallest success envelope.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"20", "200"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<LeadDTO>> pagedLeads;
+    private ApiResponse<Void> message;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        UUID tenantId = UUID.randomUUID();
+        List<LeadDTO> leads = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Lead lead = BenchmarkLeads.lead(tenantId, i);
+            leads.add(LeadDTO.builder()
+                    .id(lead.getId())
+                    .tenantId(lead.getTenantId())
+                    .firstName(lead.getFirstName())
+                    .lastName(lead.getLastName())
+                    .email(lead.getEmail())
+                    .phone(lead.getPhone())
+                    .company(lead.getCompany())
+                    .source(lead.getSource())
+                    .status(lead.getStatus())
+                    .priority(lead.getPriority())
+                    .customFields(lead.getCustomFields())
+                    .notes(lead.getNotes())
+                    .assignedTo(UUID.randomUUID())
+                    .createdAt(lead.getCreatedAt())
+                    .updatedAt(lead.getUpdatedAt())
+                    .build());
+        }
+        pagedLeads = ApiResponse.success("Leads fetched successfully", leads);
+        message = ApiResponse.success("Lead deleted successfully");
+    }
+
+    @Benchmark
+    public byte[] pagedLeads() throws JsonProcessingException {
+        return writer.writeValueAsBytes(pagedLeads);
+    }
+
+    @Benchmark
+    public byte[] message() throws JsonProcessingException {
+        return writer.writeValueAsBytes(message);
+    }
+}
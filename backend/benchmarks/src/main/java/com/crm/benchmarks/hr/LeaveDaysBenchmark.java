@@ -0,0 +1,75 @@
+package com.crm.benchmarks.hr;
+
+import com.crm.benchmarks.support.Stubs;
+import com.crm.hrservice.entity.Holiday;
+import com.crm.hrservice.repository.*;
+import com.crm.hrservice.service.LeaveService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.invoke.MethodHandle;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Working-day count in LeaveService.calculateLeaveDays for short, month-long and year-long requests,
+ * against a calendar with 15 holidays (3 optional) per year.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaveDaysBenchmark {
+
+    @Param({"5", "30", "365"})
+    public int spanDays;
+
+    private MethodHandle calculateLeaveDays;
+    private UUID tenantId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setup() {
+        tenantId = UUID.randomUUID();
+        startDate = LocalDate.of(2025, 1, 6);
+        endDate = startDate.plusDays(spanDays - 1L);
+
+        List<Holiday> yearHolidays = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            Holiday holiday = new Holiday();
+            holiday.setTenantId(tenantId);
+            holiday.setName("Holiday " + i);
+            holiday.setDate(startDate.plusDays(i * 24L + 1));
+            holiday.setIsOptional(i % 5 == 0);
+            yearHolidays.add(holiday);
+        }
+        List<Holiday> holidaysInRange = yearHolidays.stream()
+                .filter(h -> !h.getDate().isAfter(endDate))
+                .toList();
+
+        LeaveService leaveService = new LeaveService(
+                Stubs.unused(LeaveTypeRepository.class),
+                Stubs.unused(LeaveBalanceRepository.class),
+                Stubs.unused(LeaveRequestRepository.class),
+                Stubs.unused(LeaveApprovalRepository.class),
+                Stubs.repository(HolidayRepository.class,
+                        Map.of("findByTenantIdAndDateBetweenOrderByDateAsc", args -> holidaysInRange)),
+                new JdbcTemplate());
+
+        calculateLeaveDays = Stubs.privateMethod(leaveService, "calculateLeaveDays",
+                UUID.class, LocalDate.class, LocalDate.class);
+    }
+
+    @Benchmark
+    public BigDecimal calculateLeaveDays() throws Throwable {
+        return (BigDecimal) calculateLeaveDays.invoke(tenantId, startDate, endDate);
+    }
+}
@@ -0,0 +1,81 @@
+package com.crm.benchmarks.hr;
+
+import com.crm.benchmarks.support.Stubs;
+import com.crm.hrservice.entity.*;
+import com.crm.hrservice.repository.salary.*;
+import com.crm.hrservice.service.SalaryService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SalaryService.calculateSalaryBreakdown for a typical 8-component structure
+ * (percentage-of-CTC earnings plus fixed allowances and deductions).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SalaryBreakdownBenchmark {
+
+    private SalaryService salaryService;
+    private EmployeeSalary employeeSalary;
+    private SalaryStructure salaryStructure;
+    private BigDecimal ctc;
+
+    @Setup
+    public void setup() {
+        salaryService = new SalaryService(
+                Stubs.unused(SalaryComponentRepository.class),
+                Stubs.unused(SalaryStructureRepository.class),
+                Stubs.unused(EmployeeSalaryRepository.class),
+                Stubs.unused(SalarySlipRepository.class),
+                Stubs.unused(EmployeeBankDetailsRepository.class));
+
+        ctc = new BigDecimal("1800000");
+
+        List<SalaryStructureComponent> components = new ArrayList<>();
+        components.add(structureComponent("Basic", "40", null));
+        components.add(structureComponent("HRA", "20", null));
+        components.add(structureComponent("Special Allowance", "25", null));
+        components.add(structureComponent("Employer PF", "4.8", null));
+        components.add(structureComponent("Conveyance", null, "1600"));
+        components.add(structureComponent("Medical", null, "1250"));
+        components.add(structureComponent("Professional Tax", null, "200"));
+        components.add(structureComponent("Employee PF", null, "1800"));
+
+        salaryStructure = new SalaryStructure();
+        salaryStructure.setId(UUID.randomUUID());
+        salaryStructure.setName("Standard");
+        salaryStructure.setComponents(components);
+
+        employeeSalary = new EmployeeSalary();
+        employeeSalary.setId(UUID.randomUUID());
+        employeeSalary.setCtc(ctc);
+        employeeSalary.setSalaryStructure(salaryStructure);
+    }
+
+    @Benchmark
+    public List<EmployeeSalaryComponent> calculateSalaryBreakdown() {
+        return salaryService.calculateSalaryBreakdown(employeeSalary, salaryStructure, ctc);
+    }
+
+    private static SalaryStructureComponent structureComponent(String name, String percentage, String fixedAmount) {
+        SalaryComponent component = new SalaryComponent();
+        component.setId(UUID.randomUUID());
+        component.setName(name);
+        component.setCode(name.toUpperCase().replace(' ', '_'));
+
+        return SalaryStructureComponent.builder()
+                .component(component)
+                .percentage(percentage != null ? new BigDecimal(percentage) : null)
+                .fixedAmount(fixedAmount != null ? new BigDecimal(fixedAmount) : null)
+                .build();
+    }
+}
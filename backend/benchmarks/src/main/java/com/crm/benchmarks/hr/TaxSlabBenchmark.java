@@ -0,0 +1,85 @@
+package com.crm.benchmarks.hr;
+
+import com.crm.benchmarks.support.Stubs;
+import com.crm.hrservice.entity.TaxRegime;
+import com.crm.hrservice.entity.TaxSlab;
+import com.crm.hrservice.repository.*;
+import com.crm.hrservice.service.TaxService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Progressive slab math in TaxService.calculateTaxFromSlabs with the regime and slabs served from memory.
+ * Income levels fall in the first, middle and top slab of the FY 2024-25 new regime.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaxSlabBenchmark {
+
+    private static final String FINANCIAL_YEAR = "2024-25";
+
+    @Param({"350000", "1150000", "4500000"})
+    public String income;
+
+    private MethodHandle calculateTaxFromSlabs;
+    private UUID tenantId;
+    private BigDecimal taxableIncome;
+
+    @Setup
+    public void setup() {
+        tenantId = UUID.randomUUID();
+        taxableIncome = new BigDecimal(income);
+
+        TaxRegime regime = new TaxRegime();
+        regime.setId(UUID.randomUUID());
+        regime.setTenantId(tenantId);
+        regime.setFinancialYear(FINANCIAL_YEAR);
+        regime.setRegimeType(TaxRegime.RegimeType.NEW);
+
+        List<TaxSlab> slabs = List.of(
+                slab(0, "0", "300000", "0"),
+                slab(1, "300000", "700000", "5"),
+                slab(2, "700000", "1000000", "10"),
+                slab(3, "1000000", "1200000", "15"),
+                slab(4, "1200000", "1500000", "20"),
+                slab(5, "1500000", null, "30"));
+
+        TaxService taxService = new TaxService(
+                Stubs.unused(EmployeeTaxDeclarationRepository.class),
+                Stubs.unused(TaxDeclarationItemRepository.class),
+                Stubs.unused(HraDeclarationRepository.class),
+                Stubs.unused(TaxCalculationRepository.class),
+                Stubs.repository(TaxRegimeRepository.class,
+                        Map.of("findByTenantIdAndFinancialYearAndRegimeType", args -> Optional.of(regime))),
+                Stubs.repository(TaxSlabRepository.class,
+                        Map.of("findByTaxRegimeIdOrderBySlabOrder", args -> slabs)));
+
+        calculateTaxFromSlabs = Stubs.privateMethod(taxService, "calculateTaxFromSlabs",
+                UUID.class, String.class, TaxRegime.RegimeType.class, BigDecimal.class);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTaxFromSlabs() throws Throwable {
+        return (BigDecimal) calculateTaxFromSlabs.invoke(tenantId, FINANCIAL_YEAR, TaxRegime.RegimeType.NEW, taxableIncome);
+    }
+
+    private static TaxSlab slab(int order, String min, String max, String rate) {
+        return TaxSlab.builder()
+                .slabOrder(order)
+                .minIncome(new BigDecimal(min))
+                .maxIncome(max != null ? new BigDecimal(max) : null)
+                .taxRate(new BigDecimal(rate))
+                .build();
+    }
+}
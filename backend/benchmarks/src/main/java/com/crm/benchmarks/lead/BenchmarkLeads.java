@@ -0,0 +1,35 @@
+package com.crm.benchmarks.lead;
+
+import com.crm.leadservice.entity.Lead;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Representative lead rows shared by the lead benchmarks
+ */
+public final class BenchmarkLeads {
+
+    private BenchmarkLeads() {
+    }
+
+    public static Lead lead(UUID tenantId, int i) {
+        Lead lead = new Lead();
+        lead.setId(UUID.randomUUID());
+        lead.setTenantId(tenantId);
+        lead.setFirstName("First" + i);
+        lead.setLastName("Last" + i);
+        lead.setEmail("lead" + i + "@example.com");
+        lead.setPhone("+9198" + String.format("%08d", i));
+        lead.setCompany("Company " + (i % 50));
+        lead.setSource(i % 3 == 0 ? "Website" : "Referral");
+        lead.setStatus(Lead.LeadStatus.values()[i % Lead.LeadStatus.values().length]);
+        lead.setPriority(Lead.LeadPriority.values()[i % Lead.LeadPriority.values().length]);
+        lead.setCustomFields(Map.of("budget", 50000 + i, "industry", "SaaS"));
+        lead.setNotes("Met at expo, follow up next week");
+        lead.setCreatedAt(LocalDateTime.now().minusDays(i % 90));
+        lead.setUpdatedAt(LocalDateTime.now());
+        return lead;
+    }
+}
@@ -0,0 +1,62 @@
+package com.crm.benchmarks.lead;
+
+import com.crm.benchmarks.support.Stubs;
+import com.crm.leadservice.dto.response.LeadDTO;
+import com.crm.leadservice.entity.Lead;
+import com.crm.leadservice.repository.LeadRepository;
+import com.crm.leadservice.service.LeadService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LeadService.convertToDTO for a page of leads. The assignee comes from the lead row itself,
+ * so this is the whole cost of the conversion; no per-row queries are made.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeadDtoConversionBenchmark {
+
+    @Param({"20", "200"})
+    public int pageSize;
+
+    private MethodHandle convertToDTO;
+    private List<Lead> leads;
+
+    @Setup
+    public void setup() {
+        UUID tenantId = UUID.randomUUID();
+        UUID assignee = UUID.randomUUID();
+
+        LeadService leadService = new LeadService(
+                Stubs.unused(LeadRepository.class),
+                null,
+                null,
+                null,
+                null);
+        convertToDTO = Stubs.privateMethod(leadService, "convertToDTO", Lead.class);
+
+        leads = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Lead lead = BenchmarkLeads.lead(tenantId, i);
+            lead.setCurrentAssignee(assignee);
+            leads.add(lead);
+        }
+    }
+
+    @Benchmark
+    public void convertPage(Blackhole bh) throws Throwable {
+        for (Lead lead : leads) {
+            bh.consume((LeadDTO) convertToDTO.invoke(lead));
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.crm.benchmarks.lead;
+
+import com.crm.benchmarks.support.Stubs;
+import com.crm.leadservice.dto.response.ImportResultDTO;
+import com.crm.leadservice.entity.ExcelImport;
+import com.crm.leadservice.entity.Lead;
+import com.crm.leadservice.importer.ImportFileStore;
+import com.crm.leadservice.importer.ImportRow;
+import com.crm.leadservice.importer.LeadImportWriter;
+import com.crm.leadservice.importer.LeadRowMapper;
+import com.crm.leadservice.importer.ParallelImportPipeline;
+import com.crm.leadservice.importer.XlsxRowReader;
+import com.crm.leadservice.repository.ExcelImportRepository;
+import com.crm.leadservice.service.LeadImportJobService;
+import com.crm.leadservice.service.LeadImportService;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandle;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lead import parsing with persistence stubbed out (chunk inserts are no-ops, no existing emails).
+ * - excelImport: one background import job (LeadImportJobService.run) over a stored file, transactions as no-ops
+ * - legacyExcelImport / legacyCsvImport: whole-file imports through LeadImportService
+ * - excelRowParsing: LeadRowMapper.toLead over already-streamed rows, isolating per-row cost
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeadImportBenchmark {
+
+    private static final String[] STATUSES = {"NEW", "CONTACTED", "QUALIFIED", "CONVERTED", "LOST"};
+    private static final String[] PRIORITIES = {"HIGH", "MEDIUM", "LOW"};
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private LeadImportJobService importJobService;
+    private LeadRowMapper leadRowMapper;
+    private UUID importId;
+    private UUID claimToken;
+    private MethodHandle runImport;
+    private Path templateFile;
+    private ParallelImportPipeline importPipeline;
+    private LeadImportService leadImportService;
+    private MockMultipartFile templateXlsx;
+    private MockMultipartFile legacyXlsx;
+    private MockMultipartFile legacyCsv;
+    private UUID tenantId;
+    private UUID userId;
+
+    private List<ImportRow> loadedRows;
+    private Map<String, Integer> columnIndexMap;
+
+    @Setup
+    public void setup() throws IOException {
+        tenantId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+
+        LeadImportWriter leadImportWriter = new LeadImportWriter(null, null) {
+            @Override
+            public Set<String> findExistingEmails(UUID tenantId, Collection<String> emails) {
+                return Set.of();
+            }
+
+            @Override
+            public void insert(List<Lead> leads) {
+            }
+
+            @Override
+            public void insertErrors(UUID importId, UUID tenantId, List<ImportResultDTO.ImportError> errors) {
+            }
+        };
+        importId = UUID.randomUUID();
+        claimToken = UUID.randomUUID();
+        ExcelImportRepository importRepository = Stubs.repository(ExcelImportRepository.class, Map.of(
+                "findById", args -> Optional.of(importRecord()),
+                "findByIdForUpdate", args -> Optional.of(importRecord()),
+                "commitProgress", args -> 1,
+                "save", args -> args[0]));
+        ImportFileStore fileStore = new ImportFileStore() {
+            @Override
+            public Path resolve(String key) {
+                return templateFile;
+            }
+
+            @Override
+            public void delete(String key) {
+            }
+        };
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        });
+
+        leadRowMapper = new LeadRowMapper();
+        importJobService = new LeadImportJobService(importRepository, leadImportWriter, leadRowMapper,
+                fileStore, transactionTemplate, task -> task);
+        runImport = Stubs.privateMethod(importJobService, "run", UUID.class, UUID.class);
+        importPipeline = new ParallelImportPipeline(task -> task);
+        importPipeline.start();
+        leadImportService = new LeadImportService(leadImportWriter, importPipeline);
+
+        String[] templateHeaders = {"First Name", "Last Name", "Email", "Phone", "Company", "Source", "Status", "Priority", "Notes"};
+        String[] legacyHeaders = {"firstname", "lastname", "email", "phone", "company", "source", "status", "priority", "notes"};
+
+        byte[] templateBytes = workbookBytes(templateHeaders);
+        templateXlsx = new MockMultipartFile("file", "leads.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", templateBytes);
+        templateFile = Files.createTempFile("lead-import-bench-", ".xlsx");
+        Files.write(templateFile, templateBytes);
+        legacyXlsx = new MockMultipartFile("file", "leads.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", workbookBytes(legacyHeaders));
+        legacyCsv = new MockMultipartFile("file", "leads.csv", "text/csv", csvBytes(legacyHeaders));
+
+        loadedRows = new ArrayList<>(rows + 1);
+        XlsxRowReader.read(templateXlsx, loadedRows::add);
+        columnIndexMap = leadRowMapper.mapHeaders(loadedRows.remove(0), new ArrayList<>());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        importPipeline.stop();
+        Files.deleteIfExists(templateFile);
+    }
+
+    @Benchmark
+    public void excelImport() throws Throwable {
+        runImport.invoke(importId, claimToken);
+    }
+
+    @Benchmark
+    public Map<String, Integer> legacyExcelImport() {
+        return leadImportService.importFromFile(legacyXlsx, tenantId, userId);
+    }
+
+    @Benchmark
+    public Map<String, Integer> legacyCsvImport() {
+        return leadImportService.importFromFile(legacyCsv, tenantId, userId);
+    }
+
+    @Benchmark
+    public void excelRowParsing(Blackhole bh) {
+        List<ImportResultDTO.ImportError> errors = new ArrayList<>();
+        for (ImportRow row : loadedRows) {
+            bh.consume(leadRowMapper.toLead(row, columnIndexMap, tenantId, errors));
+        }
+        bh.consume(errors);
+    }
+
+    private byte[] workbookBytes(String[] headers) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Leads");
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < headers.length; i++) {
+                headerRow.createCell(i).setCellValue(headers[i]);
+            }
+            for (int r = 1; r <= rows; r++) {
+                String[] values = rowValues(r);
+                Row row = sheet.createRow(r);
+                for (int i = 0; i < values.length; i++) {
+                    row.createCell(i).setCellValue(values[i]);
+                }
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private byte[] csvBytes(String[] headers) {
+        StringBuilder csv = new StringBuilder(rows * 128);
+        csv.append(String.join(",", headers)).append('\n');
+        for (int r = 1; r <= rows; r++) {
+            String[] values = rowValues(r);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                // Company and notes are quoted and may contain commas, as real exports do
+                boolean quote = i == 4 || i == 8;
+                csv.append(quote ? "\"" : "").append(values[i]).append(quote ? "\"" : "");
+            }
+            csv.append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private ExcelImport importRecord() {
+        ExcelImport importRecord = new ExcelImport();
+        importRecord.setId(importId);
+        importRecord.setTenantId(tenantId);
+        importRecord.setUploadedBy(userId);
+        importRecord.setS3Key("benchmark.xlsx");
+        importRecord.setStatus(ExcelImport.ImportStatus.PROCESSING);
+        importRecord.setClaimToken(claimToken);
+        return importRecord;
+    }
+
+    private static String[] rowValues(int r) {
+        return new String[]{
+                "First" + r,
+                "Last" + r,
+                "lead" + r + "@example.com",
+                "+9198" + String.format("%08d", r),
+                "Company " + (r % 500) + ", Inc",
+                r % 3 == 0 ? "Website" : "Referral",
+                STATUSES[r % STATUSES.length],
+                PRIORITIES[r % PRIORITIES.length],
+                "Imported lead number " + r + ", follow up next week"
+        };
+    }
+}
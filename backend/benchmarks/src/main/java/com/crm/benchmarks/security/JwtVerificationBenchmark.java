@@ -0,0 +1,108 @@
+package com.crm.benchmarks.security;
+
+import com.crm.common.security.identity.InternalIdentityCodec;
+import com.crm.common.security.jwt.JwtUtil;
+import com.crm.common.security.jwt.VerifiedPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT cost in the servlet authentication filter.
+ * legacyFilterPath reproduces the previous filter: validateToken plus five claim getters,
+ * each rebuilding the HMAC key and re-verifying the signature.
+ * trustedIdentityHeader is the downstream cost when the gateway forwards a signed identity header.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET =
+            "your-very-secure-512-bit-jwt-secret-key-that-is-long-enough-for-hs512-algorithm-minimum-64-characters";
+
+    private JwtUtil uncachedJwtUtil;
+    private JwtUtil cachedJwtUtil;
+    private InternalIdentityCodec identityCodec;
+    private String token;
+    private String identityHeader;
+
+    @Setup
+    public void setup() {
+        uncachedJwtUtil = newJwtUtil(false);
+        cachedJwtUtil = newJwtUtil(true);
+
+        List<String> roles = List.of("ADMIN", "SUPERVISOR");
+        List<String> permissions = List.of(
+                "leads:read", "leads:write", "leads:assign", "leads:import", "leads:delete",
+                "calls:read", "calls:write", "campaigns:read", "campaigns:write", "reports:read");
+        token = uncachedJwtUtil.generateAccessToken(UUID.randomUUID(), "agent@example.com",
+                UUID.randomUUID(), roles, permissions);
+
+        // Prime the cache so the measured calls are steady-state hits
+        cachedJwtUtil.verifyToken(token);
+
+        identityCodec = new InternalIdentityCodec();
+        ReflectionTestUtils.setField(identityCodec, "enabled", true);
+        ReflectionTestUtils.setField(identityCodec, "secret", SECRET);
+        ReflectionTestUtils.setField(identityCodec, "ttlSeconds", 3600L);
+        identityCodec.init();
+        identityHeader = identityCodec.encode(uncachedJwtUtil.verifyToken(token).orElseThrow());
+    }
+
+    @Benchmark
+    public void legacyFilterPath(Blackhole bh) {
+        legacyClaims(token);
+        bh.consume(UUID.fromString(legacyClaims(token).getSubject()));
+        bh.consume(UUID.fromString(legacyClaims(token).get("tenant_id", String.class)));
+        bh.consume(legacyClaims(token).get("email", String.class));
+        bh.consume(legacyClaims(token).get("roles"));
+        bh.consume(legacyClaims(token).get("permissions"));
+    }
+
+    @Benchmark
+    public VerifiedPrincipal singleParse() {
+        return uncachedJwtUtil.verifyToken(token).orElseThrow();
+    }
+
+    @Benchmark
+    public VerifiedPrincipal cachedVerify() {
+        return cachedJwtUtil.verifyToken(token).orElseThrow();
+    }
+
+    @Benchmark
+    public VerifiedPrincipal trustedIdentityHeader() {
+        return identityCodec.decode(identityHeader).orElseThrow();
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static JwtUtil newJwtUtil(boolean cacheEnabled) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiration", 900000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiration", 604800000L);
+        ReflectionTestUtils.setField(jwtUtil, "issuer", "crm-application");
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheEnabled", cacheEnabled);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 10000L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,58 @@
+package com.crm.benchmarks.support;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Lightweight JDK-proxy stand-ins for Spring Data repositories and access to private service methods,
+ * so benchmarks measure the service code rather than a mocking framework or the database.
+ * Stubs are not allocation-free: each call boxes its arguments into an Object[] and the answer functions
+ * may build results, so compare gc.alloc.rate between runs rather than reading it as zero-cost.
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Proxy for a repository interface; each named method answers from its function, anything else throws
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + "Stub";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            };
+        });
+    }
+
+    /**
+     * Empty stub for collaborators the benchmarked path never touches
+     */
+    public static <T> T unused(Class<T> type) {
+        return repository(type, Map.of());
+    }
+
+    /**
+     * Handle to a private instance method, bound to the given target
+     */
+    public static MethodHandle privateMethod(Object target, String name, Class<?>... parameterTypes) {
+        try {
+            Class<?> type = target.getClass();
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            return lookup.unreflect(type.getDeclaredMethod(name, parameterTypes)).bindTo(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access " + name, e);
+        }
+    }
+}
@@ -8,17 +8,28 @@ import com.crm.callservice.entity.Call;
 import com.crm.callservice.entity.CallLog;
 import com.crm.callservice.repository.CallLogRepository;
 import com.crm.callservice.repository.CallRepository;
+import com.crm.common.dto.ApiResponse;
 import com.crm.common.exception.ResourceNotFoundException;
+import com.crm.common.security.identity.InternalIdentityCodec;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -31,7 +42,10 @@ public class CallService {
 
     private final CallRepository callRepository;
     private final CallLogRepository callLogRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+
+    @Value("${lead-service.url:http://localhost:8083}")
+    private String leadServiceUrl = "http://localhost:8083";
 
     /**
      * Log a new call
@@ -273,25 +287,52 @@ public class CallService {
     }
 
     /**
-     * Find lead by phone number (call to Lead Service)
+     * Find lead by phone number through lead-service's bulk lookup, forwarding the caller's credentials.
+     * The newest matching lead wins; lookup failures leave the call unlinked.
      */
     private UUID findLeadByPhone(UUID tenantId, String phoneNumber) {
+        if (phoneNumber == null || phoneNumber.isBlank()) {
+            return null;
+        }
         try {
-            String leadServiceUrl = "http://localhost:8083/api/leads/search";
-
-            // In production, this should use service discovery or API Gateway
-            // For now, direct call to lead-service
             log.debug("Searching for lead with phone: {}", phoneNumber);
 
-            // This is a placeholder - in real implementation, you'd call the Lead Service API
-            // For now, return null (no association)
-            return null;
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+                HttpServletRequest request = attributes.getRequest();
+                for (String header : List.of(HttpHeaders.AUTHORIZATION, InternalIdentityCodec.HEADER_NAME)) {
+                    String value = request.getHeader(header);
+                    if (value != null) {
+                        headers.set(header, value);
+                    }
+                }
+            }
+
+            ResponseEntity<ApiResponse<LeadLookup>> response = restTemplate.exchange(
+                    leadServiceUrl + "/leads/internal/lookup",
+                    HttpMethod.POST,
+                    new HttpEntity<>(Map.of("phones", List.of(phoneNumber)), headers),
+                    new ParameterizedTypeReference<>() {});
+
+            ApiResponse<LeadLookup> body = response.getBody();
+            if (body == null || body.getData() == null || body.getData().phones() == null) {
+                return null;
+            }
+            List<UUID> leadIds = body.getData().phones().get(phoneNumber);
+            return leadIds == null || leadIds.isEmpty() ? null : leadIds.get(0);
         } catch (Exception e) {
             log.error("Error finding lead by phone: {}", e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Data of lead-service's bulk lookup response: requested phone number → lead ids, newest first
+     */
+    record LeadLookup(Map<String, List<UUID>> phones) {
+    }
+
     /**
      * Create call log
      */
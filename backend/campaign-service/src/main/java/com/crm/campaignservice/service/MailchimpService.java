@@ -22,7 +22,7 @@ public class MailchimpService {
 
     private final MailchimpListRepository mailchimpListRepository;
     private final CampaignRecipientRepository recipientRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
 
     @Value("${mailchimp.api-key}")
     private String apiKey;
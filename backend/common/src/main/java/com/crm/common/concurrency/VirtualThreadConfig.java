@@ -0,0 +1,67 @@
+package com.crm.common.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Opt-in virtual-thread execution mode for the servlet services.
+ *
+ * spring.threads.virtual.enabled=true makes Boot run Tomcat requests, the applicationTaskExecutor
+ * (@Async, with the context-propagating decorator) and the task scheduler on virtual threads; this needs a
+ * Java 21+ runtime and is silently ignored on older JREs, so warn about it here.
+ *
+ * jdbc.bulkhead.enabled (defaults to the virtual-thread flag) wraps the DataSource in a {@link BoundedDataSource}
+ * sized to the Hikari pool, so thousands of parked virtual threads wait on a semaphore rather than on the pool.
+ */
+@Slf4j
+@Configuration
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcBulkheadPostProcessor(Environment environment) {
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        boolean bulkhead = environment.getProperty("jdbc.bulkhead.enabled", Boolean.class, virtualThreads);
+        Integer configuredPermits = environment.getProperty("jdbc.bulkhead.max-concurrent", Integer.class);
+        long acquireTimeoutMillis = environment.getProperty("jdbc.bulkhead.acquire-timeout-ms", Long.class, 30000L);
+
+        if (virtualThreads && !JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            log.warn("spring.threads.virtual.enabled is set but the runtime is Java {}; falling back to platform threads",
+                    JavaVersion.getJavaVersion());
+        }
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!bulkhead || !(bean instanceof DataSource dataSource) || bean instanceof BoundedDataSource) {
+                    return bean;
+                }
+                int permits = configuredPermits != null ? configuredPermits : poolSize(dataSource);
+                log.info("JDBC bulkhead enabled for '{}': {} concurrent connections, {}ms acquire timeout",
+                        beanName, permits, acquireTimeoutMillis);
+                return new BoundedDataSource(dataSource, permits, acquireTimeoutMillis);
+            }
+        };
+    }
+
+    /**
+     * The Hikari pool size, also when another post-processor has already wrapped the pool
+     */
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.debug("Cannot unwrap the DataSource: {}", e.getMessage());
+        }
+        return 10;
+    }
+}
@@ -0,0 +1,23 @@
+package com.crm.common.context;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Context propagation for servlet services.
+ * Boot applies a single TaskDecorator bean to the auto-configured applicationTaskExecutor (platform or
+ * virtual threads), which also backs @Async methods. Executors built by hand should call
+ * setTaskDecorator(...) with the same bean, or wrap tasks with TenantContext.wrap(...).
+ * Scheduled jobs start with an empty context; use TenantContext.runAsTenant(...) per tenant.
+ */
+@Configuration
+@EnableAsync
+public class AsyncContextConfig {
+
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
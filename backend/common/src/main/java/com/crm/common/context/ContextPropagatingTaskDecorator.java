@@ -0,0 +1,49 @@
+package com.crm.common.context;
+
+import com.crm.common.util.TenantContext;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+
+/**
+ * Captures TenantContext, the Spring Security context and the logging MDC on the submitting thread
+ * and re-binds them for the duration of the task on the executing thread.
+ * Whatever was bound on the worker before is restored afterwards, so pooled threads never leak a tenant.
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        TenantContext.Snapshot tenant = TenantContext.capture();
+        SecurityContext security = SecurityContextHolder.getContext();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        return () -> {
+            TenantContext.Snapshot previousTenant = TenantContext.capture();
+            SecurityContext previousSecurity = SecurityContextHolder.getContext();
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+
+            TenantContext.restore(tenant);
+            SecurityContextHolder.setContext(security);
+            setMdc(mdc);
+            try {
+                runnable.run();
+            } finally {
+                TenantContext.restore(previousTenant);
+                SecurityContextHolder.setContext(previousSecurity);
+                setMdc(previousMdc);
+            }
+        };
+    }
+
+    private static void setMdc(Map<String, String> contextMap) {
+        if (contextMap == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(contextMap);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.crm.common.context;
+
+import io.micrometer.context.ContextRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Hooks;
+
+/**
+ * Registers TenantContext with Micrometer context-propagation and turns on Reactor's automatic
+ * context propagation, so ThreadLocal-based code inside a pipeline sees the tenant written to the
+ * subscriber Context under {@link TenantContextAccessor#KEY}.
+ */
+@Configuration
+@ConditionalOnClass(name = "reactor.core.publisher.Hooks")
+public class ReactorContextPropagationConfig {
+
+    @PostConstruct
+    public void enableContextPropagation() {
+        ContextRegistry registry = ContextRegistry.getInstance();
+        registry.removeThreadLocalAccessor(TenantContextAccessor.KEY);
+        registry.registerThreadLocalAccessor(new TenantContextAccessor());
+        Hooks.enableAutomaticContextPropagation();
+    }
+}
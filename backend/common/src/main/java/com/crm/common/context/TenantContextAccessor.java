@@ -0,0 +1,33 @@
+package com.crm.common.context;
+
+import com.crm.common.util.TenantContext;
+import io.micrometer.context.ThreadLocalAccessor;
+
+/**
+ * Exposes TenantContext to Micrometer context-propagation, so Reactor operators (with automatic
+ * context propagation enabled) restore the tenant from the subscriber Context on whatever thread they run.
+ */
+public class TenantContextAccessor implements ThreadLocalAccessor<TenantContext.Snapshot> {
+
+    public static final String KEY = "crm.tenant-context";
+
+    @Override
+    public Object key() {
+        return KEY;
+    }
+
+    @Override
+    public TenantContext.Snapshot getValue() {
+        return TenantContext.capture();
+    }
+
+    @Override
+    public void setValue(TenantContext.Snapshot value) {
+        TenantContext.restore(value);
+    }
+
+    @Override
+    public void setValue() {
+        TenantContext.clear();
+    }
+}
@@ -0,0 +1,88 @@
+package com.crm.common.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Actuator endpoint (/actuator/accesslog) to inspect and change access-log sampling at runtime.
+ * Administrators only; changes are local to the instance and reset on restart.
+ */
+@Component
+@Endpoint(id = "accesslog")
+@RequiredArgsConstructor
+public class AccessLogEndpoint {
+
+    private final AccessLogSampler sampler;
+    private final AccessLogRingBuffer ringBuffer;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        requireAdmin();
+        return snapshot();
+    }
+
+    private Map<String, Object> snapshot() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", sampler.isEnabled());
+        status.put("defaultRate", sampler.getDefaultRate());
+        status.put("tenantRates", sampler.getTenantRates());
+        status.put("routeRates", sampler.getRouteRates());
+        status.put("bufferCapacity", ringBuffer.getCapacity());
+        status.put("published", ringBuffer.getPublishedCount());
+        status.put("dropped", ringBuffer.getDroppedCount());
+        return status;
+    }
+
+    /**
+     * Set the default rate, or an override for a tenant and/or route when those are given
+     */
+    @WriteOperation
+    public Map<String, Object> configure(@Nullable Boolean enabled, @Nullable Double rate,
+                                         @Nullable String tenantId, @Nullable String route) {
+        requireAdmin();
+
+        if (enabled != null) {
+            sampler.setEnabled(enabled);
+        }
+        if (rate != null) {
+            if (tenantId != null) {
+                sampler.setTenantRate(UUID.fromString(tenantId), rate);
+            }
+            if (route != null) {
+                sampler.setRouteRate(route, rate);
+            }
+            if (tenantId == null && route == null) {
+                sampler.setDefaultRate(rate);
+            }
+        }
+        return snapshot();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> clearOverrides() {
+        requireAdmin();
+        sampler.clearOverrides();
+        return snapshot();
+    }
+
+    private void requireAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean admin = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (!admin) {
+            throw new AccessDeniedException("Only administrators can manage access-log sampling");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.crm.common.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Emits one compact access-log record per request, after the response status is known.
+ * Uses the matched route pattern (e.g. /leads/{id}) rather than the raw URI to keep sampling keys bounded.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final String UNMATCHED_ROUTE = "UNMATCHED";
+
+    private final AccessLogSampler sampler;
+    private final AccessLogRingBuffer ringBuffer;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = pattern != null ? pattern.toString() : UNMATCHED_ROUTE;
+            Object tenantId = request.getAttribute("tenantId");
+            UUID tenant = tenantId instanceof UUID ? (UUID) tenantId : null;
+
+            if (sampler.shouldLog(route, tenant, status)) {
+                Object userId = request.getAttribute("userId");
+                ringBuffer.publish(request.getMethod(), route, status, (System.nanoTime() - start) / 1000,
+                        tenant, userId instanceof UUID ? (UUID) userId : null);
+            }
+        }
+    }
+}
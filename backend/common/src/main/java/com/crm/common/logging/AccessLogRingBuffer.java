@@ -0,0 +1,180 @@
+package com.crm.common.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed-size, pre-allocated ring buffer for access-log records.
+ * Request threads copy a handful of fields into a reusable slot (no allocation, never blocks; drops when full).
+ * A single background thread formats records and writes them to the ACCESS_LOG logger,
+ * so appender I/O never runs on a request thread. The writer parks while the buffer is empty
+ * and is woken by the next publish.
+ */
+@Slf4j
+@Component
+public class AccessLogRingBuffer {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("ACCESS_LOG");
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Value("${access-log.buffer-size:8192}")
+    private int requestedCapacity;
+
+    private Slot[] slots;
+    private AtomicLongArray publishedSequences;
+    private int mask;
+
+    private final AtomicLong claimSequence = new AtomicLong(-1);
+    private final AtomicLong consumedSequence = new AtomicLong(-1);
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running;
+    private volatile boolean consumerParked;
+    private Thread consumer;
+
+    @PostConstruct
+    public void start() {
+        int capacity = Integer.highestOneBit(Math.max(requestedCapacity, 64) - 1) << 1;
+        slots = new Slot[capacity];
+        publishedSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            publishedSequences.set(i, -1);
+        }
+        mask = capacity - 1;
+
+        running = true;
+        consumer = new Thread(this::drainLoop, "access-log-writer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(2000);
+    }
+
+    /**
+     * Publish one request record; returns false (and counts a drop) when the buffer is full
+     */
+    public boolean publish(String method, String route, int status, long durationMicros, UUID tenantId, UUID userId) {
+        long current;
+        long next;
+        do {
+            current = claimSequence.get();
+            next = current + 1;
+            if (next - slots.length > consumedSequence.get()) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimSequence.compareAndSet(current, next));
+
+        int index = (int) (next & mask);
+        Slot slot = slots[index];
+        slot.method = method;
+        slot.route = route;
+        slot.status = status;
+        slot.durationMicros = durationMicros;
+        slot.tenantId = tenantId;
+        slot.userId = userId;
+        slot.timestampMillis = System.currentTimeMillis();
+        // Volatile store so the consumerParked read below cannot be reordered ahead of it
+        publishedSequences.set(index, next);
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getPublishedCount() {
+        return claimSequence.get() + 1;
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    private void drainLoop() {
+        StringBuilder line = new StringBuilder(192);
+        while (running || consumedSequence.get() < claimSequence.get()) {
+            long next = consumedSequence.get() + 1;
+            int index = (int) (next & mask);
+            if (publishedSequences.get(index) != next) {
+                awaitPublish(index, next);
+                continue;
+            }
+
+            Slot slot = slots[index];
+            line.setLength(0);
+            line.append("ts=").append(slot.timestampMillis)
+                    .append(" method=").append(slot.method)
+                    .append(" route=").append(slot.route)
+                    .append(" status=").append(slot.status)
+                    .append(" dur_us=").append(slot.durationMicros)
+                    .append(" tenant=").append(slot.tenantId)
+                    .append(" user=").append(slot.userId);
+            slot.clear();
+            consumedSequence.lazySet(next);
+
+            try {
+                ACCESS_LOG.info(line.toString());
+            } catch (Exception e) {
+                log.warn("Access log write failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Block until the slot is published or stop() is called.
+     * The flag is raised before the re-check, so a publish that lands in between always sees it and unparks us;
+     * the timeout is only a safety net.
+     */
+    private void awaitPublish(int index, long sequence) {
+        consumerParked = true;
+        try {
+            if (running && publishedSequences.get(index) != sequence) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        } finally {
+            consumerParked = false;
+        }
+    }
+
+    /**
+     * Reusable mutable record; only touched by the claiming producer and then the single consumer
+     */
+    private static final class Slot {
+        String method;
+        String route;
+        int status;
+        long durationMicros;
+        UUID tenantId;
+        UUID userId;
+        long timestampMillis;
+
+        void clear() {
+            method = null;
+            route = null;
+            tenantId = null;
+            userId = null;
+        }
+    }
+}
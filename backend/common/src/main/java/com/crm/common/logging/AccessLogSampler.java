@@ -0,0 +1,89 @@
+package com.crm.common.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runtime-adjustable sampling for access-log records.
+ * Effective rate = (route override or default rate) x (tenant override or 1.0). Server errors are always kept.
+ */
+@Component
+public class AccessLogSampler {
+
+    @Value("${access-log.enabled:true}")
+    private volatile boolean enabled;
+
+    @Value("${access-log.sample-rate:1.0}")
+    private volatile double defaultRate;
+
+    private final Map<UUID, Double> tenantRates = new ConcurrentHashMap<>();
+    private final Map<String, Double> routeRates = new ConcurrentHashMap<>();
+
+    public boolean shouldLog(String route, UUID tenantId, int status) {
+        if (!enabled) {
+            return false;
+        }
+        if (status >= 500) {
+            return true;
+        }
+
+        double rate = route != null ? routeRates.getOrDefault(route, defaultRate) : defaultRate;
+        if (tenantId != null && !tenantRates.isEmpty()) {
+            Double tenantRate = tenantRates.get(tenantId);
+            if (tenantRate != null) {
+                rate *= tenantRate;
+            }
+        }
+
+        if (rate >= 1.0) {
+            return true;
+        }
+        return rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getDefaultRate() {
+        return defaultRate;
+    }
+
+    public void setDefaultRate(double defaultRate) {
+        this.defaultRate = clamp(defaultRate);
+    }
+
+    public void setTenantRate(UUID tenantId, double rate) {
+        tenantRates.put(tenantId, clamp(rate));
+    }
+
+    public void setRouteRate(String route, double rate) {
+        routeRates.put(route, clamp(rate));
+    }
+
+    public void clearOverrides() {
+        tenantRates.clear();
+        routeRates.clear();
+    }
+
+    public Map<UUID, Double> getTenantRates() {
+        return Map.copyOf(tenantRates);
+    }
+
+    public Map<String, Double> getRouteRates() {
+        return Map.copyOf(routeRates);
+    }
+
+    private static double clamp(double rate) {
+        return Math.max(0.0, Math.min(1.0, rate));
+    }
+}
@@ -0,0 +1,26 @@
+package com.crm.common.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Adds the ApiResponse outcome tag to http.server.requests.
+ * No tenant tag: the meter publishes a percentile histogram, and every tag value multiplies its buckets.
+ * Per-tenant load is counted without histograms by SqlBudgetFilter.
+ */
+public class ApiServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String API_SUCCESS_ATTRIBUTE = "com.crm.common.metrics.apiSuccess";
+
+    private static final KeyValue API_SUCCESS_NONE = KeyValue.of("api.success", "none");
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        KeyValues keyValues = super.getLowCardinalityKeyValues(context);
+
+        Object success = context.getCarrier().getAttribute(API_SUCCESS_ATTRIBUTE);
+        return keyValues.and(success != null ? KeyValue.of("api.success", success.toString()) : API_SUCCESS_NONE);
+    }
+}
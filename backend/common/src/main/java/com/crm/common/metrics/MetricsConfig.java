@@ -0,0 +1,66 @@
+package com.crm.common.metrics;
+
+import com.crm.common.concurrency.BoundedDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.client.RestTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Shared instrumentation for the servlet services, exported through /actuator/prometheus:
+ * - http.server.requests tagged by route and ApiResponse outcome
+ * - http.server.requests.queries (SQL statements per request) and the per-tenant tenant.requests and
+ *   tenant.sql.statements counters, all recorded by SqlBudgetFilter
+ * - Hibernate statistics (hibernate.*), Hikari acquire/usage timers (hikaricp.*) and JDBC bulkhead gauges
+ * - http.client.requests for outbound calls made through the shared RestTemplate
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ServerRequestObservationConvention apiServerRequestObservationConvention() {
+        return new ApiServerRequestObservationConvention();
+    }
+
+    @Bean
+    public MeterBinder jdbcBulkheadMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .map(MetricsConfig::bulkheadOf)
+                .filter(Objects::nonNull)
+                .forEach(bulkhead -> {
+                    Gauge.builder("jdbc.bulkhead.available", bulkhead, BoundedDataSource::getAvailablePermits)
+                            .description("Free JDBC bulkhead permits")
+                            .register(registry);
+                    Gauge.builder("jdbc.bulkhead.waiting", bulkhead, BoundedDataSource::getQueueLength)
+                            .description("Threads waiting for a JDBC bulkhead permit")
+                            .register(registry);
+                });
+    }
+
+    /**
+     * The bulkhead behind a DataSource, which may be wrapped again (e.g. by SqlCapturingDataSource)
+     */
+    private static BoundedDataSource bulkheadOf(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(BoundedDataSource.class) ? dataSource.unwrap(BoundedDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Built from Boot's RestTemplateBuilder so outbound calls are timed as http.client.requests
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder) {
+        return restTemplateBuilder.build();
+    }
+}
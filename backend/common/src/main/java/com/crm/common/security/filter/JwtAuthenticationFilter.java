@@ -1,6 +1,10 @@
 package com.crm.common.security.filter;
 
+import com.crm.common.security.identity.InternalIdentityCodec;
 import com.crm.common.security.jwt.JwtUtil;
+import com.crm.common.security.jwt.TokenBlacklistService;
+import com.crm.common.security.jwt.VerifiedPrincipal;
+import com.crm.common.util.TenantContext;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,14 +20,15 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * JWT Authentication Filter
- * Validates JWT token from Authorization header and sets authentication in SecurityContext
+ * Validates JWT token from Authorization header and sets authentication in SecurityContext.
+ * When internal identity propagation is enabled, a gateway-signed X-Internal-Identity header is trusted instead.
  */
 @Slf4j
 @Component
@@ -31,64 +36,88 @@ import java.util.stream.Stream;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final InternalIdentityCodec internalIdentityCodec;
+    private final TokenBlacklistService tokenBlacklistService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
-            String jwt = getJwtFromRequest(request);
-            log.info("JWT Filter - Request: {} {}, Token present: {}", request.getMethod(), request.getRequestURI(), jwt != null);
-
-            if (StringUtils.hasText(jwt)) {
-                boolean isValid = jwtUtil.validateToken(jwt);
-                log.info("JWT Token validation result: {}", isValid);
+            Optional<VerifiedPrincipal> trusted = internalIdentityCodec.decode(request.getHeader(InternalIdentityCodec.HEADER_NAME));
+            if (trusted.isPresent()) {
+                // Gateway already verified the JWT; trust its signed identity header
+                log.debug("Internal identity header accepted for {} {}", request.getMethod(), request.getRequestURI());
+                authenticate(request, trusted.get());
+            } else {
+                String jwt = getJwtFromRequest(request);
+                log.debug("JWT Filter - Request: {} {}, Token present: {}", request.getMethod(), request.getRequestURI(), jwt != null);
+
+                if (StringUtils.hasText(jwt)) {
+                    Optional<VerifiedPrincipal> verified = jwtUtil.verifyToken(jwt).filter(VerifiedPrincipal::isAccessToken);
+                    log.debug("JWT Token validation result: {}", verified.isPresent());
+
+                    if (verified.isPresent()) {
+                        VerifiedPrincipal principal = verified.get();
+                        log.debug("JWT User: {}, Roles: {}, Permissions: {}", principal.getEmail(), principal.getRoles(), principal.getPermissions());
+                        authenticate(request, principal);
+                    } else {
+                        log.debug("JWT Token validation FAILED");
+                    }
+                } else {
+                    log.debug("No JWT token present in request");
+                }
+            }
+        } catch (Exception ex) {
+            log.error("Could not set user authentication in security context", ex);
+        }
 
-                if (isValid) {
-                    UUID userId = jwtUtil.getUserIdFromToken(jwt);
-                    UUID tenantId = jwtUtil.getTenantIdFromToken(jwt);
-                    String email = jwtUtil.getEmailFromToken(jwt);
-                    List<String> roles = jwtUtil.getRolesFromToken(jwt);
-                    List<String> permissions = jwtUtil.getPermissionsFromToken(jwt);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
 
-                    log.info("JWT User: {}, Roles: {}, Permissions: {}", email, roles, permissions);
+    /**
+     * Populate SecurityContext and request attributes from a verified principal
+     */
+    private void authenticate(HttpServletRequest request, VerifiedPrincipal principal) {
+        // Near-cache lookup only; revocations arrive through Redis pub/sub
+        if (tokenBlacklistService.isRevoked(principal)) {
+            log.warn("Revoked token presented for user: {}", principal.getUserId());
+            return;
+        }
 
-                    // Combine roles and permissions as authorities
-                    List<SimpleGrantedAuthority> authorities = Stream.concat(
-                            roles.stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)),
-                            permissions.stream().map(SimpleGrantedAuthority::new)
-                    ).collect(Collectors.toList());
+        UUID userId = principal.getUserId();
+        UUID tenantId = principal.getTenantId();
 
-                    log.info("Spring Security Authorities: {}", authorities);
+        // Roles and permissions were combined once when the token was verified
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>(principal.getAuthorityNames().size());
+        for (String authority : principal.getAuthorityNames()) {
+            authorities.add(new SimpleGrantedAuthority(authority));
+        }
 
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(userId, null, authorities);
+        log.debug("Spring Security Authorities: {}", authorities);
 
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        // Create authentication token
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userId, null, authorities);
 
-                    // Set tenant ID in request attribute for easy access
-                    request.setAttribute("tenantId", tenantId);
-                    request.setAttribute("userId", userId);
-                    request.setAttribute("email", email);
-                    request.setAttribute("roles", roles);
-                    request.setAttribute("permissions", permissions);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    // Set authentication in SecurityContext
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
+        // Set tenant ID in request attribute for easy access
+        request.setAttribute("tenantId", tenantId);
+        request.setAttribute("userId", userId);
+        request.setAttribute("email", principal.getEmail());
+        request.setAttribute("roles", principal.getRoles());
+        request.setAttribute("permissions", principal.getPermissions());
 
-                    log.info("Authentication SET for user: {} in tenant: {}", userId, tenantId);
-                } else {
-                    log.warn("JWT Token validation FAILED");
-                }
-            } else {
-                log.warn("No JWT token present in request");
-            }
-        } catch (Exception ex) {
-            log.error("Could not set user authentication in security context", ex);
-        }
+        // Set authentication in SecurityContext
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        TenantContext.setPrincipal(principal);
 
-        filterChain.doFilter(request, response);
+        log.debug("Authentication SET for user: {} in tenant: {}", userId, tenantId);
     }
 
     /**
@@ -0,0 +1,188 @@
+package com.crm.common.security.identity;
+
+import com.crm.common.security.jwt.VerifiedPrincipal;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Encodes and verifies the compact identity header the API gateway forwards after it has verified a JWT.
+ * Format: v2.&lt;base64url(payload)&gt;.&lt;base64url(HMAC-SHA256(payload))&gt; where payload holds
+ * user, tenant, token id, email, roles, permissions, the token's issued-at (epoch millis, as revocations
+ * compare it) and a short expiry.
+ * Text fields and each list element are URL-encoded, so separators inside a value cannot split or inject fields.
+ * Only enable on services that are reachable exclusively through the gateway.
+ */
+@Slf4j
+@Component
+public class InternalIdentityCodec {
+
+    public static final String HEADER_NAME = "X-Internal-Identity";
+
+    private static final String VERSION = "v2";
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final String FIELD_SEPARATOR = "\u001F";
+    private static final String LIST_SEPARATOR = ",";
+    private static final int FIELD_COUNT = 8;
+
+    @Value("${security.internal-identity.enabled:false}")
+    private boolean enabled;
+
+    @Value("${security.internal-identity.secret:}")
+    private String secret;
+
+    @Value("${security.internal-identity.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private Mac macPrototype;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        if (secret == null || secret.length() < 32) {
+            throw new IllegalStateException("security.internal-identity.secret must be at least 32 characters when enabled");
+        }
+        try {
+            macPrototype = Mac.getInstance(MAC_ALGORITHM);
+            macPrototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not initialise internal identity MAC", e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Encode a verified principal into a signed header value valid for ttl-seconds (never past token expiry)
+     */
+    public String encode(VerifiedPrincipal principal) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusSeconds(ttlSeconds);
+        if (principal.getExpiresAt() != null && principal.getExpiresAt().isBefore(expiresAt)) {
+            expiresAt = principal.getExpiresAt();
+        }
+
+        String payload = principal.getUserId() + FIELD_SEPARATOR
+                + principal.getTenantId() + FIELD_SEPARATOR
+                + encodeText(principal.getTokenId()) + FIELD_SEPARATOR
+                + encodeText(principal.getEmail()) + FIELD_SEPARATOR
+                + encodeList(principal.getRoles()) + FIELD_SEPARATOR
+                + encodeList(principal.getPermissions()) + FIELD_SEPARATOR
+                + (principal.getIssuedAt() != null ? principal.getIssuedAt() : now).toEpochMilli() + FIELD_SEPARATOR
+                + expiresAt.getEpochSecond();
+
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return VERSION + "." + encoder.encodeToString(payloadBytes) + "." + encoder.encodeToString(mac(payloadBytes));
+    }
+
+    /**
+     * Verify MAC and expiry of a header value; empty when disabled, tampered, malformed or expired
+     */
+    public Optional<VerifiedPrincipal> decode(String headerValue) {
+        if (!enabled || headerValue == null) {
+            return Optional.empty();
+        }
+
+        try {
+            int first = headerValue.indexOf('.');
+            int second = headerValue.indexOf('.', first + 1);
+            if (first < 0 || second < 0 || !VERSION.equals(headerValue.substring(0, first))) {
+                return Optional.empty();
+            }
+
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payloadBytes = decoder.decode(headerValue.substring(first + 1, second));
+            byte[] signature = decoder.decode(headerValue.substring(second + 1));
+            if (!MessageDigest.isEqual(mac(payloadBytes), signature)) {
+                log.warn("Rejected internal identity header with invalid signature");
+                return Optional.empty();
+            }
+
+            String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split(FIELD_SEPARATOR, -1);
+            if (fields.length != FIELD_COUNT) {
+                return Optional.empty();
+            }
+
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(fields[7]));
+            if (!expiresAt.isAfter(Instant.now())) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new VerifiedPrincipal(
+                    UUID.fromString(fields[0]),
+                    UUID.fromString(fields[1]),
+                    decodeText(fields[2]),
+                    decodeText(fields[3]),
+                    decodeList(fields[4]),
+                    decodeList(fields[5]),
+                    "access",
+                    Instant.ofEpochMilli(Long.parseLong(fields[6])),
+                    expiresAt
+            ));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected malformed internal identity header");
+            return Optional.empty();
+        }
+    }
+
+    private byte[] mac(byte[] payload) {
+        try {
+            Mac mac = (Mac) macPrototype.clone();
+            return mac.doFinal(payload);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("MAC does not support cloning", e);
+        }
+    }
+
+    private static String encodeText(String value) {
+        return value != null ? URLEncoder.encode(value, StandardCharsets.UTF_8) : "";
+    }
+
+    private static String decodeText(String value) {
+        return value.isEmpty() ? null : URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String encodeList(List<String> values) {
+        StringBuilder joined = new StringBuilder();
+        for (String value : values) {
+            if (!joined.isEmpty()) {
+                joined.append(LIST_SEPARATOR);
+            }
+            joined.append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+        return joined.toString();
+    }
+
+    private static List<String> decodeList(String value) {
+        if (value.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String[] elements = value.split(LIST_SEPARATOR, -1);
+        List<String> decoded = new ArrayList<>(elements.length);
+        for (String element : elements) {
+            decoded.add(URLDecoder.decode(element, StandardCharsets.UTF_8));
+        }
+        return decoded;
+    }
+}
@@ -2,6 +2,7 @@ package com.crm.common.security.jwt;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -10,7 +11,7 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -32,6 +33,28 @@ public class JwtUtil {
     @Value("${jwt.issuer:crm-application}")
     private String issuer;
 
+    @Value("${jwt.verified-cache.enabled:true}")
+    private boolean verifiedCacheEnabled;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * Build signing key, parser and verified-token cache once; all three are thread-safe
+     */
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokenCache = verifiedCacheEnabled ? new VerifiedTokenCache(verifiedCacheMaxSize) : null;
+    }
+
     /**
      * Generate access token
      */
@@ -40,6 +63,7 @@ public class JwtUtil {
         Date expiryDate = new Date(now.getTime() + accessTokenExpiration);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userId.toString())
                 .claim("email", email)
                 .claim("tenant_id", tenantId.toString())
@@ -47,6 +71,7 @@ public class JwtUtil {
                 .claim("permissions", permissions)
                 .claim("type", "access")
                 .issuedAt(now)
+                .claim("iat_ms", now.getTime())
                 .expiration(expiryDate)
                 .issuer(issuer)
                 .signWith(getSigningKey())
@@ -61,15 +86,56 @@ public class JwtUtil {
         Date expiryDate = new Date(now.getTime() + refreshTokenExpiration);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userId.toString())
                 .claim("type", "refresh")
                 .issuedAt(now)
+                .claim("iat_ms", now.getTime())
                 .expiration(expiryDate)
                 .issuer(issuer)
                 .signWith(getSigningKey())
                 .compact();
     }
 
+    /**
+     * Verify token signature and expiry once and return its principal.
+     * Repeat calls for the same token are served from the verified-token cache without any cryptography.
+     */
+    public Optional<VerifiedPrincipal> verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String digest = null;
+        if (verifiedTokenCache != null) {
+            digest = verifiedTokenCache.digest(token);
+            VerifiedPrincipal cached = verifiedTokenCache.get(digest);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            VerifiedPrincipal principal = VerifiedPrincipal.fromClaims(claims);
+            if (verifiedTokenCache != null) {
+                verifiedTokenCache.put(digest, principal);
+            }
+            return Optional.of(principal);
+        } catch (SecurityException ex) {
+            log.error("Invalid JWT signature");
+        } catch (MalformedJwtException ex) {
+            log.error("Invalid JWT token");
+        } catch (ExpiredJwtException ex) {
+            log.error("Expired JWT token");
+        } catch (UnsupportedJwtException ex) {
+            log.error("Unsupported JWT token");
+        } catch (IllegalArgumentException ex) {
+            log.error("JWT claims string is empty or malformed");
+        }
+        return Optional.empty();
+    }
+
     /**
      * Get user ID from token
      */
@@ -117,10 +183,7 @@ public class JwtUtil {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            jwtParser.parseSignedClaims(token);
             return true;
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
@@ -160,18 +223,13 @@ public class JwtUtil {
      * Get all claims from token
      */
     public Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     /**
      * Get signing key
      */
     private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 }
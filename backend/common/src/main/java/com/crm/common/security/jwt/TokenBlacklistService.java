@@ -1,16 +1,32 @@
 package com.crm.common.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 
-import java.util.Date;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Service for managing JWT token blacklist in Redis
- * Used to invalidate tokens on logout
+ * Service for managing JWT revocation in Redis
+ * Tokens are revoked by their short jti claim; "log out all sessions" stores one revoked-before
+ * timestamp per user, in epoch milliseconds. Every instance mirrors both sets in a local near-cache kept
+ * current through Redis pub/sub, so isRevoked() can run on every request without a Redis round trip.
+ * The near-cache is bounded by expiry only: evicting a live revocation would silently stop enforcing it.
  */
 @Slf4j
 @Service
@@ -19,42 +35,214 @@ public class TokenBlacklistService {
 
     private final RedisTemplate<String, String> redisTemplate;
     private final JwtUtil jwtUtil;
+    private final RedisMessageListenerContainer listenerContainer;
 
     private static final String BLACKLIST_PREFIX = "blacklist:token:";
+    private static final String REVOKED_JTI_PREFIX = "blacklist:jti:";
+    private static final String REVOKED_USER_PREFIX = "blacklist:user:";
+    private static final String REVOCATION_CHANNEL = "token-revocations";
+    private static final String JTI_MESSAGE = "jti";
+    private static final String USER_MESSAGE = "user";
+
+    @Value("${jwt.refresh-token-expiration:604800000}")
+    private long refreshTokenExpiration;
+
+    /**
+     * Revoked jti -> token expiry; entries drop out when the token would have expired anyway
+     */
+    private Cache<String, Instant> revokedTokenIds;
+
+    /**
+     * User -> epoch milli at or before which every issued token is revoked; kept for the longest token lifetime
+     */
+    private Cache<UUID, Long> userRevokedBefore;
+
+    @PostConstruct
+    public void init() {
+        revokedTokenIds = Caffeine.newBuilder()
+                .expireAfter(new RevocationExpiry())
+                .build();
+        userRevokedBefore = Caffeine.newBuilder()
+                .expireAfterWrite(refreshTokenExpiration, TimeUnit.MILLISECONDS)
+                .build();
+
+        listenerContainer.addMessageListener((message, pattern) -> onRevocationMessage(message),
+                new ChannelTopic(REVOCATION_CHANNEL));
+
+        try {
+            loadRevocationsFromRedis();
+        } catch (Exception e) {
+            log.warn("Could not preload token revocations from Redis: {}", e.getMessage());
+        }
+    }
 
     /**
      * Add token to blacklist
      */
     public void blacklistToken(String token) {
         try {
-            Date expirationDate = jwtUtil.getExpirationDateFromToken(token);
-            long ttl = expirationDate.getTime() - System.currentTimeMillis();
+            Optional<VerifiedPrincipal> principal = jwtUtil.verifyToken(token);
+            if (principal.isEmpty()) {
+                return;
+            }
 
-            if (ttl > 0) {
-                String key = BLACKLIST_PREFIX + token;
-                redisTemplate.opsForValue().set(key, "blacklisted", ttl, TimeUnit.MILLISECONDS);
-                log.info("Token added to blacklist with TTL: {} ms", ttl);
+            Instant expiresAt = principal.get().getExpiresAt();
+            long ttl = expiresAt.toEpochMilli() - System.currentTimeMillis();
+            if (ttl <= 0) {
+                return;
             }
+
+            String tokenId = principal.get().getTokenId();
+            if (tokenId == null) {
+                // Tokens issued before jti was added are only checked on refresh
+                redisTemplate.opsForValue().set(BLACKLIST_PREFIX + token, "blacklisted", ttl, TimeUnit.MILLISECONDS);
+            } else {
+                redisTemplate.opsForValue().set(REVOKED_JTI_PREFIX + tokenId,
+                        String.valueOf(expiresAt.toEpochMilli()), ttl, TimeUnit.MILLISECONDS);
+                revokedTokenIds.put(tokenId, expiresAt);
+                publish(JTI_MESSAGE, tokenId, expiresAt.toEpochMilli());
+            }
+            log.info("Token added to blacklist with TTL: {} ms", ttl);
         } catch (Exception e) {
             log.error("Error blacklisting token", e);
         }
     }
 
     /**
-     * Check if token is blacklisted
+     * Revoke every token issued to a user up to now (log out all sessions) with a single write
+     */
+    public void revokeAllForUser(UUID userId) {
+        long revokedBefore = Instant.now().toEpochMilli();
+        try {
+            redisTemplate.opsForValue().set(REVOKED_USER_PREFIX + userId, String.valueOf(revokedBefore),
+                    refreshTokenExpiration, TimeUnit.MILLISECONDS);
+            userRevokedBefore.asMap().merge(userId, revokedBefore, Math::max);
+            publish(USER_MESSAGE, userId.toString(), revokedBefore);
+            log.info("All tokens revoked for user: {}", userId);
+        } catch (Exception e) {
+            log.error("Error revoking tokens for user {}", userId, e);
+        }
+    }
+
+    /**
+     * Local revocation check for the request path; no network I/O
+     */
+    public boolean isRevoked(VerifiedPrincipal principal) {
+        if (principal.getTokenId() != null && revokedTokenIds.getIfPresent(principal.getTokenId()) != null) {
+            return true;
+        }
+        Long revokedBefore = userRevokedBefore.getIfPresent(principal.getUserId());
+        return revokedBefore != null && principal.getIssuedAt() != null
+                && principal.getIssuedAt().toEpochMilli() <= revokedBefore;
+    }
+
+    /**
+     * Check if token is blacklisted (authoritative Redis check, used on refresh)
      */
     public boolean isTokenBlacklisted(String token) {
-        String key = BLACKLIST_PREFIX + token;
-        Boolean exists = redisTemplate.hasKey(key);
-        return Boolean.TRUE.equals(exists);
+        Optional<VerifiedPrincipal> principal = jwtUtil.verifyToken(token);
+        if (principal.isEmpty() || principal.get().getTokenId() == null) {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(BLACKLIST_PREFIX + token));
+        }
+
+        VerifiedPrincipal verified = principal.get();
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(REVOKED_JTI_PREFIX + verified.getTokenId()))) {
+            return true;
+        }
+        String revokedBefore = redisTemplate.opsForValue().get(REVOKED_USER_PREFIX + verified.getUserId());
+        return revokedBefore != null && verified.getIssuedAt() != null
+                && verified.getIssuedAt().toEpochMilli() <= Long.parseLong(revokedBefore);
     }
 
     /**
      * Remove token from blacklist (if needed for testing)
      */
     public void removeTokenFromBlacklist(String token) {
-        String key = BLACKLIST_PREFIX + token;
-        redisTemplate.delete(key);
+        redisTemplate.delete(BLACKLIST_PREFIX + token);
+        jwtUtil.verifyToken(token)
+                .map(VerifiedPrincipal::getTokenId)
+                .ifPresent(tokenId -> {
+                    redisTemplate.delete(REVOKED_JTI_PREFIX + tokenId);
+                    revokedTokenIds.invalidate(tokenId);
+                });
         log.info("Token removed from blacklist");
     }
+
+    private void publish(String type, String id, long epochMilli) {
+        redisTemplate.convertAndSend(REVOCATION_CHANNEL, type + ":" + id + ":" + epochMilli);
+    }
+
+    /**
+     * Apply a revocation published by any instance
+     */
+    private void onRevocationMessage(Message message) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split(":");
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed revocation message");
+            return;
+        }
+
+        try {
+            long epochMilli = Long.parseLong(parts[2]);
+            if (JTI_MESSAGE.equals(parts[0])) {
+                revokedTokenIds.put(parts[1], Instant.ofEpochMilli(epochMilli));
+            } else if (USER_MESSAGE.equals(parts[0])) {
+                userRevokedBefore.asMap().merge(UUID.fromString(parts[1]), epochMilli, Math::max);
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed revocation message");
+        }
+    }
+
+    /**
+     * Warm the near-cache with revocations made before this instance started
+     */
+    private void loadRevocationsFromRedis() {
+        ScanOptions jtiScan = ScanOptions.scanOptions().match(REVOKED_JTI_PREFIX + "*").count(1000).build();
+        try (Cursor<String> keys = redisTemplate.scan(jtiScan)) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                String expiry = redisTemplate.opsForValue().get(key);
+                if (expiry != null) {
+                    revokedTokenIds.put(key.substring(REVOKED_JTI_PREFIX.length()), Instant.ofEpochMilli(Long.parseLong(expiry)));
+                }
+            }
+        }
+
+        ScanOptions userScan = ScanOptions.scanOptions().match(REVOKED_USER_PREFIX + "*").count(1000).build();
+        try (Cursor<String> keys = redisTemplate.scan(userScan)) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                String revokedBefore = redisTemplate.opsForValue().get(key);
+                if (revokedBefore != null) {
+                    userRevokedBefore.asMap().merge(UUID.fromString(key.substring(REVOKED_USER_PREFIX.length())),
+                            Long.parseLong(revokedBefore), Math::max);
+                }
+            }
+        }
+        log.info("Loaded {} revoked tokens and {} user revocations", revokedTokenIds.estimatedSize(), userRevokedBefore.estimatedSize());
+    }
+
+    /**
+     * Keep each revoked jti until the token it names has expired
+     */
+    private static class RevocationExpiry implements Expiry<String, Instant> {
+
+        @Override
+        public long expireAfterCreate(String key, Instant expiresAt, long currentTime) {
+            long remainingMillis = expiresAt.toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Instant expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Instant expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,86 @@
+package com.crm.common.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable identity extracted from a JWT after a single signature verification.
+ * Instances are shared between requests through the verified-token cache, so every field is read-only.
+ */
+@Value
+public class VerifiedPrincipal {
+
+    UUID userId;
+    UUID tenantId;
+    String tokenId;
+    String email;
+    List<String> roles;
+    List<String> permissions;
+    String tokenType;
+    Instant issuedAt;
+    Instant expiresAt;
+
+    /**
+     * Spring Security authority names ("ROLE_" + role, then permissions), computed once per token
+     */
+    List<String> authorityNames;
+
+    public VerifiedPrincipal(UUID userId, UUID tenantId, String tokenId, String email, List<String> roles,
+                             List<String> permissions, String tokenType, Instant issuedAt, Instant expiresAt) {
+        this.userId = userId;
+        this.tenantId = tenantId;
+        this.tokenId = tokenId;
+        this.email = email;
+        this.roles = roles != null ? List.copyOf(roles) : Collections.emptyList();
+        this.permissions = permissions != null ? List.copyOf(permissions) : Collections.emptyList();
+        this.tokenType = tokenType;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+
+        List<String> authorities = new ArrayList<>(this.roles.size() + this.permissions.size());
+        for (String role : this.roles) {
+            authorities.add("ROLE_" + role);
+        }
+        authorities.addAll(this.permissions);
+        this.authorityNames = Collections.unmodifiableList(authorities);
+    }
+
+    /**
+     * Build principal from already verified claims
+     */
+    @SuppressWarnings("unchecked")
+    public static VerifiedPrincipal fromClaims(Claims claims) {
+        if (claims.getSubject() == null) {
+            throw new IllegalArgumentException("JWT subject is missing");
+        }
+        String tenantId = claims.get("tenant_id", String.class);
+        // iat has second precision; iat_ms keeps the exact issue time for revoke-all checks
+        Long issuedAtMillis = claims.get("iat_ms", Long.class);
+        Instant issuedAt = issuedAtMillis != null ? Instant.ofEpochMilli(issuedAtMillis)
+                : claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+        return new VerifiedPrincipal(
+                UUID.fromString(claims.getSubject()),
+                tenantId != null ? UUID.fromString(tenantId) : null,
+                claims.getId(),
+                claims.get("email", String.class),
+                (List<String>) claims.get("roles"),
+                (List<String>) claims.get("permissions"),
+                claims.get("type", String.class),
+                issuedAt,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+
+    /**
+     * Only access tokens carry tenant, roles and permissions
+     */
+    public boolean isAccessToken() {
+        return "access".equals(tokenType) && tenantId != null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.crm.common.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of verified principals keyed by the SHA-256 digest of the raw token.
+ * Each entry lives until the token's own expiry, so a cached hit is never more permissive than a fresh parse.
+ */
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedPrincipal> cache;
+
+    public VerifiedTokenCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * Digest used as cache key, so raw tokens are never held in memory longer than the request
+     */
+    public String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public VerifiedPrincipal get(String digest) {
+        return cache.getIfPresent(digest);
+    }
+
+    public void put(String digest, VerifiedPrincipal principal) {
+        if (principal.getExpiresAt() != null) {
+            cache.put(digest, principal);
+        }
+    }
+
+    public void invalidate(String digest) {
+        cache.invalidate(digest);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Expire every entry exactly when its token expires
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedPrincipal value, long currentTime) {
+            long remainingMillis = value.getExpiresAt().toEpochMilli() - Instant.now().toEpochMilli();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
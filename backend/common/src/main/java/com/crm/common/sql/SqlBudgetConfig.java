@@ -0,0 +1,57 @@
+package com.crm.common.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Per-request SQL accounting: wraps each DataSource in a {@link SqlCapturingDataSource}, so statements
+ * are counted at the connection whichever layer issues them, and registers the budget filter
+ */
+@Configuration
+public class SqlBudgetConfig {
+
+    @Value("${metrics.tenant-tag.enabled:true}")
+    private boolean tenantTagEnabled;
+
+    @Value("${sql-budget.default-max-statements:50}")
+    private int defaultMaxStatements;
+
+    @Value("${sql-budget.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    @Bean
+    public static BeanPostProcessor sqlCapturingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof SqlCapturingDataSource) {
+                    return bean;
+                }
+                return new SqlCapturingDataSource(dataSource);
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(MeterRegistry meterRegistry, Environment environment) {
+        Map<String, Integer> endpointBudgets = Binder.get(environment)
+                .bind("sql-budget.endpoints", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+
+        FilterRegistrationBean<SqlBudgetFilter> registration = new FilterRegistrationBean<>(new SqlBudgetFilter(
+                meterRegistry, tenantTagEnabled, defaultMaxStatements, repeatThreshold, endpointBudgets));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
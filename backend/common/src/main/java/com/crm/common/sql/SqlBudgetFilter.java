@@ -0,0 +1,104 @@
+package com.crm.common.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The per-request metrics filter. Captures the SQL executed by each request, records
+ * http.server.requests.queries and enforces budgets:
+ * - sql-budget.default-max-statements / sql-budget.endpoints["GET /leads/{id}"]: statement budget per endpoint
+ * - sql-budget.repeat-threshold: a single statement shape executed this often is reported as a suspected N+1
+ * Violations are logged and counted (sql.budget.exceeded, sql.nplusone.suspected); the response is unaffected.
+ *
+ * <p>With metrics.tenant-tag.enabled, requests and their statements are also counted per tenant
+ * (tenant.requests, tenant.sql.statements). Those are plain counters; the histogrammed meters carry no
+ * tenant tag, so their bucket count does not grow with the number of tenants.
+ */
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean tenantTagEnabled;
+    private final int defaultMaxStatements;
+    private final int repeatThreshold;
+    private final Map<String, Integer> endpointBudgets;
+
+    public SqlBudgetFilter(MeterRegistry meterRegistry, boolean tenantTagEnabled, int defaultMaxStatements,
+                           int repeatThreshold, Map<String, Integer> endpointBudgets) {
+        this.meterRegistry = meterRegistry;
+        this.tenantTagEnabled = tenantTagEnabled;
+        this.defaultMaxStatements = defaultMaxStatements;
+        this.repeatThreshold = repeatThreshold;
+        this.endpointBudgets = Map.copyOf(endpointBudgets);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlCapture capture = SqlCapture.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            capture.end();
+            record(request, capture);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlCapture capture) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Object tenantId = tenantTagEnabled ? request.getAttribute("tenantId") : null;
+        int statements = capture.getStatementCount();
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+
+        if (tenantId != null) {
+            String tenant = tenantId.toString();
+            Counter.builder("tenant.requests")
+                    .description("Requests per tenant")
+                    .tag("tenant", tenant)
+                    .register(meterRegistry)
+                    .increment();
+            Counter.builder("tenant.sql.statements")
+                    .description("SQL statements executed for each tenant's requests")
+                    .tag("tenant", tenant)
+                    .register(meterRegistry)
+                    .increment(statements);
+        }
+
+        if (statements == 0) {
+            return;
+        }
+
+        String endpoint = request.getMethod() + " " + uri;
+        int budget = endpointBudgets.getOrDefault(endpoint, defaultMaxStatements);
+        if (statements > budget) {
+            log.warn("SQL budget exceeded for {}: {} statements (budget {})", endpoint, statements, budget);
+            Counter.builder("sql.budget.exceeded").tag("uri", uri).register(meterRegistry).increment();
+        }
+
+        Map<String, Integer> repeated = capture.getRepeatedShapes(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            log.warn("Suspected N+1 on {}: {}", endpoint, repeated);
+            Counter.builder("sql.nplusone.suspected").tag("uri", uri).register(meterRegistry).increment();
+        }
+    }
+}
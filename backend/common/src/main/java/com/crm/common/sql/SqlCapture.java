@@ -0,0 +1,142 @@
+package com.crm.common.sql;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statements executed on the current thread between {@link #begin()} and {@link #end()}, grouped by shape.
+ * A shape is the SQL text with IN-list placeholders collapsed, so "where lead_id=?" repeated once per row
+ * shows up as one shape with a high count - the signature of an N+1.
+ *
+ * Also the test-time assertion API, e.g.
+ * <pre>
+ *   SqlCapture capture = SqlCapture.track(() -> leadService.getLeads(tenantId, pageable));
+ *   capture.assertMaxStatements(3);
+ *   capture.assertNoRepeatedStatements(2);
+ * </pre>
+ * Captures nest; a statement is recorded in every open capture on the thread.
+ */
+public final class SqlCapture {
+
+    private static final ThreadLocal<SqlCapture> current = new ThreadLocal<>();
+
+    private final SqlCapture parent;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statementCount;
+
+    private SqlCapture(SqlCapture parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Open a capture on the current thread; must be paired with {@link #end()}
+     */
+    public static SqlCapture begin() {
+        SqlCapture capture = new SqlCapture(current.get());
+        current.set(capture);
+        return capture;
+    }
+
+    /**
+     * Run a task inside a fresh capture and return it
+     */
+    public static SqlCapture track(Runnable task) {
+        SqlCapture capture = begin();
+        try {
+            task.run();
+        } finally {
+            capture.end();
+        }
+        return capture;
+    }
+
+    public void end() {
+        if (parent == null) {
+            current.remove();
+        } else {
+            current.set(parent);
+        }
+    }
+
+    static void record(String sql) {
+        SqlCapture capture = current.get();
+        if (capture == null) {
+            return;
+        }
+        String shape = shapeOf(sql);
+        for (; capture != null; capture = capture.parent) {
+            capture.statementCount++;
+            capture.shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public Map<String, Integer> getShapes() {
+        return Collections.unmodifiableMap(shapes);
+    }
+
+    /**
+     * Shapes executed at least {@code threshold} times, most frequent first
+     */
+    public Map<String, Integer> getRepeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    public SqlCapture assertMaxStatements(int max) {
+        if (statementCount > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but " + statementCount
+                    + " were executed: " + getRepeatedShapes(1));
+        }
+        return this;
+    }
+
+    public SqlCapture assertNoRepeatedStatements(int maxRepeats) {
+        Map<String, Integer> repeated = getRepeatedShapes(maxRepeats + 1);
+        if (!repeated.isEmpty()) {
+            throw new AssertionError("Possible N+1: statements repeated more than " + maxRepeats + " times: " + repeated);
+        }
+        return this;
+    }
+
+    /**
+     * Collapse "?, ?, ?" runs (IN lists, multi-row values) into a single "?"
+     */
+    static String shapeOf(String sql) {
+        int index = sql.indexOf('?');
+        if (index < 0) {
+            return sql;
+        }
+        StringBuilder shape = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            shape.append(c);
+            i++;
+            if (c == '?') {
+                int j = i;
+                while (j < length) {
+                    char next = sql.charAt(j);
+                    if (next == ',' || next == ' ') {
+                        j++;
+                    } else if (next == '?') {
+                        i = ++j;
+                    } else {
+                        break;
+                    }
+                }
+            }
+        }
+        return shape.toString();
+    }
+}
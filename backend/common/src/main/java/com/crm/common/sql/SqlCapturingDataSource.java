@@ -0,0 +1,81 @@
+package com.crm.common.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Feeds every statement run on its connections into the open {@link SqlCapture}s, whatever issued it:
+ * Hibernate, JdbcTemplate or plain JDBC. Prepared and callable statements are recorded when prepared,
+ * plain statements when their SQL is executed or batched. Does nothing when no capture is open on the thread.
+ */
+public class SqlCapturingDataSource extends DelegatingDataSource {
+
+    public SqlCapturingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return capturing(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return capturing(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection capturing(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("equals".equals(name) && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(name) && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (("prepareStatement".equals(name) || "prepareCall".equals(name)) && args[0] instanceof String sql) {
+                        SqlCapture.record(sql);
+                    }
+                    Object result = invoke(method, connection, args);
+                    return "createStatement".equals(name) ? capturing((Statement) result) : result;
+                });
+    }
+
+    private static Statement capturing(Statement statement) {
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{Statement.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("equals".equals(name) && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(name) && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if ((name.startsWith("execute") || "addBatch".equals(name))
+                            && args != null && args[0] instanceof String sql) {
+                        SqlCapture.record(sql);
+                    }
+                    return invoke(method, statement, args);
+                });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
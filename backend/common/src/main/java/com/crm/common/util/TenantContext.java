@@ -1,24 +1,128 @@
 package com.crm.common.util;
 
+import com.crm.common.security.jwt.VerifiedPrincipal;
+import lombok.Value;
+
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 /**
  * ThreadLocal based tenant context holder
  * Allows easy access to current tenant ID throughout the request lifecycle
+ *
+ * The tenant and (optional) verified principal are held together as an immutable {@link Snapshot},
+ * so the whole context can be captured on one thread and re-bound on another. Prefer the scoped
+ * {@link #runWith}/{@link #callWith} helpers over set/clear: they restore the previous binding on exit,
+ * which keeps pooled and virtual threads from leaking a tenant into the next task.
  */
 public class TenantContext {
 
-    private static final ThreadLocal<UUID> currentTenant = new ThreadLocal<>();
+    private static final ThreadLocal<Snapshot> currentContext = new ThreadLocal<>();
 
     public static void setTenantId(UUID tenantId) {
-        currentTenant.set(tenantId);
+        restore(tenantId != null ? new Snapshot(tenantId, null) : null);
     }
 
     public static UUID getTenantId() {
-        return currentTenant.get();
+        Snapshot snapshot = currentContext.get();
+        return snapshot != null ? snapshot.getTenantId() : null;
+    }
+
+    public static void setPrincipal(VerifiedPrincipal principal) {
+        restore(principal != null ? Snapshot.of(principal) : null);
+    }
+
+    public static VerifiedPrincipal getPrincipal() {
+        Snapshot snapshot = currentContext.get();
+        return snapshot != null ? snapshot.getPrincipal() : null;
+    }
+
+    public static UUID getUserId() {
+        VerifiedPrincipal principal = getPrincipal();
+        return principal != null ? principal.getUserId() : null;
     }
 
     public static void clear() {
-        currentTenant.remove();
+        currentContext.remove();
+    }
+
+    /**
+     * Current binding, or null when no tenant is bound
+     */
+    public static Snapshot capture() {
+        return currentContext.get();
+    }
+
+    /**
+     * Replace the current binding; null clears it
+     */
+    public static void restore(Snapshot snapshot) {
+        if (snapshot == null) {
+            currentContext.remove();
+        } else {
+            currentContext.set(snapshot);
+        }
+    }
+
+    /**
+     * Run a task with the given binding, restoring whatever was bound before
+     */
+    public static void runWith(Snapshot snapshot, Runnable task) {
+        Snapshot previous = currentContext.get();
+        restore(snapshot);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Call a task with the given binding, restoring whatever was bound before
+     */
+    public static <T> T callWith(Snapshot snapshot, Callable<T> task) throws Exception {
+        Snapshot previous = currentContext.get();
+        restore(snapshot);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Run a task as the given tenant, e.g. from a scheduled job iterating over tenants
+     */
+    public static void runAsTenant(UUID tenantId, Runnable task) {
+        runWith(new Snapshot(tenantId, null), task);
+    }
+
+    /**
+     * Bind the caller's context to a task that will run on another thread
+     */
+    public static Runnable wrap(Runnable task) {
+        Snapshot snapshot = capture();
+        return () -> runWith(snapshot, task);
+    }
+
+    /**
+     * Bind the caller's context to a task that will run on another thread
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Snapshot snapshot = capture();
+        return () -> callWith(snapshot, task);
+    }
+
+    /**
+     * Immutable tenant-and-principal carrier
+     */
+    @Value
+    public static class Snapshot {
+        UUID tenantId;
+        VerifiedPrincipal principal;
+
+        public static Snapshot of(VerifiedPrincipal principal) {
+            return new Snapshot(principal.getTenantId(), principal);
+        }
     }
 }
@@ -0,0 +1,106 @@
+package com.crm.common.security.identity;
+
+import com.crm.common.security.jwt.VerifiedPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InternalIdentityCodecTest {
+
+    private InternalIdentityCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        codec = codec("0123456789abcdef0123456789abcdef");
+    }
+
+    @Test
+    void roundTripsThePrincipal() {
+        VerifiedPrincipal principal = principal(List.of("ADMIN", "SALES_REP"), List.of("LEAD_READ", "LEAD_WRITE"),
+                "ada@example.com");
+
+        VerifiedPrincipal decoded = codec.decode(codec.encode(principal)).orElseThrow();
+
+        assertEquals(principal.getUserId(), decoded.getUserId());
+        assertEquals(principal.getTenantId(), decoded.getTenantId());
+        assertEquals(principal.getTokenId(), decoded.getTokenId());
+        assertEquals(principal.getEmail(), decoded.getEmail());
+        assertEquals(principal.getRoles(), decoded.getRoles());
+        assertEquals(principal.getPermissions(), decoded.getPermissions());
+        assertEquals(principal.getIssuedAt(), decoded.getIssuedAt());
+    }
+
+    @Test
+    void keepsSeparatorsInsideValues() {
+        List<String> roles = List.of("SALES,ADMIN", "a b+c%2C");
+        List<String> permissions = List.of("LEAD_READ\u001FADMIN", "");
+        VerifiedPrincipal principal = principal(roles, permissions, "o'neil,\u001Fx@example.com");
+
+        VerifiedPrincipal decoded = codec.decode(codec.encode(principal)).orElseThrow();
+
+        assertEquals(roles, decoded.getRoles());
+        assertEquals(permissions, decoded.getPermissions());
+        assertEquals("o'neil,\u001Fx@example.com", decoded.getEmail());
+        assertFalse(decoded.getAuthorityNames().contains("ROLE_ADMIN"));
+        assertFalse(decoded.getAuthorityNames().contains("ADMIN"));
+    }
+
+    @Test
+    void decodesMissingValuesAsEmpty() {
+        VerifiedPrincipal principal = new VerifiedPrincipal(UUID.randomUUID(), UUID.randomUUID(), null, null,
+                List.of(), List.of(), "access", Instant.now(), Instant.now().plus(1, ChronoUnit.HOURS));
+
+        VerifiedPrincipal decoded = codec.decode(codec.encode(principal)).orElseThrow();
+
+        assertNull(decoded.getTokenId());
+        assertNull(decoded.getEmail());
+        assertTrue(decoded.getRoles().isEmpty());
+        assertTrue(decoded.getPermissions().isEmpty());
+    }
+
+    @Test
+    void rejectsTamperedOrForeignHeaders() {
+        String header = codec.encode(principal(List.of("SALES_REP"), List.of(), "ada@example.com"));
+        String[] parts = header.split("\\.");
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                        .replace("SALES_REP", "ADMIN").getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(codec.decode(parts[0] + "." + forged + "." + parts[2]).isEmpty());
+        assertTrue(codec("fedcba9876543210fedcba9876543210").decode(header).isEmpty());
+        assertTrue(codec.decode("v1." + parts[1] + "." + parts[2]).isEmpty());
+        assertTrue(codec.decode("garbage").isEmpty());
+    }
+
+    @Test
+    void rejectsExpiredHeaders() {
+        VerifiedPrincipal expired = new VerifiedPrincipal(UUID.randomUUID(), UUID.randomUUID(), "jti", null,
+                List.of(), List.of(), "access", Instant.now().minusSeconds(60), Instant.now().minusSeconds(1));
+
+        assertTrue(codec.decode(codec.encode(expired)).isEmpty());
+    }
+
+    private static VerifiedPrincipal principal(List<String> roles, List<String> permissions, String email) {
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        return new VerifiedPrincipal(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID().toString(), email,
+                roles, permissions, "access", issuedAt, issuedAt.plus(1, ChronoUnit.HOURS));
+    }
+
+    private static InternalIdentityCodec codec(String secret) {
+        InternalIdentityCodec codec = new InternalIdentityCodec();
+        ReflectionTestUtils.setField(codec, "enabled", true);
+        ReflectionTestUtils.setField(codec, "secret", secret);
+        ReflectionTestUtils.setField(codec, "ttlSeconds", 30L);
+        codec.init();
+        return codec;
+    }
+}
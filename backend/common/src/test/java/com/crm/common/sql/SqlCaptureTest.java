@@ -0,0 +1,106 @@
+package com.crm.common.sql;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SqlCaptureTest {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenReturn(connection);
+        dataSource = new SqlCapturingDataSource(pool);
+    }
+
+    @Test
+    void countsStatementsIssuedThroughTheDataSource() {
+        SqlCapture capture = SqlCapture.track(() -> run(connection -> {
+            connection.prepareStatement("SELECT * FROM leads WHERE id = ?");
+            connection.createStatement().execute("SET LOCAL statement_timeout = 1000");
+            Statement batch = connection.createStatement();
+            batch.addBatch("DELETE FROM leads WHERE id = 1");
+            batch.addBatch("DELETE FROM leads WHERE id = 2");
+        }));
+
+        assertEquals(4, capture.getStatementCount());
+        capture.assertMaxStatements(4);
+        AssertionError error = assertThrows(AssertionError.class, () -> capture.assertMaxStatements(3));
+        assertTrue(error.getMessage().contains("at most 3"));
+    }
+
+    @Test
+    void reportsRepeatedShapesAsSuspectedNPlusOne() {
+        SqlCapture capture = SqlCapture.track(() -> run(connection -> {
+            connection.prepareStatement("SELECT * FROM leads WHERE tenant_id = ?");
+            for (int i = 0; i < 5; i++) {
+                connection.prepareStatement("SELECT * FROM lead_assignments WHERE lead_id = ?");
+            }
+        }));
+
+        capture.assertNoRepeatedStatements(5);
+        AssertionError error = assertThrows(AssertionError.class, () -> capture.assertNoRepeatedStatements(4));
+        assertTrue(error.getMessage().contains("lead_assignments"));
+        assertEquals(1, capture.getRepeatedShapes(5).size());
+    }
+
+    @Test
+    void collapsesInListsIntoOneShape() {
+        SqlCapture capture = SqlCapture.track(() -> run(connection -> {
+            connection.prepareStatement("SELECT * FROM leads WHERE id IN (?, ?)");
+            connection.prepareStatement("SELECT * FROM leads WHERE id IN (?,?,?,?)");
+        }));
+
+        assertEquals(1, capture.getShapes().size());
+        assertEquals(2, capture.getShapes().get("SELECT * FROM leads WHERE id IN (?)"));
+    }
+
+    @Test
+    void recordsInEveryOpenCapture() {
+        SqlCapture outer = SqlCapture.begin();
+        try {
+            run(connection -> connection.prepareStatement("SELECT 1"));
+            SqlCapture inner = SqlCapture.track(() -> run(connection -> connection.prepareStatement("SELECT 2")));
+            assertEquals(1, inner.getStatementCount());
+        } finally {
+            outer.end();
+        }
+        assertEquals(2, outer.getStatementCount());
+    }
+
+    @Test
+    void recordsNothingWithoutACapture() {
+        run(connection -> connection.prepareStatement("SELECT " + UUID.randomUUID()));
+
+        SqlCapture capture = SqlCapture.track(() -> {
+        });
+        assertEquals(0, capture.getStatementCount());
+    }
+
+    private void run(JdbcWork work) {
+        try (Connection connection = dataSource.getConnection()) {
+            work.run(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface JdbcWork {
+        void run(Connection connection) throws SQLException;
+    }
+}
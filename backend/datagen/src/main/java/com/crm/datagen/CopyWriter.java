@@ -0,0 +1,112 @@
+package com.crm.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Streams rows into a COPY ... FROM STDIN (text format) in ~1 MB writes.
+ * Values are tab separated; null is \N; backslash, tab and newlines are escaped.
+ */
+final class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_THRESHOLD = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 4096);
+    private boolean firstColumn = true;
+    private long rows;
+
+    CopyWriter(Connection connection, String table, String columns) throws SQLException {
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + table + " (" + columns + ") FROM STDIN");
+    }
+
+    CopyWriter value(String value) {
+        separator();
+        if (value == null) {
+            buffer.append("\\N");
+            return this;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+        return this;
+    }
+
+    CopyWriter value(UUID value) {
+        separator();
+        buffer.append(value != null ? value.toString() : "\\N");
+        return this;
+    }
+
+    CopyWriter value(long value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    CopyWriter value(boolean value) {
+        separator();
+        buffer.append(value ? 't' : 'f');
+        return this;
+    }
+
+    CopyWriter value(LocalDateTime value) {
+        separator();
+        buffer.append(value != null ? value.toString() : "\\N");
+        return this;
+    }
+
+    void endRow() throws SQLException {
+        buffer.append('\n');
+        firstColumn = true;
+        rows++;
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void separator() {
+        if (!firstColumn) {
+            buffer.append('\t');
+        }
+        firstColumn = false;
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.length() > 0) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
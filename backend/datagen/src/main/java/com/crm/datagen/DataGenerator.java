@@ -0,0 +1,214 @@
+package com.crm.datagen;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Synthetic multi-tenant data generator.
+ *
+ * <p>Loads tenants, users, leads, assignments, calls, attendance and campaigns straight into the
+ * service schemas with COPY, one connection per (tenant, table, chunk) task. Expects the Flyway
+ * migrations of the services to have run already.
+ *
+ * <pre>
+ * java -jar datagen/target/datagen.jar --leads=5000000 --calls=20000000 --tenants=200 --truncate
+ * </pre>
+ */
+public final class DataGenerator {
+
+    private static final String[] DATA_TABLES = {
+            "campaign_management.campaigns",
+            "hr_workflow.time_entries",
+            "call_management.calls",
+            "lead_management.lead_assignments",
+            "lead_management.lead_stats",
+            "lead_management.leads"
+    };
+
+    private final GeneratorConfig config;
+    private final Timeline timeline;
+    private final List<TenantPlan> tenants;
+    private final AtomicLong rows = new AtomicLong();
+
+    private DataGenerator(GeneratorConfig config) {
+        this.config = config;
+        this.timeline = new Timeline(config);
+        this.tenants = TenantPlan.plan(config);
+    }
+
+    public static void main(String[] args) throws Exception {
+        GeneratorConfig config = GeneratorConfig.parse(args);
+        System.out.println("Generating: " + config);
+        new DataGenerator(config).run();
+    }
+
+    private void run() throws Exception {
+        long started = System.nanoTime();
+        try (Connection connection = connect()) {
+            if (config.truncate) {
+                deletePreviousRun(connection);
+            }
+            loadTenantsAndUsers(connection);
+        }
+        report("tenants and users", started);
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.threads);
+        try {
+            long phase = System.nanoTime();
+            List<Task> leadTasks = new ArrayList<>();
+            for (TenantPlan tenant : tenants) {
+                chunks(tenant.leads, (from, to) -> leadTasks.add(
+                        c -> Tables.leads(c, tenant, from, to, timeline, config)));
+            }
+            runAll(executor, leadTasks);
+            loadLeadStats();
+            report("leads and assignments", phase);
+
+            phase = System.nanoTime();
+            List<Task> activityTasks = new ArrayList<>();
+            for (TenantPlan tenant : tenants) {
+                chunks(tenant.calls, (from, to) -> activityTasks.add(
+                        c -> Tables.calls(c, tenant, from, to, timeline, config)));
+                chunks(tenant.timeEntrySessions, (from, to) -> activityTasks.add(
+                        c -> Tables.timeEntries(c, tenant, from, to, timeline, config)));
+                if (tenant.campaigns > 0) {
+                    activityTasks.add(c -> Tables.campaigns(c, tenant, timeline, config));
+                }
+            }
+            runAll(executor, activityTasks);
+            report("calls, time entries and campaigns", phase);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (String table : DATA_TABLES) {
+                statement.execute("ANALYZE " + table);
+            }
+        }
+        report("total", started);
+    }
+
+    private void loadTenantsAndUsers(Connection connection) throws SQLException {
+        Map<String, UUID> roles = roles(connection);
+        connection.setAutoCommit(false);
+        Tables.tenants(connection, tenants, config);
+        for (TenantPlan tenant : tenants) {
+            Tables.users(connection, tenant, config);
+            if (roles.size() == 3) {
+                Tables.userRoles(connection, tenant, roles.get("ADMIN"), roles.get("SUPERVISOR"), roles.get("AGENT"));
+            }
+        }
+        connection.commit();
+        rows.addAndGet(tenants.size() + tenants.stream().mapToLong(t -> t.users).sum());
+    }
+
+    /**
+     * Lead counters of the generated tenants, as the service would have kept them
+     */
+    private void loadLeadStats() throws SQLException {
+        try (Connection connection = connect(); PreparedStatement ps = connection.prepareStatement("""
+                INSERT INTO lead_management.lead_stats (tenant_id, status, priority, total, assigned)
+                SELECT tenant_id, status, priority, count(*), count(current_assignee)
+                FROM lead_management.leads
+                WHERE tenant_id IN (SELECT id FROM public.tenants WHERE subdomain LIKE ?)
+                GROUP BY tenant_id, status, priority
+                ON CONFLICT (tenant_id, status, priority) DO UPDATE
+                SET total = EXCLUDED.total, assigned = EXCLUDED.assigned
+                """)) {
+            ps.setString(1, "datagen-" + config.seed + "-%");
+            ps.executeUpdate();
+        }
+    }
+
+    private Map<String, UUID> roles(Connection connection) throws SQLException {
+        Map<String, UUID> roles = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT name, id FROM user_management.roles "
+                     + "WHERE name IN ('ADMIN', 'SUPERVISOR', 'AGENT')")) {
+            while (rs.next()) {
+                roles.put(rs.getString(1), rs.getObject(2, UUID.class));
+            }
+        }
+        if (roles.size() < 3) {
+            System.out.println("Roles ADMIN/SUPERVISOR/AGENT not found; users are created without roles");
+        }
+        return roles;
+    }
+
+    /**
+     * Removes what an earlier run with the same seed generated; other tenants are left untouched
+     */
+    private void deletePreviousRun(Connection connection) throws SQLException {
+        String tenantIds = "SELECT id FROM public.tenants WHERE subdomain LIKE ?";
+        for (String table : DATA_TABLES) {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "DELETE FROM " + table + " WHERE tenant_id IN (" + tenantIds + ")")) {
+                ps.setString(1, "datagen-" + config.seed + "-%");
+                System.out.printf("Deleted %,d rows from %s%n", ps.executeUpdate(), table);
+            }
+        }
+        // users and user_roles cascade from tenants
+        try (PreparedStatement ps = connection.prepareStatement("DELETE FROM public.tenants WHERE subdomain LIKE ?")) {
+            ps.setString(1, "datagen-" + config.seed + "-%");
+            System.out.printf("Deleted %,d tenants%n", ps.executeUpdate());
+        }
+    }
+
+    private void runAll(ExecutorService executor, List<Task> tasks) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            futures.add(executor.submit(() -> {
+                try (Connection connection = connect()) {
+                    connection.setAutoCommit(false);
+                    rows.addAndGet(task.load(connection));
+                    connection.commit();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private void chunks(long total, ChunkConsumer consumer) {
+        for (long from = 0; from < total; from += config.chunkRows) {
+            consumer.accept(from, Math.min(total, from + config.chunkRows));
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(config.jdbcUrl, config.username, config.password);
+    }
+
+    private void report(String phase, long startedNanos) {
+        double seconds = (System.nanoTime() - startedNanos) / 1e9;
+        long total = rows.get();
+        System.out.printf("%-36s %8.1fs  %,14d rows loaded  %,12.0f rows/s since start%n",
+                phase, seconds, total, total / seconds);
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        long load(Connection connection) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface ChunkConsumer {
+        void accept(long from, long to);
+    }
+}
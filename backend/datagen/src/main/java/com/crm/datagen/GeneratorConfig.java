@@ -0,0 +1,77 @@
+package com.crm.datagen;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Generator settings, parsed from --key=value arguments.
+ * Defaults produce a small data set; scale up with e.g.
+ * --tenants=500 --leads=10000000 --calls=50000000 --time-entries=100000000
+ */
+public final class GeneratorConfig {
+
+    String jdbcUrl = "jdbc:postgresql://localhost:5432/crm_db";
+    String username = "crm_user";
+    String password = "crm_password";
+
+    int tenants = 20;
+    int avgUsersPerTenant = 25;
+    long leads = 200_000;
+    long calls = 1_000_000;
+    long timeEntries = 1_000_000;
+    long campaigns = 2_000;
+
+    /** Zipf exponent of tenant size; ~1.1 puts a third of all rows in the top 5 of 500 tenants */
+    double tenantSkew = 1.1;
+    /** Zipf exponent of agent activity inside a tenant */
+    double agentSkew = 0.9;
+    /** Share of leads with a current assignment */
+    double assignedShare = 0.7;
+
+    int historyDays = 365;
+    LocalDate endDate = LocalDate.now();
+    long seed = 42;
+    int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    int chunkRows = 500_000;
+    boolean truncate;
+
+    static GeneratorConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(eq > 0 ? arg.substring(2, eq) : arg.substring(2), eq > 0 ? arg.substring(eq + 1) : "true");
+        }
+
+        GeneratorConfig config = new GeneratorConfig();
+        config.jdbcUrl = options.getOrDefault("jdbc-url", config.jdbcUrl);
+        config.username = options.getOrDefault("username", config.username);
+        config.password = options.getOrDefault("password", config.password);
+        config.tenants = Integer.parseInt(options.getOrDefault("tenants", String.valueOf(config.tenants)));
+        config.avgUsersPerTenant = Integer.parseInt(options.getOrDefault("users-per-tenant", String.valueOf(config.avgUsersPerTenant)));
+        config.leads = Long.parseLong(options.getOrDefault("leads", String.valueOf(config.leads)));
+        config.calls = Long.parseLong(options.getOrDefault("calls", String.valueOf(config.calls)));
+        config.timeEntries = Long.parseLong(options.getOrDefault("time-entries", String.valueOf(config.timeEntries)));
+        config.campaigns = Long.parseLong(options.getOrDefault("campaigns", String.valueOf(config.campaigns)));
+        config.tenantSkew = Double.parseDouble(options.getOrDefault("tenant-skew", String.valueOf(config.tenantSkew)));
+        config.agentSkew = Double.parseDouble(options.getOrDefault("agent-skew", String.valueOf(config.agentSkew)));
+        config.assignedShare = Double.parseDouble(options.getOrDefault("assigned-share", String.valueOf(config.assignedShare)));
+        config.historyDays = Integer.parseInt(options.getOrDefault("history-days", String.valueOf(config.historyDays)));
+        config.endDate = LocalDate.parse(options.getOrDefault("end-date", config.endDate.toString()));
+        config.seed = Long.parseLong(options.getOrDefault("seed", String.valueOf(config.seed)));
+        config.threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(config.threads)));
+        config.chunkRows = Integer.parseInt(options.getOrDefault("chunk-rows", String.valueOf(config.chunkRows)));
+        config.truncate = Boolean.parseBoolean(options.getOrDefault("truncate", "false"));
+        return config;
+    }
+
+    @Override
+    public String toString() {
+        return "tenants=" + tenants + ", usersPerTenant~" + avgUsersPerTenant + ", leads=" + leads + ", calls=" + calls
+                + ", timeEntries=" + timeEntries + ", campaigns=" + campaigns + ", tenantSkew=" + tenantSkew
+                + ", agentSkew=" + agentSkew + ", days=" + historyDays + ", seed=" + seed + ", threads=" + threads;
+    }
+}
@@ -0,0 +1,39 @@
+package com.crm.datagen;
+
+import java.util.UUID;
+
+/**
+ * Deterministic UUIDs derived from (seed, kind, tenant, index), so related rows (calls -> leads,
+ * assignments -> users) can be generated independently in parallel without sharing id tables.
+ */
+final class Ids {
+
+    static final long TENANT = 1;
+    static final long USER = 2;
+    static final long LEAD = 3;
+    static final long ASSIGNMENT = 4;
+    static final long CALL = 5;
+    static final long TIME_ENTRY = 6;
+    static final long CAMPAIGN = 7;
+
+    private Ids() {
+    }
+
+    static UUID uuid(long seed, long kind, long tenant, long index) {
+        long msb = mix(seed * 31 + kind * 0x9E3779B97F4A7C15L + tenant);
+        long lsb = mix(msb ^ index * 0xBF58476D1CE4E5B9L + kind);
+        // RFC 4122 version 4 / IETF variant bits
+        msb = (msb & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        lsb = (lsb & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,287 @@
+package com.crm.datagen;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Row generators, one COPY stream per table and chunk. Every chunk seeds its own random from
+ * (seed, tenant, table, chunk start), so a run is reproducible regardless of thread scheduling.
+ */
+final class Tables {
+
+    private static final String PASSWORD_HASH = "$2a$10$2O.8anx1bhCA7r686Imqj.WCOhnzFOQqPzGO8Ah7vUKvaR3A1z58a"; // Password@123
+    private static final String[] SOURCES = {"Website", "Referral", "Facebook", "Google Ads", "Trade Show", "Cold Call", "LinkedIn"};
+    private static final String[] INDUSTRIES = {"SaaS", "Retail", "Healthcare", "Finance", "Education", "Manufacturing", "Real Estate"};
+    private static final String[] FIRST_NAMES = {"Aarav", "Priya", "Rohan", "Ananya", "Vikram", "Sneha", "Arjun", "Kavya", "Rahul", "Isha", "John", "Maria", "Wei", "Fatima", "Carlos", "Yuki"};
+    private static final String[] LAST_NAMES = {"Sharma", "Patel", "Reddy", "Iyer", "Gupta", "Singh", "Khan", "Das", "Smith", "Garcia", "Chen", "Müller", "Silva", "Tanaka"};
+    private static final String[] CALL_STATUSES = {"COMPLETED", "COMPLETED", "COMPLETED", "COMPLETED", "NO_ANSWER", "NO_ANSWER", "BUSY", "MISSED", "REJECTED", "FAILED"};
+    private static final String[] OUTCOMES = {"INTERESTED", "NOT_INTERESTED", "CALLBACK", "VOICEMAIL", "WRONG_NUMBER"};
+
+    private Tables() {
+    }
+
+    static SplittableRandom random(GeneratorConfig config, TenantPlan tenant, long table, long from) {
+        return new SplittableRandom(Ids.mix(config.seed ^ Ids.mix(tenant.index * 1_000_003L + table) ^ from));
+    }
+
+    static void tenants(Connection connection, Iterable<TenantPlan> tenants, GeneratorConfig config) throws SQLException {
+        LocalDateTime createdAt = config.endDate.minusDays(config.historyDays).atStartOfDay();
+        try (CopyWriter copy = new CopyWriter(connection, "public.tenants",
+                "id, name, subdomain, subscription_tier, is_active, created_at, updated_at")) {
+            for (TenantPlan tenant : tenants) {
+                copy.value(tenant.tenantId)
+                        .value("Datagen Tenant " + tenant.index)
+                        .value("datagen-" + config.seed + "-" + tenant.index)
+                        .value(tenant.index < 5 ? "ENTERPRISE" : tenant.index < 50 ? "PROFESSIONAL" : "STARTER")
+                        .value(true)
+                        .value(createdAt)
+                        .value(createdAt);
+                copy.endRow();
+            }
+        }
+    }
+
+    static void users(Connection connection, TenantPlan tenant, GeneratorConfig config) throws SQLException {
+        LocalDateTime createdAt = config.endDate.minusDays(config.historyDays).atStartOfDay();
+        SplittableRandom random = random(config, tenant, Ids.USER, 0);
+        try (CopyWriter copy = new CopyWriter(connection, "user_management.users",
+                "id, tenant_id, email, password_hash, first_name, last_name, phone, is_active, created_at, updated_at")) {
+            for (int u = 0; u < tenant.users; u++) {
+                copy.value(tenant.userId(u))
+                        .value(tenant.tenantId)
+                        .value((u == 0 ? "admin" : "agent" + u) + "@t" + tenant.index + "-s" + config.seed + ".datagen.local")
+                        .value(PASSWORD_HASH)
+                        .value(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                        .value(LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                        .value(phone(random))
+                        .value(random.nextInt(50) != 0)
+                        .value(createdAt)
+                        .value(createdAt);
+                copy.endRow();
+            }
+        }
+    }
+
+    static void userRoles(Connection connection, TenantPlan tenant, UUID adminRole, UUID supervisorRole,
+                          UUID agentRole) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(connection, "user_management.user_roles", "user_id, role_id")) {
+            for (int u = 0; u < tenant.users; u++) {
+                copy.value(tenant.userId(u)).value(u == 0 ? adminRole : u % 10 == 0 ? supervisorRole : agentRole);
+                copy.endRow();
+            }
+        }
+    }
+
+    /**
+     * Leads [from, to) of a tenant plus their current assignments
+     */
+    static long leads(Connection connection, TenantPlan tenant, long from, long to, Timeline timeline,
+                      GeneratorConfig config) throws SQLException {
+        // Assignments are drawn first so each lead row can carry its current assignee
+        SplittableRandom random = random(config, tenant, Ids.ASSIGNMENT, from);
+        int count = (int) (to - from);
+        int[] assignees = new int[count];
+        int[] assignDelays = new int[count];
+        boolean[] autoAssigned = new boolean[count];
+        for (int k = 0; k < count; k++) {
+            if (random.nextDouble() >= config.assignedShare) {
+                assignees[k] = -1;
+                continue;
+            }
+            boolean auto = random.nextBoolean();
+            assignees[k] = tenant.agentIndex(random);
+            autoAssigned[k] = auto;
+            assignDelays[k] = auto ? 1 : 5 + random.nextInt(240);
+        }
+
+        random = random(config, tenant, Ids.LEAD, from);
+        long rows;
+        try (CopyWriter copy = new CopyWriter(connection, "lead_management.leads",
+                "id, tenant_id, first_name, last_name, email, phone, company, source, status, priority, custom_fields, notes, current_assignee, created_at, updated_at")) {
+            for (long i = from; i < to; i++) {
+                LocalDateTime createdAt = timeline.leadCreatedAt(tenant, i);
+                double age = 1.0 - (double) i / tenant.leads;
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                String industry = INDUSTRIES[random.nextInt(INDUSTRIES.length)];
+                int assignee = assignees[(int) (i - from)];
+
+                copy.value(tenant.leadId(i))
+                        .value(tenant.tenantId)
+                        .value(firstName)
+                        .value(lastName)
+                        .value(random.nextInt(12) == 0 ? null : (firstName + "." + lastName + "." + i + "@example.com").toLowerCase())
+                        .value(random.nextInt(20) == 0 ? null : phone(random))
+                        .value(random.nextInt(4) == 0 ? null : lastName + " " + industry + " " + (i % 997))
+                        .value(SOURCES[Math.min(SOURCES.length - 1, (int) (Math.abs(random.nextGaussian()) * 2.2))])
+                        .value(status(random, age))
+                        .value(random.nextInt(10) < 2 ? "HIGH" : random.nextInt(10) < 6 ? "MEDIUM" : "LOW")
+                        .value("{\"industry\":\"" + industry + "\",\"budget\":" + (5_000 + random.nextInt(200) * 1_000) + "}")
+                        .value(random.nextInt(3) == 0 ? "Follow up regarding " + industry.toLowerCase() + " requirements" : null)
+                        .value(assignee < 0 ? null : tenant.userId(assignee))
+                        .value(createdAt)
+                        .value(createdAt.plusHours(random.nextInt(72)));
+                copy.endRow();
+            }
+            rows = copy.getRows();
+        }
+
+        try (CopyWriter copy = new CopyWriter(connection, "lead_management.lead_assignments",
+                "id, tenant_id, lead_id, assigned_to, assigned_by, assignment_type, assigned_at, is_current")) {
+            for (long i = from; i < to; i++) {
+                int k = (int) (i - from);
+                if (assignees[k] < 0) {
+                    continue;
+                }
+                copy.value(Ids.uuid(config.seed, Ids.ASSIGNMENT, tenant.index, i))
+                        .value(tenant.tenantId)
+                        .value(tenant.leadId(i))
+                        .value(tenant.userId(assignees[k]))
+                        .value(tenant.userId(0))
+                        .value(autoAssigned[k] ? "AUTO" : "MANUAL")
+                        .value(timeline.leadCreatedAt(tenant, i).plusMinutes(assignDelays[k]))
+                        .value(true);
+                copy.endRow();
+            }
+            rows += copy.getRows();
+        }
+        return rows;
+    }
+
+    /**
+     * Calls [from, to) of a tenant: skewed towards recent leads and busy agents, placed after the lead was created
+     */
+    static long calls(Connection connection, TenantPlan tenant, long from, long to, Timeline timeline,
+                      GeneratorConfig config) throws SQLException {
+        SplittableRandom random = random(config, tenant, Ids.CALL, from);
+        try (CopyWriter copy = new CopyWriter(connection, "call_management.calls",
+                "id, tenant_id, lead_id, user_id, phone_number, direction, status, duration, call_start_time, call_end_time, notes, outcome, follow_up_required, created_at, updated_at")) {
+            for (long i = from; i < to; i++) {
+                double r = random.nextDouble();
+                long leadIndex = Math.min(tenant.leads - 1, (long) (tenant.leads * (1.0 - r * r)));
+                LocalDateTime start = timeline.leadCreatedAt(tenant, leadIndex)
+                        .plusMinutes((long) (-Math.log(1.0 - random.nextDouble()) * 3 * 24 * 60));
+                if (start.isAfter(timeline.getEnd())) {
+                    start = timeline.getEnd().minusMinutes(random.nextInt(600));
+                }
+                String status = CALL_STATUSES[random.nextInt(CALL_STATUSES.length)];
+                boolean completed = "COMPLETED".equals(status);
+                int duration = completed ? 20 + (int) (-Math.log(1.0 - random.nextDouble()) * 240) : 0;
+
+                copy.value(Ids.uuid(config.seed, Ids.CALL, tenant.index, i))
+                        .value(tenant.tenantId)
+                        .value(tenant.leadId(leadIndex))
+                        .value(tenant.userId(tenant.agentIndex(random)))
+                        .value(phone(random))
+                        .value(random.nextInt(5) == 0 ? "INBOUND" : "OUTBOUND")
+                        .value(status)
+                        .value(duration)
+                        .value(start)
+                        .value(start.plusSeconds(duration))
+                        .value(completed && random.nextInt(4) == 0 ? "Discussed pricing and next steps" : null)
+                        .value(completed ? OUTCOMES[random.nextInt(OUTCOMES.length)] : null)
+                        .value(completed && random.nextInt(3) == 0)
+                        .value(start)
+                        .value(start.plusSeconds(duration));
+                copy.endRow();
+            }
+            return copy.getRows();
+        }
+    }
+
+    /**
+     * Attendance sessions [from, to): one LOGIN/BREAK_START/BREAK_END/LOGOUT day per session, users round-robin
+     */
+    static long timeEntries(Connection connection, TenantPlan tenant, long from, long to, Timeline timeline,
+                            GeneratorConfig config) throws SQLException {
+        SplittableRandom random = random(config, tenant, Ids.TIME_ENTRY, from);
+        try (CopyWriter copy = new CopyWriter(connection, "hr_workflow.time_entries",
+                "id, tenant_id, user_id, entry_type, timestamp, created_at, updated_at")) {
+            for (long s = from; s < to; s++) {
+                UUID userId = tenant.userId((int) (s % tenant.users));
+                LocalDateTime day = timeline.workday(s / tenant.users);
+                LocalDateTime login = day.plusHours(8).plusMinutes(random.nextInt(90));
+                LocalDateTime breakStart = login.plusHours(3).plusMinutes(random.nextInt(90));
+                LocalDateTime breakEnd = breakStart.plusMinutes(20 + random.nextInt(45));
+                LocalDateTime logout = breakEnd.plusHours(4).plusMinutes(random.nextInt(120));
+
+                entry(copy, config, tenant, s * 4, userId, "LOGIN", login);
+                entry(copy, config, tenant, s * 4 + 1, userId, "BREAK_START", breakStart);
+                entry(copy, config, tenant, s * 4 + 2, userId, "BREAK_END", breakEnd);
+                entry(copy, config, tenant, s * 4 + 3, userId, "LOGOUT", logout);
+            }
+            return copy.getRows();
+        }
+    }
+
+    static long campaigns(Connection connection, TenantPlan tenant, Timeline timeline,
+                          GeneratorConfig config) throws SQLException {
+        SplittableRandom random = random(config, tenant, Ids.CAMPAIGN, 0);
+        try (CopyWriter copy = new CopyWriter(connection, "campaign_management.campaigns",
+                "id, tenant_id, user_id, name, subject, from_name, status, campaign_type, scheduled_at, sent_at, total_recipients, emails_sent, opens, unique_opens, clicks, unique_clicks, bounces, unsubscribes, created_at, updated_at")) {
+            for (long c = 0; c < tenant.campaigns; c++) {
+                LocalDateTime createdAt = timeline.getEnd().minusDays(random.nextInt(timeline.getDays()));
+                boolean sent = createdAt.isBefore(timeline.getEnd().minusDays(7)) || random.nextBoolean();
+                int recipients = sent ? 100 + random.nextInt((int) Math.min(50_000, tenant.leads + 100)) : 0;
+                int uniqueOpens = (int) (recipients * (0.15 + random.nextDouble() * 0.25));
+                int uniqueClicks = (int) (uniqueOpens * (0.05 + random.nextDouble() * 0.2));
+
+                copy.value(Ids.uuid(config.seed, Ids.CAMPAIGN, tenant.index, c))
+                        .value(tenant.tenantId)
+                        .value(tenant.userId(0))
+                        .value("Campaign " + c + " - " + INDUSTRIES[random.nextInt(INDUSTRIES.length)])
+                        .value("Offer for " + createdAt.getMonth().name().toLowerCase())
+                        .value("Datagen Tenant " + tenant.index)
+                        .value(sent ? "SENT" : random.nextBoolean() ? "SCHEDULED" : "DRAFT")
+                        .value("EMAIL")
+                        .value(sent ? createdAt.plusDays(1) : null)
+                        .value(sent ? createdAt.plusDays(1) : null)
+                        .value(recipients)
+                        .value(recipients)
+                        .value(uniqueOpens + uniqueOpens / 3)
+                        .value(uniqueOpens)
+                        .value(uniqueClicks + uniqueClicks / 4)
+                        .value(uniqueClicks)
+                        .value(recipients / 50)
+                        .value(recipients / 200)
+                        .value(createdAt)
+                        .value(createdAt);
+                copy.endRow();
+            }
+            return copy.getRows();
+        }
+    }
+
+    private static void entry(CopyWriter copy, GeneratorConfig config, TenantPlan tenant, long index, UUID userId,
+                              String type, LocalDateTime timestamp) throws SQLException {
+        copy.value(Ids.uuid(config.seed, Ids.TIME_ENTRY, tenant.index, index))
+                .value(tenant.tenantId)
+                .value(userId)
+                .value(type)
+                .value(timestamp)
+                .value(timestamp)
+                .value(timestamp);
+        copy.endRow();
+    }
+
+    private static String status(SplittableRandom random, double age) {
+        double r = random.nextDouble();
+        if (r < 0.55 - 0.45 * age) {
+            return "NEW";
+        }
+        if (r < 0.75 - 0.35 * age) {
+            return "CONTACTED";
+        }
+        if (r < 0.88 - 0.25 * age) {
+            return "QUALIFIED";
+        }
+        return r < 0.94 ? "CONVERTED" : "LOST";
+    }
+
+    private static String phone(SplittableRandom random) {
+        return "+91" + (7 + random.nextInt(3)) + String.format("%09d", random.nextInt(1_000_000_000));
+    }
+}
@@ -0,0 +1,60 @@
+package com.crm.datagen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-tenant row budget. Tenant sizes follow Zipf(tenants, tenantSkew), so a handful of hot tenants
+ * own most leads, calls and agents; each tenant's agents are in turn Zipf-ranked by activity.
+ */
+final class TenantPlan {
+
+    final int index;
+    final UUID tenantId;
+    final int users;
+    final long leads;
+    final long calls;
+    final long timeEntrySessions;
+    final long campaigns;
+    final ZipfSampler agentSampler;
+
+    private final long seed;
+
+    private TenantPlan(GeneratorConfig config, int index, double weight) {
+        this.seed = config.seed;
+        this.index = index;
+        this.tenantId = Ids.uuid(config.seed, Ids.TENANT, index, 0);
+        this.users = (int) Math.max(3, Math.min(5000, Math.round(config.avgUsersPerTenant * config.tenants * weight)));
+        this.leads = Math.max(1, Math.round(config.leads * weight));
+        this.calls = Math.round(config.calls * weight);
+        // Each session is LOGIN, BREAK_START, BREAK_END, LOGOUT
+        this.timeEntrySessions = Math.round(config.timeEntries * weight / 4);
+        this.campaigns = Math.round(config.campaigns * weight);
+        this.agentSampler = new ZipfSampler(users, config.agentSkew);
+    }
+
+    static List<TenantPlan> plan(GeneratorConfig config) {
+        ZipfSampler tenantSizes = new ZipfSampler(config.tenants, config.tenantSkew);
+        List<TenantPlan> plans = new ArrayList<>(config.tenants);
+        for (int i = 0; i < config.tenants; i++) {
+            plans.add(new TenantPlan(config, i, tenantSizes.weight(i)));
+        }
+        return plans;
+    }
+
+    UUID userId(int userIndex) {
+        return Ids.uuid(seed, Ids.USER, index, userIndex);
+    }
+
+    UUID leadId(long leadIndex) {
+        return Ids.uuid(seed, Ids.LEAD, index, leadIndex);
+    }
+
+    /**
+     * Agents are users 1..n-1 (user 0 is the tenant admin)
+     */
+    int agentIndex(java.util.SplittableRandom random) {
+        return 1 + agentSampler.sample(random) % (users - 1);
+    }
+}
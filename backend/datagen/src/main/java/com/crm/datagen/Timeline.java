@@ -0,0 +1,61 @@
+package com.crm.datagen;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+
+/**
+ * Time placement shared by all tables: leads arrive at a growing rate (density rises towards the end
+ * of the window), during business hours on weekdays; activity on a lead happens after it was created.
+ */
+final class Timeline {
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final int days;
+    private final long seed;
+
+    Timeline(GeneratorConfig config) {
+        this.end = config.endDate.atTime(23, 59);
+        this.start = config.endDate.minusDays(config.historyDays).atStartOfDay();
+        this.days = config.historyDays;
+        this.seed = config.seed;
+    }
+
+    LocalDateTime getEnd() {
+        return end;
+    }
+
+    int getDays() {
+        return days;
+    }
+
+    /**
+     * Deterministic, so calls and assignments can recompute it from the lead index alone
+     */
+    LocalDateTime leadCreatedAt(TenantPlan tenant, long leadIndex) {
+        double fraction = Math.sqrt((leadIndex + 0.5) / tenant.leads);
+        long hash = Ids.mix(seed ^ (tenant.index * 0x9E3779B97F4A7C15L) ^ leadIndex);
+        int day = (int) Math.min(days - 1, fraction * days);
+        int minuteOfDay = 9 * 60 + (int) Math.floorMod(hash, 9 * 60);
+        LocalDateTime createdAt = businessDay(start.plusDays(day)).plusMinutes(minuteOfDay);
+        return createdAt.isAfter(end) ? end : createdAt;
+    }
+
+    /**
+     * Session day for time entries, walking backwards from the end of the window over weekdays
+     */
+    LocalDateTime workday(long dayOffset) {
+        return businessDay(end.toLocalDate().atStartOfDay().minusDays(dayOffset % days));
+    }
+
+    static LocalDateTime businessDay(LocalDateTime time) {
+        DayOfWeek day = time.getDayOfWeek();
+        if (day == DayOfWeek.SATURDAY) {
+            return time.minusDays(1);
+        }
+        if (day == DayOfWeek.SUNDAY) {
+            return time.plusDays(1);
+        }
+        return time;
+    }
+}
@@ -0,0 +1,36 @@
+package com.crm.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf(n, s) over ranks 0..n-1 via a precomputed CDF; rank 0 is the most frequent.
+ */
+final class ZipfSampler {
+
+    private final double[] cdf;
+
+    ZipfSampler(int n, double exponent) {
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+
+    /**
+     * Probability mass of a rank
+     */
+    double weight(int rank) {
+        return rank == 0 ? cdf[0] : cdf[rank] - cdf[rank - 1];
+    }
+}
@@ -41,6 +41,8 @@ public class SecurityConfig {
                         // Public endpoints
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Access-log sampling is operator-only
+                        .requestMatchers("/actuator/accesslog", "/actuator/accesslog/**").hasRole("ADMIN")
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
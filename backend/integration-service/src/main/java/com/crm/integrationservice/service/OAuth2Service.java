@@ -26,7 +26,7 @@ import java.util.UUID;
 public class OAuth2Service {
 
     private final OAuthTokenRepository tokenRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
 
     @Value("${oauth.calendly.client-id}")
     private String calendlyClientId;
@@ -8,9 +8,11 @@ import io.swagger.v3.oas.annotations.servers.Server;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {"com.crm.leadservice", "com.crm.common"})
 @EnableJpaAuditing
+@EnableScheduling
 @OpenAPIDefinition(
         info = @Info(
                 title = "Lead Service API",
@@ -35,6 +35,8 @@ public class SecurityConfig {
                                 "/actuator/health"
                         ).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Access-log sampling is operator-only
+                        .requestMatchers("/actuator/accesslog", "/actuator/accesslog/**").hasRole("ADMIN")
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
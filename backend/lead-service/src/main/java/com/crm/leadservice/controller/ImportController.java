@@ -26,9 +26,10 @@ public class ImportController {
     private final ExcelImportService excelImportService;
 
     @PostMapping("/excel")
-    @ResponseStatus(HttpStatus.CREATED)
+    @ResponseStatus(HttpStatus.ACCEPTED)
     @PreAuthorize("hasAuthority('leads:import')")
-    @Operation(summary = "Import leads from Excel", description = "Upload and import leads from Excel file (.xlsx)")
+    @Operation(summary = "Import leads from Excel",
+            description = "Upload an Excel file (.xlsx); the import runs in the background. Poll GET /leads/import/{importId} for progress")
     public ApiResponse<ImportResultDTO> importLeadsFromExcel(
             @RequestParam("file") MultipartFile file,
             HttpServletRequest httpRequest) {
@@ -36,8 +37,34 @@ public class ImportController {
         UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
         UUID uploadedBy = (UUID) httpRequest.getAttribute("userId");
 
-        ImportResultDTO result = excelImportService.importLeadsFromExcel(file, tenantId, uploadedBy);
-        return ApiResponse.success(result);
+        ImportResultDTO result = excelImportService.submitImport(file, tenantId, uploadedBy);
+        return ApiResponse.success("Import queued", result);
+    }
+
+    @GetMapping("/{importId}")
+    @PreAuthorize("hasAuthority('leads:read')")
+    @Operation(summary = "Get import progress", description = "Get status, row counts and first errors of an import")
+    public ApiResponse<ImportResultDTO> getImport(
+            @PathVariable UUID importId,
+            HttpServletRequest httpRequest) {
+
+        UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
+
+        return ApiResponse.success(excelImportService.getImport(importId, tenantId));
+    }
+
+    @GetMapping("/{importId}/errors")
+    @PreAuthorize("hasAuthority('leads:read')")
+    @Operation(summary = "Get import errors", description = "Get row errors of an import in file order, including while it runs")
+    public ApiResponse<List<ImportResultDTO.ImportError>> getImportErrors(
+            @PathVariable UUID importId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            HttpServletRequest httpRequest) {
+
+        UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
+
+        return ApiResponse.success(excelImportService.getImportErrors(importId, tenantId, page, size));
     }
 
     @GetMapping("/history")
@@ -1,12 +1,21 @@
 package com.crm.leadservice.controller;
 
 import com.crm.common.dto.ApiResponse;
+import com.crm.common.exception.BadRequestException;
+import com.crm.leadservice.dto.request.BulkLeadRequest;
 import com.crm.leadservice.dto.request.CreateLeadRequest;
+import com.crm.leadservice.dto.request.LeadLookupRequest;
+import com.crm.leadservice.dto.request.RecordContactRequest;
 import com.crm.leadservice.dto.request.SearchLeadRequest;
 import com.crm.leadservice.dto.request.UpdateLeadRequest;
+import com.crm.leadservice.dto.response.BulkLeadResultDTO;
 import com.crm.leadservice.dto.response.LeadDTO;
 import com.crm.leadservice.dto.response.LeadHistoryDTO;
+import com.crm.leadservice.dto.response.LeadLeaseDTO;
+import com.crm.leadservice.dto.response.LeadLookupDTO;
 import com.crm.leadservice.dto.response.LeadStatsDTO;
+import com.crm.leadservice.service.BulkLeadMutationService;
+import com.crm.leadservice.service.LeadExportService;
 import com.crm.leadservice.service.LeadService;
 import com.crm.leadservice.service.LeadImportService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,12 +25,18 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 
@@ -34,6 +49,8 @@ public class LeadController {
 
     private final LeadService leadService;
     private final LeadImportService leadImportService;
+    private final LeadExportService leadExportService;
+    private final BulkLeadMutationService bulkLeadMutationService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -96,6 +113,25 @@ public class LeadController {
         return ApiResponse.success(null);
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAuthority('leads:write') and (#request.action.name() != 'DELETE' or hasAuthority('leads:delete'))")
+    @Operation(summary = "Bulk update or delete", description = "Change status, priority or source of, or delete, leads selected by id or filter")
+    public ApiResponse<BulkLeadResultDTO> bulkMutate(
+            @Valid @RequestBody BulkLeadRequest request,
+            HttpServletRequest httpRequest) {
+
+        UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
+        UUID userId = (UUID) httpRequest.getAttribute("userId");
+        @SuppressWarnings("unchecked")
+        List<String> roles = (List<String>) httpRequest.getAttribute("roles");
+
+        // Agents only ever see their assigned leads
+        UUID assignee = roles.contains("AGENT") ? userId : null;
+
+        BulkLeadResultDTO result = bulkLeadMutationService.apply(request, tenantId, userId, assignee);
+        return ApiResponse.success("Bulk " + request.getAction().name().toLowerCase(Locale.ROOT) + " applied", result);
+    }
+
     @GetMapping
     @PreAuthorize("hasAuthority('leads:read')")
     @Operation(summary = "Get all leads", description = "Get paginated list of leads with role-based filtering")
@@ -117,7 +153,7 @@ public class LeadController {
     @PreAuthorize("hasAuthority('leads:read')")
     @Operation(summary = "Search leads", description = "Search leads with filters and full-text search")
     public ApiResponse<Page<LeadDTO>> searchLeads(
-            @RequestBody SearchLeadRequest request,
+            @Valid @RequestBody SearchLeadRequest request,
             HttpServletRequest httpRequest) {
 
         UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
@@ -129,16 +165,30 @@ public class LeadController {
         return ApiResponse.success(leads);
     }
 
+    @PostMapping("/internal/lookup")
+    @PreAuthorize("hasAuthority('leads:read')")
+    @Operation(summary = "Bulk lead lookup", description = "Internal: resolve phone numbers and emails to lead ids (used by call-service and importers)")
+    public ApiResponse<LeadLookupDTO> lookupLeads(
+            @Valid @RequestBody LeadLookupRequest request,
+            HttpServletRequest httpRequest) {
+
+        UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
+
+        LeadLookupDTO result = leadService.lookupLeads(request, tenantId);
+        return ApiResponse.success(result);
+    }
+
     @GetMapping("/{id}/history")
     @PreAuthorize("hasAuthority('leads:read')")
-    @Operation(summary = "Get lead history", description = "Get audit trail for a specific lead")
+    @Operation(summary = "Get lead history", description = "Get audit trail for a specific lead; changed fields only, or full before/after snapshots with snapshots=true")
     public ApiResponse<List<LeadHistoryDTO>> getLeadHistory(
             @PathVariable UUID id,
+            @RequestParam(defaultValue = "false") boolean snapshots,
             HttpServletRequest httpRequest) {
 
         UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
 
-        List<LeadHistoryDTO> history = leadService.getLeadHistory(id, tenantId);
+        List<LeadHistoryDTO> history = leadService.getLeadHistory(id, tenantId, snapshots);
         return ApiResponse.success(history);
     }
 
@@ -153,6 +203,81 @@ public class LeadController {
         return ApiResponse.success(stats);
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('leads:read')")
+    @Operation(summary = "Export leads", description = "Stream leads as CSV or XLSX, optionally filtered like search")
+    public ResponseEntity<StreamingResponseBody> exportLeads(
+            @RequestParam(defaultValue = "csv") String format,
+            SearchLeadRequest filters,
+            HttpServletRequest httpRequest) {
+
+        UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
+        UUID userId = (UUID) httpRequest.getAttribute("userId");
+        @SuppressWarnings("unchecked")
+        List<String> roles = (List<String>) httpRequest.getAttribute("roles");
+
+        LeadExportService.Format exportFormat;
+        try {
+            exportFormat = LeadExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported export format: " + format);
+        }
+        // Agents only ever see their assigned leads
+        UUID assignee = roles.contains("AGENT") ? userId : null;
+
+        StreamingResponseBody body = out -> leadExportService.export(tenantId, filters, assignee, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"leads-" + LocalDate.now() + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/next")
+    @PreAuthorize("hasAuthority('leads:write')")
+    @Operation(summary = "Next lead to call", description = "Lease the highest-priority due lead for the current agent")
+    public ApiResponse<LeadLeaseDTO> getNextLead(HttpServletRequest httpRequest) {
+
+        UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
+        UUID userId = (UUID) httpRequest.getAttribute("userId");
+
+        return leadService.leaseNextLead(tenantId, userId)
+                .map(ApiResponse::success)
+                .orElseGet(() -> ApiResponse.success("No lead is due right now", null));
+    }
+
+    @PostMapping("/{id}/contact")
+    @PreAuthorize("hasAuthority('leads:write')")
+    @Operation(summary = "Record contact", description = "Record a call to the lead, schedule the next one and end the lease")
+    public ApiResponse<LeadDTO> recordContact(
+            @PathVariable UUID id,
+            @Valid @RequestBody RecordContactRequest request,
+            HttpServletRequest httpRequest) {
+
+        UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
+        UUID userId = (UUID) httpRequest.getAttribute("userId");
+
+        @SuppressWarnings("unchecked")
+        List<String> roles = (List<String>) httpRequest.getAttribute("roles");
+
+        LeadDTO lead = leadService.recordContact(id, request, tenantId, userId, roles);
+        return ApiResponse.success("Contact recorded", lead);
+    }
+
+    @DeleteMapping("/{id}/lease")
+    @PreAuthorize("hasAuthority('leads:write')")
+    @Operation(summary = "Release lease", description = "Return a leased lead to the queue without recording a contact")
+    public ApiResponse<Void> releaseLease(
+            @PathVariable UUID id,
+            HttpServletRequest httpRequest) {
+
+        UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
+        UUID userId = (UUID) httpRequest.getAttribute("userId");
+
+        leadService.releaseLease(id, tenantId, userId);
+        return ApiResponse.success("Lease released");
+    }
+
     @GetMapping("/my-leads")
     @PreAuthorize("hasAuthority('leads:read')")
     @Operation(summary = "Get my assigned leads", description = "Get leads assigned to the current user (for agents)")
@@ -0,0 +1,94 @@
+package com.crm.leadservice.controller;
+
+import com.crm.common.dto.ApiResponse;
+import com.crm.leadservice.dto.request.LeadRuleRequest;
+import com.crm.leadservice.dto.response.LeadRuleDTO;
+import com.crm.leadservice.service.LeadRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/leads/rules")
+@RequiredArgsConstructor
+@Tag(name = "Lead Rules", description = "Lifecycle rules applied to leads on a schedule")
+@SecurityRequirement(name = "bearerAuth")
+public class LeadRuleController {
+
+    private final LeadRuleService leadRuleService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    @Operation(summary = "List rules", description = "Get the tenant's lead lifecycle rules")
+    public ApiResponse<List<LeadRuleDTO>> getRules(HttpServletRequest httpRequest) {
+
+        UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
+
+        return ApiResponse.success(leadRuleService.getRules(tenantId));
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    @Operation(summary = "Create a rule", description = "Create a lead lifecycle rule")
+    public ApiResponse<LeadRuleDTO> createRule(
+            @Valid @RequestBody LeadRuleRequest request,
+            HttpServletRequest httpRequest) {
+
+        UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
+        UUID userId = (UUID) httpRequest.getAttribute("userId");
+
+        LeadRuleDTO rule = leadRuleService.createRule(request, tenantId, userId);
+        return ApiResponse.success("Rule created successfully", rule);
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    @Operation(summary = "Update a rule", description = "Replace a lead lifecycle rule")
+    public ApiResponse<LeadRuleDTO> updateRule(
+            @PathVariable UUID id,
+            @Valid @RequestBody LeadRuleRequest request,
+            HttpServletRequest httpRequest) {
+
+        UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
+
+        LeadRuleDTO rule = leadRuleService.updateRule(id, request, tenantId);
+        return ApiResponse.success("Rule updated successfully", rule);
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    @Operation(summary = "Delete a rule", description = "Delete a lead lifecycle rule")
+    public ApiResponse<Void> deleteRule(
+            @PathVariable UUID id,
+            HttpServletRequest httpRequest) {
+
+        UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
+
+        leadRuleService.deleteRule(id, tenantId);
+        return ApiResponse.success("Rule deleted successfully");
+    }
+
+    @PostMapping("/{id}/run")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    @Operation(summary = "Run a rule", description = "Start a run of the rule now; progress shows in lastRunAt")
+    public ApiResponse<Void> runRule(
+            @PathVariable UUID id,
+            HttpServletRequest httpRequest) {
+
+        UUID tenantId = (UUID) httpRequest.getAttribute("tenantId");
+
+        leadRuleService.runRule(id, tenantId);
+        return ApiResponse.success("Rule run started");
+    }
+}
@@ -0,0 +1,42 @@
+package com.crm.leadservice.dto.request;
+
+import com.crm.leadservice.entity.Lead;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkLeadRequest {
+
+    @NotNull(message = "Action is required")
+    private Action action;
+
+    // Either the leads to change...
+    @Size(max = 100000, message = "At most 100000 lead IDs")
+    private List<UUID> leadIds;
+
+    // ...or the search filters selecting them; paging is ignored
+    @Valid
+    private SearchLeadRequest filter;
+
+    // UPDATE: the fields to set; fields left null keep their value
+    private Lead.LeadStatus status;
+
+    private Lead.LeadPriority priority;
+
+    @Size(max = 100, message = "Source must be at most 100 characters")
+    private String source;
+
+    public enum Action {
+        UPDATE,
+        DELETE
+    }
+}
@@ -0,0 +1,48 @@
+package com.crm.leadservice.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One condition on a lead custom field, e.g. {"key": "region", "operator": "IN", "values": ["EU", "UK"]}.
+ * Values are JSON scalars and compare by type: 5 matches the number 5, not the string "5".
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomFieldFilter {
+
+    public enum Operator {
+        // value
+        EQUALS,
+        // values
+        IN,
+        // from and/or to, inclusive; both numbers or both strings (ISO dates compare as strings)
+        RANGE,
+        // key present with a non-null value
+        EXISTS
+    }
+
+    @NotBlank(message = "Custom field key is required")
+    @Pattern(regexp = "[A-Za-z0-9_.\\- ]{1,64}", message = "Custom field keys are letters, digits, spaces, '_', '.' and '-', at most 64")
+    private String key;
+
+    @NotNull(message = "Custom field operator is required")
+    private Operator operator;
+
+    private Object value;
+
+    @Size(max = 100, message = "At most 100 values per IN filter")
+    private List<Object> values;
+
+    private Object from;
+
+    private Object to;
+}
@@ -0,0 +1,20 @@
+package com.crm.leadservice.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeadLookupRequest {
+
+    @Size(max = 10000, message = "At most 10000 phone numbers per lookup")
+    private List<String> phones;
+
+    @Size(max = 10000, message = "At most 10000 emails per lookup")
+    private List<String> emails;
+}
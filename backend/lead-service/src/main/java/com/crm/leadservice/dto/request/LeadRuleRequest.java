@@ -0,0 +1,42 @@
+package com.crm.leadservice.dto.request;
+
+import com.crm.leadservice.entity.Lead;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeadRuleRequest {
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must be at most 100 characters")
+    private String name;
+
+    private Boolean enabled = true;
+
+    // Conditions: a lead must meet all that are set
+    private List<Lead.LeadStatus> matchStatuses;
+
+    private List<Lead.LeadPriority> matchPriorities;
+
+    @Size(max = 50, message = "At most 50 sources")
+    private List<@Size(max = 100) String> matchSources;
+
+    @Positive(message = "Days without contact must be positive")
+    private Integer noContactDays;
+
+    @Positive(message = "Days assigned must be positive")
+    private Integer assignedForDays;
+
+    // Actions: at least one
+    private Lead.LeadStatus targetStatus;
+
+    private Lead.LeadPriority targetPriority;
+}
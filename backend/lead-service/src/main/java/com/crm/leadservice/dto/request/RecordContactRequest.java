@@ -0,0 +1,22 @@
+package com.crm.leadservice.dto.request;
+
+import com.crm.leadservice.entity.Lead;
+import jakarta.validation.constraints.Future;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordContactRequest {
+
+    // Optional: new status; a NEW lead becomes CONTACTED by default
+    private Lead.LeadStatus status;
+
+    // Optional: when to call again; otherwise after the configured recontact gap
+    @Future(message = "Follow-up must be in the future")
+    private LocalDateTime followUpAt;
+}
@@ -1,10 +1,14 @@
 package com.crm.leadservice.dto.request;
 
 import com.crm.leadservice.entity.Lead;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,6 +24,11 @@ public class SearchLeadRequest {
 
     private Boolean assigned;
 
+    // All conditions must hold
+    @Valid
+    @Size(max = 10, message = "At most 10 custom field filters")
+    private List<CustomFieldFilter> customFields;
+
     private Integer page = 0;
 
     private Integer size = 20;
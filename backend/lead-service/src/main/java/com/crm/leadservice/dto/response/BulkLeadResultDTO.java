@@ -0,0 +1,28 @@
+package com.crm.leadservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkLeadResultDTO {
+
+    // Number of leads per outcome
+    private Map<Outcome, Integer> summary;
+
+    private Map<UUID, Outcome> outcomes;
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,  // Already had the requested values
+        DELETED,
+        NOT_FOUND   // Unknown id, another tenant's lead, or not assigned to the calling agent
+    }
+}
@@ -30,8 +30,13 @@ public class ImportResultDTO {
 
     private List<ImportError> errors;
 
+    // Last file row of the committed chunks; progress while status is PROCESSING
+    private Integer lastCommittedRow;
+
     private LocalDateTime createdAt;
 
+    private LocalDateTime completedAt;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -44,6 +44,10 @@ public class LeadDTO {
 
     private String assignedToName;
 
+    private LocalDateTime lastContactedAt;
+
+    private LocalDateTime followUpAt;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
@@ -0,0 +1,20 @@
+package com.crm.leadservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeadLeaseDTO {
+
+    private LeadDTO lead;
+
+    // The lead is reserved for the agent until then; GET /leads/next again renews it
+    private LocalDateTime leaseExpiresAt;
+}
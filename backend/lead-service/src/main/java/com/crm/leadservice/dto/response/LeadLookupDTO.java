@@ -0,0 +1,22 @@
+package com.crm.leadservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeadLookupDTO {
+
+    // Requested value as sent → matching lead ids, newest first; values without a match are omitted
+    private Map<String, List<UUID>> phones;
+
+    private Map<String, List<UUID>> emails;
+}
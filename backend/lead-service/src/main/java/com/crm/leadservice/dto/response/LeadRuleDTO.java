@@ -0,0 +1,48 @@
+package com.crm.leadservice.dto.response;
+
+import com.crm.leadservice.entity.Lead;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeadRuleDTO {
+
+    private UUID id;
+
+    private String name;
+
+    private Boolean enabled;
+
+    private List<String> matchStatuses;
+
+    private List<String> matchPriorities;
+
+    private List<String> matchSources;
+
+    private Integer noContactDays;
+
+    private Integer assignedForDays;
+
+    private Lead.LeadStatus targetStatus;
+
+    private Lead.LeadPriority targetPriority;
+
+    private UUID createdBy;
+
+    private LocalDateTime lastRunAt;
+
+    private Long lastRunAffected;
+
+    private Long lastRunSkipped;
+
+    private LocalDateTime createdAt;
+}
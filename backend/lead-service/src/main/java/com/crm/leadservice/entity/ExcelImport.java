@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
@@ -42,6 +43,21 @@ public class ExcelImport extends BaseEntity {
     @Column(name = "error_log", columnDefinition = "TEXT")
     private String errorLog;
 
+    // Last file row covered by a committed chunk; a resumed job continues after it
+    @Column(name = "last_committed_row", nullable = false)
+    private Integer lastCommittedRow = 0;
+
+    // Refreshed (database clock) while a worker owns the job; a stale heartbeat lets another worker resume it
+    @Column(name = "heartbeat_at", insertable = false, updatable = false)
+    private LocalDateTime heartbeatAt;
+
+    // Written by each claim; only the holder of the current token may commit progress
+    @Column(name = "claim_token", insertable = false, updatable = false)
+    private UUID claimToken;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
     public enum ImportStatus {
         PROCESSING,
         COMPLETED,
@@ -0,0 +1,34 @@
+package com.crm.leadservice.entity;
+
+import com.crm.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "excel_import_errors", schema = "lead_management")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ExcelImportError extends BaseEntity {
+
+    @Column(name = "import_id", nullable = false)
+    private UUID importId;
+
+    @Column(name = "row_number", nullable = false)
+    private Integer rowNumber;
+
+    @Column(name = "field", length = 50)
+    private String field;
+
+    @Column(name = "error", columnDefinition = "TEXT", nullable = false)
+    private String error;
+
+    @Column(name = "cell_value", columnDefinition = "TEXT")
+    private String value;
+}
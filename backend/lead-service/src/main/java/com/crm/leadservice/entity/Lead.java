@@ -9,7 +9,9 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.UUID;
 
 @Entity
 @Table(name = "leads", schema = "lead_management")
@@ -52,6 +54,27 @@ public class Lead extends BaseEntity {
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
 
+    // Mirrors the current LeadAssignment; written only through LeadRepository.updateCurrentAssignee
+    @Column(name = "current_assignee", insertable = false, updatable = false)
+    private UUID currentAssignee;
+
+    @Column(name = "last_contacted_at")
+    private LocalDateTime lastContactedAt;
+
+    @Column(name = "follow_up_at")
+    private LocalDateTime followUpAt;
+
+    // When the dialer queue may offer the lead again; null = now
+    @Column(name = "next_contact_at")
+    private LocalDateTime nextContactAt;
+
+    // Dialer lease; written only through LeadQueueService
+    @Column(name = "leased_by", insertable = false, updatable = false)
+    private UUID leasedBy;
+
+    @Column(name = "lease_expires_at", insertable = false, updatable = false)
+    private LocalDateTime leaseExpiresAt;
+
     public enum LeadStatus {
         NEW,
         CONTACTED,
@@ -0,0 +1,84 @@
+package com.crm.leadservice.entity;
+
+import com.crm.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lifecycle rule: leads of the tenant matching every set condition get the target status and/or priority.
+ */
+@Entity
+@Table(name = "lead_rules", schema = "lead_management")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class LeadRule extends BaseEntity {
+
+    @Column(name = "name", length = 100, nullable = false)
+    private String name;
+
+    @Column(name = "enabled", nullable = false)
+    private Boolean enabled = true;
+
+    // Conditions; null means any
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "match_statuses", columnDefinition = "varchar(50)[]")
+    private List<String> matchStatuses;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "match_priorities", columnDefinition = "varchar(20)[]")
+    private List<String> matchPriorities;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "match_sources", columnDefinition = "varchar(100)[]")
+    private List<String> matchSources;
+
+    // No call and no recorded contact in this many days
+    @Column(name = "no_contact_days")
+    private Integer noContactDays;
+
+    // Assigned to the same agent for at least this many days
+    @Column(name = "assigned_for_days")
+    private Integer assignedForDays;
+
+    // Actions
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_status", length = 50)
+    private Lead.LeadStatus targetStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_priority", length = 20)
+    private Lead.LeadPriority targetPriority;
+
+    @Column(name = "created_by", nullable = false)
+    private UUID createdBy;
+
+    // Maintained by LeadRuleEngine
+    @Column(name = "last_run_at", insertable = false, updatable = false)
+    private LocalDateTime lastRunAt;
+
+    @Column(name = "last_run_affected", insertable = false, updatable = false)
+    private Long lastRunAffected;
+
+    // Matching leads the last run left alone because they were locked by other work at the time
+    @Column(name = "last_run_skipped", insertable = false, updatable = false)
+    private Long lastRunSkipped;
+
+    @Column(name = "running_by", insertable = false, updatable = false)
+    private UUID runningBy;
+
+    @Column(name = "running_until", insertable = false, updatable = false)
+    private LocalDateTime runningUntil;
+}
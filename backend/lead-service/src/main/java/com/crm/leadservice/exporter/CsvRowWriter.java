@@ -0,0 +1,76 @@
+package com.crm.leadservice.exporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV, UTF-8 with CRLF line endings; the counterpart of {@link com.crm.leadservice.importer.CsvRowReader}.
+ * Fields are quoted only when they contain a delimiter, quote or line break.
+ *
+ * <p>A field starting with =, +, - or @ is prefixed with ' so spreadsheet applications opening the file
+ * show it as text instead of evaluating it as a formula (CSV injection). The CSV import strips it again
+ * ({@link com.crm.leadservice.importer.LeadRowMapper#unescapeFormula}), so phone numbers like +15550102030
+ * survive an export and re-import.
+ */
+public final class CsvRowWriter implements ExportRowWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+
+    public CsvRowWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public void write(String[] row) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = row[i];
+            if (value != null) {
+                writeField(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        if (!value.isEmpty() && isFormulaStart(value.charAt(0))) {
+            value = "'" + value;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        int quoteAt;
+        while ((quoteAt = value.indexOf('"', start)) >= 0) {
+            writer.write(value, start, quoteAt - start + 1);
+            writer.write('"');
+            start = quoteAt + 1;
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+
+    private static boolean isFormulaStart(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@';
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+}
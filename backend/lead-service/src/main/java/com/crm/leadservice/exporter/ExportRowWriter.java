@@ -0,0 +1,24 @@
+package com.crm.leadservice.exporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes export rows to a stream, in order; null cells are written empty
+ */
+public interface ExportRowWriter extends Closeable {
+
+    void write(String[] row) throws IOException;
+
+    /**
+     * Writes whatever the format still buffers; the underlying stream is left open
+     */
+    void finish() throws IOException;
+
+    /**
+     * Releases resources such as temp files, also when the export failed; the underlying stream is left open
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,63 @@
+package com.crm.leadservice.exporter;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Single-sheet .xlsx through POI's SXSSF: only the last {@code rowWindow} rows stay in memory, older rows are
+ * flushed to a compressed temp file. The workbook can only be zipped once the sheet is complete, so bytes reach
+ * the stream in {@link #finish()}.
+ */
+public final class XlsxRowWriter implements ExportRowWriter {
+
+    // Excel's row limit
+    private static final int MAX_ROWS = 1_048_576;
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final SXSSFSheet sheet;
+    private int rowNumber;
+
+    public XlsxRowWriter(OutputStream out, int rowWindow, String sheetName) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(rowWindow);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet(sheetName);
+    }
+
+    @Override
+    public void write(String[] row) throws IOException {
+        if (rowNumber >= MAX_ROWS) {
+            throw new IOException("Export exceeds the " + MAX_ROWS + " rows of an .xlsx sheet, use CSV instead");
+        }
+        Row sheetRow = sheet.createRow(rowNumber++);
+        for (int i = 0; i < row.length; i++) {
+            if (row[i] != null) {
+                sheetRow.createCell(i).setCellValue(row[i]);
+            }
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        try {
+            workbook.write(out);
+            out.flush();
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Deletes the temp file; safe to call after {@link #finish()}
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+}
@@ -0,0 +1,183 @@
+package com.crm.leadservice.importer;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 tokenizer: comma separated, fields optionally enclosed in double quotes,
+ * "" inside quotes for a literal quote, and line breaks allowed inside quoted fields.
+ * LF, CRLF and lone CR all end a record, and a leading UTF-8 BOM is skipped.
+ *
+ * <p>Reads through one reusable char buffer and copies runs of plain characters in bulk, so the
+ * per-record cost is the field strings themselves. Malformed input is read leniently: a quote in the
+ * middle of an unquoted field is kept as a character, and an unterminated quote runs to end of file.
+ */
+public final class CsvRowReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder(128);
+    private final List<String> fields = new ArrayList<>(16);
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    private CsvRowReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public static void read(MultipartFile file, ImportRowHandler handler) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            read(new InputStreamReader(in, StandardCharsets.UTF_8), handler);
+        }
+    }
+
+    /**
+     * Hands every record to the handler; row numbers count records, so a quoted line break does not shift them
+     */
+    public static void read(Reader reader, ImportRowHandler handler) throws IOException {
+        CsvRowReader csv = new CsvRowReader(reader);
+        csv.skipByteOrderMark();
+
+        int rowNumber = 0;
+        while (csv.nextRecord()) {
+            if (!handler.handle(new ImportRow(++rowNumber, csv.fields.toArray(new String[0])))) {
+                return;
+            }
+        }
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        if (fill() && buffer[position] == '\uFEFF') {
+            position++;
+        }
+    }
+
+    /**
+     * Reads one record into {@link #fields}; false at end of input
+     */
+    private boolean nextRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+
+        if (!fill()) {
+            return false;
+        }
+
+        boolean quoted = false;
+        boolean inQuotes = false;
+
+        while (true) {
+            if (!fill()) {
+                endField();
+                return true;
+            }
+
+            if (inQuotes) {
+                // Copy up to the next quote in one go
+                int start = position;
+                while (position < limit && buffer[position] != '"') {
+                    position++;
+                }
+                field.append(buffer, start, position - start);
+                if (position < limit) {
+                    position++;
+                    if (peek() == '"') {
+                        field.append('"');
+                        position++;
+                    } else {
+                        inQuotes = false;
+                    }
+                }
+                continue;
+            }
+
+            // Copy up to the next delimiter, quote or line break in one go
+            int start = position;
+            while (position < limit && !isSpecial(buffer[position])) {
+                position++;
+            }
+            field.append(buffer, start, position - start);
+            if (position == limit) {
+                continue;
+            }
+
+            char c = buffer[position++];
+            switch (c) {
+                case ',' -> {
+                    endField();
+                    quoted = false;
+                }
+                case '"' -> {
+                    if (field.length() == 0 && !quoted) {
+                        quoted = true;
+                        inQuotes = true;
+                    } else {
+                        field.append(c);
+                    }
+                }
+                case '\r' -> {
+                    if (peek() == '\n') {
+                        position++;
+                    }
+                    endField();
+                    return true;
+                }
+                default -> {
+                    // '\n'
+                    endField();
+                    return true;
+                }
+            }
+        }
+    }
+
+    private static boolean isSpecial(char c) {
+        return c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+
+    private void endField() {
+        fields.add(field.toString());
+        field.setLength(0);
+    }
+
+    /**
+     * Next char without consuming it, or -1 at end of input
+     */
+    private int peek() throws IOException {
+        return fill() ? buffer[position] : -1;
+    }
+
+    /**
+     * Makes sure at least one char is buffered; false at end of input
+     */
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        if (eof) {
+            return false;
+        }
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            eof = true;
+            position = limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package com.crm.leadservice.importer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * Keeps uploaded import files on disk until their job finishes, so a job can be resumed after a restart.
+ * The storage key (tenant/import id) is recorded in ExcelImport.s3Key. The directory has to be shared
+ * between instances for any of them to resume another's job.
+ */
+@Component
+public class ImportFileStore {
+
+    @Value("${lead-import.storage-dir:${java.io.tmpdir}/lead-imports}")
+    private String storageDir;
+
+    public String store(MultipartFile file, UUID tenantId, UUID importId) throws IOException {
+        String key = tenantId + "/" + importId + ".xlsx";
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return key;
+    }
+
+    public Path resolve(String key) {
+        return Paths.get(storageDir).resolve(key);
+    }
+
+    public void delete(String key) throws IOException {
+        if (key != null) {
+            Files.deleteIfExists(resolve(key));
+        }
+    }
+}
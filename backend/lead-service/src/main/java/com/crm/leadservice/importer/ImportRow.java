@@ -0,0 +1,47 @@
+package com.crm.leadservice.importer;
+
+/**
+ * One data row of an uploaded import file, independent of the file format.
+ * Values are indexed by column; absent and blank cells read as null.
+ */
+public final class ImportRow {
+
+    private final int rowNumber;
+    private final String[] values;
+
+    public ImportRow(int rowNumber, String[] values) {
+        this.rowNumber = rowNumber;
+        this.values = values;
+    }
+
+    /**
+     * 1-based row number as shown to the user (the header is row 1)
+     */
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Trimmed value of a column, or null if the column is unmapped, missing or blank
+     */
+    public String get(Integer columnIndex) {
+        if (columnIndex == null || columnIndex < 0 || columnIndex >= values.length || values[columnIndex] == null) {
+            return null;
+        }
+        String value = values[columnIndex].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    public boolean isEmpty() {
+        for (int i = 0; i < values.length; i++) {
+            if (get(i) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
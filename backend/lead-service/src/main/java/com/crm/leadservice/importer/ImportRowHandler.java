@@ -0,0 +1,13 @@
+package com.crm.leadservice.importer;
+
+/**
+ * Receives rows from a streaming reader, in file order
+ */
+@FunctionalInterface
+public interface ImportRowHandler {
+
+    /**
+     * @return false to stop reading the rest of the file
+     */
+    boolean handle(ImportRow row);
+}
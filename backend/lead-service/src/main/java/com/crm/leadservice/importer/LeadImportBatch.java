@@ -0,0 +1,144 @@
+package com.crm.leadservice.importer;
+
+import com.crm.leadservice.dto.response.ImportResultDTO;
+import com.crm.leadservice.entity.Lead;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Buffers parsed leads of one import and writes them chunk by chunk.
+ *
+ * <p>Per chunk: duplicates within the chunk are rejected in memory, duplicates against the database with one
+ * lookup, and oversized values before they can fail the whole batch. Earlier chunks are already inserted, so
+ * the database lookup also covers duplicates across chunks of the same file.
+ */
+public class LeadImportBatch {
+
+    private final LeadImportWriter writer;
+    private final UUID tenantId;
+    private final int chunkSize;
+    private final List<ImportResultDTO.ImportError> errors;
+    private final boolean rejectDuplicates;
+
+    private final List<Lead> pending;
+    private final List<Integer> pendingRows;
+    private int inserted;
+    private int rejected;
+
+    LeadImportBatch(LeadImportWriter writer, UUID tenantId, int chunkSize,
+                    List<ImportResultDTO.ImportError> errors, boolean rejectDuplicates) {
+        this.writer = writer;
+        this.tenantId = tenantId;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.errors = errors;
+        this.rejectDuplicates = rejectDuplicates;
+        this.pending = new ArrayList<>(this.chunkSize);
+        this.pendingRows = new ArrayList<>(this.chunkSize);
+    }
+
+    public void add(int rowNumber, Lead lead) {
+        pending.add(lead);
+        pendingRows.add(rowNumber);
+        if (pending.size() >= chunkSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes what is buffered; call once more after the last row
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            write();
+        } finally {
+            // A failed chunk is not retried with the next row
+            pending.clear();
+            pendingRows.clear();
+        }
+    }
+
+    private void write() {
+        Set<String> existing = Set.of();
+        if (rejectDuplicates) {
+            Set<String> emails = new HashSet<>();
+            for (Lead lead : pending) {
+                if (lead.getEmail() != null && !lead.getEmail().isBlank()) {
+                    emails.add(lead.getEmail());
+                }
+            }
+            existing = writer.findExistingEmails(tenantId, emails);
+        }
+
+        List<Lead> accepted = new ArrayList<>(pending.size());
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < pending.size(); i++) {
+            Lead lead = pending.get(i);
+            int rowNumber = pendingRows.get(i);
+            String email = lead.getEmail();
+
+            if (rejectDuplicates && email != null && !email.isBlank()) {
+                if (existing.contains(email)) {
+                    reject(rowNumber, "Email", "Duplicate email already exists", email);
+                    continue;
+                }
+                if (!seen.add(email)) {
+                    reject(rowNumber, "Email", "Duplicate email in file", email);
+                    continue;
+                }
+            }
+            if (!fits(rowNumber, lead)) {
+                continue;
+            }
+            accepted.add(lead);
+        }
+
+        writer.insert(accepted);
+        inserted += accepted.size();
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Column limits of lead_management.leads; one oversized value would otherwise fail the whole chunk
+     */
+    private boolean fits(int rowNumber, Lead lead) {
+        return fits(rowNumber, "First Name", lead.getFirstName(), 100)
+                && fits(rowNumber, "Last Name", lead.getLastName(), 100)
+                && fits(rowNumber, "Email", lead.getEmail(), 255)
+                && fits(rowNumber, "Phone", lead.getPhone(), 20)
+                && fits(rowNumber, "Company", lead.getCompany(), 255)
+                && fits(rowNumber, "Source", lead.getSource(), 100);
+    }
+
+    private boolean fits(int rowNumber, String field, String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return true;
+        }
+        reject(rowNumber, field, field + " must be at most " + maxLength + " characters", value);
+        return false;
+    }
+
+    private void reject(int rowNumber, String field, String error, String value) {
+        errors.add(ImportResultDTO.ImportError.builder()
+                .rowNumber(rowNumber)
+                .field(field)
+                .error(error)
+                .value(value)
+                .build());
+        rejected++;
+    }
+}
@@ -0,0 +1,151 @@
+package com.crm.leadservice.importer;
+
+import com.crm.leadservice.dto.response.ImportResultDTO;
+import com.crm.leadservice.entity.Lead;
+import com.crm.leadservice.service.LeadStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-based persistence for lead imports: one duplicate lookup and one JDBC batch per chunk
+ * instead of a find and a save per row, plus one lead stats update. Runs in the caller's transaction, if any.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeadImportWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO lead_management.leads
+                (id, tenant_id, first_name, last_name, email, phone, company, source, status, priority, notes, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_ERROR_SQL = """
+            INSERT INTO lead_management.excel_import_errors
+                (id, tenant_id, import_id, row_number, field, error, cell_value, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LeadStatsService leadStatsService;
+
+    @Value("${lead-import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    /**
+     * Starts a chunked import for one file
+     *
+     * @param rejectDuplicates reject rows whose email already exists for the tenant or earlier in the chunk
+     */
+    public LeadImportBatch newBatch(UUID tenantId, List<ImportResultDTO.ImportError> errors, boolean rejectDuplicates) {
+        return new LeadImportBatch(this, tenantId, chunkSize, errors, rejectDuplicates);
+    }
+
+    /**
+     * Emails of the given set that already exist for the tenant, in one round trip
+     */
+    public Set<String> findExistingEmails(UUID tenantId, Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        if (emails.isEmpty()) {
+            return existing;
+        }
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT email FROM lead_management.leads WHERE tenant_id = ? AND email = ANY(?)");
+            Array array = con.createArrayOf("text", emails.toArray());
+            ps.setObject(1, tenantId);
+            ps.setArray(2, array);
+            return ps;
+        }, rs -> {
+            existing.add(rs.getString(1));
+        });
+        return existing;
+    }
+
+    /**
+     * Inserts the leads as one JDBC batch; ids and timestamps are assigned here
+     */
+    public void insert(List<Lead> leads) {
+        if (leads.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Lead lead : leads) {
+            lead.setId(UUID.randomUUID());
+            lead.setCreatedAt(now);
+            lead.setUpdatedAt(now);
+        }
+        Timestamp timestamp = Timestamp.valueOf(now);
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Lead lead = leads.get(i);
+                ps.setObject(1, lead.getId());
+                ps.setObject(2, lead.getTenantId());
+                ps.setString(3, lead.getFirstName());
+                ps.setString(4, lead.getLastName());
+                ps.setString(5, lead.getEmail());
+                ps.setString(6, lead.getPhone());
+                ps.setString(7, lead.getCompany());
+                ps.setString(8, lead.getSource());
+                ps.setString(9, lead.getStatus().name());
+                ps.setString(10, lead.getPriority().name());
+                ps.setString(11, lead.getNotes());
+                ps.setTimestamp(12, timestamp);
+                ps.setTimestamp(13, timestamp);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return leads.size();
+            }
+        });
+        leadStatsService.leadsAdded(leads);
+    }
+
+    /**
+     * Stores the row errors of a chunk next to its leads, in the same transaction
+     */
+    public void insertErrors(UUID importId, UUID tenantId, List<ImportResultDTO.ImportError> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_ERROR_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ImportResultDTO.ImportError error = errors.get(i);
+                ps.setObject(1, UUID.randomUUID());
+                ps.setObject(2, tenantId);
+                ps.setObject(3, importId);
+                ps.setInt(4, error.getRowNumber());
+                ps.setString(5, error.getField());
+                ps.setString(6, error.getError());
+                ps.setString(7, error.getValue());
+                ps.setTimestamp(8, now);
+                ps.setTimestamp(9, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return errors.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,211 @@
+package com.crm.leadservice.importer;
+
+import com.crm.leadservice.dto.response.ImportResultDTO;
+import com.crm.leadservice.entity.Lead;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Maps rows of the lead import template (First Name, Last Name, Email, ...) to leads,
+ * collecting per-row errors in the ImportResultDTO shape.
+ */
+@Component
+@Slf4j
+public class LeadRowMapper {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    // Column keys after headerKey(), so "First Name", "first_name" and "firstName" are the same column
+    private static final String FIRST_NAME = "firstname";
+    private static final String LAST_NAME = "lastname";
+    private static final String EMAIL = "email";
+    private static final String PHONE = "phone";
+    private static final String COMPANY = "company";
+    private static final String SOURCE = "source";
+    private static final String STATUS = "status";
+    private static final String PRIORITY = "priority";
+    private static final String NOTES = "notes";
+
+    /**
+     * Validate and map column headers
+     */
+    public Map<String, Integer> mapHeaders(ImportRow headerRow, List<ImportResultDTO.ImportError> errors) {
+        Map<String, Integer> columnIndexMap = new HashMap<>();
+
+        for (int i = 0; i < headerRow.size(); i++) {
+            String headerValue = headerRow.get(i);
+            if (headerValue != null) {
+                columnIndexMap.putIfAbsent(headerKey(headerValue), i);
+            }
+        }
+
+        // Check for required headers
+        if (!columnIndexMap.containsKey(FIRST_NAME)) {
+            errors.add(ImportResultDTO.ImportError.builder()
+                    .rowNumber(1)
+                    .field("Headers")
+                    .error("Required header 'First Name' is missing")
+                    .build());
+        }
+
+        return columnIndexMap;
+    }
+
+    /**
+     * Parse a data row to a Lead entity; null if the row cannot be imported
+     */
+    public Lead toLead(ImportRow row, Map<String, Integer> columnIndexMap, UUID tenantId,
+                       List<ImportResultDTO.ImportError> errors) {
+        int rowNumber = row.getRowNumber();
+        Lead lead = new Lead();
+        lead.setTenantId(tenantId);
+
+        try {
+            // First Name (required)
+            String firstName = row.get(columnIndexMap.get(FIRST_NAME));
+            if (firstName == null || firstName.isBlank()) {
+                errors.add(ImportResultDTO.ImportError.builder()
+                        .rowNumber(rowNumber)
+                        .field("First Name")
+                        .error("First Name is required")
+                        .build());
+                return null;
+            }
+            lead.setFirstName(firstName);
+
+            // Last Name
+            lead.setLastName(row.get(columnIndexMap.get(LAST_NAME)));
+
+            // Email
+            String email = normalizeEmail(row.get(columnIndexMap.get(EMAIL)));
+            if (email != null && !email.isBlank()) {
+                if (!isValidEmail(email)) {
+                    errors.add(ImportResultDTO.ImportError.builder()
+                            .rowNumber(rowNumber)
+                            .field("Email")
+                            .error("Invalid email format")
+                            .value(email)
+                            .build());
+                }
+                lead.setEmail(email);
+            }
+
+            // Phone
+            lead.setPhone(row.get(columnIndexMap.get(PHONE)));
+
+            // Company
+            lead.setCompany(row.get(columnIndexMap.get(COMPANY)));
+
+            // Source
+            lead.setSource(row.get(columnIndexMap.get(SOURCE)));
+
+            // Status
+            String status = row.get(columnIndexMap.get(STATUS));
+            if (status != null && !status.isBlank()) {
+                try {
+                    lead.setStatus(Lead.LeadStatus.valueOf(status.toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    lead.setStatus(Lead.LeadStatus.NEW);
+                    errors.add(ImportResultDTO.ImportError.builder()
+                            .rowNumber(rowNumber)
+                            .field("Status")
+                            .error("Invalid status value, defaulted to NEW")
+                            .value(status)
+                            .build());
+                }
+            } else {
+                lead.setStatus(Lead.LeadStatus.NEW);
+            }
+
+            // Priority
+            String priority = row.get(columnIndexMap.get(PRIORITY));
+            if (priority != null && !priority.isBlank()) {
+                try {
+                    lead.setPriority(Lead.LeadPriority.valueOf(priority.toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    lead.setPriority(Lead.LeadPriority.MEDIUM);
+                    errors.add(ImportResultDTO.ImportError.builder()
+                            .rowNumber(rowNumber)
+                            .field("Priority")
+                            .error("Invalid priority value, defaulted to MEDIUM")
+                            .value(priority)
+                            .build());
+                }
+            } else {
+                lead.setPriority(Lead.LeadPriority.MEDIUM);
+            }
+
+            // Notes
+            lead.setNotes(row.get(columnIndexMap.get(NOTES)));
+
+            return lead;
+
+        } catch (Exception e) {
+            log.error("Error parsing row {}: {}", rowNumber, e.getMessage());
+            errors.add(ImportResultDTO.ImportError.builder()
+                    .rowNumber(rowNumber)
+                    .field("General")
+                    .error("Failed to parse row: " + e.getMessage())
+                    .build());
+            return null;
+        }
+    }
+
+    /**
+     * Canonical form of a column header: lower case letters and digits only
+     */
+    public static String headerKey(String header) {
+        StringBuilder key = new StringBuilder(header.length());
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Unwrap emails pasted as markdown links, e.g. [a@b.com](mailto:a@b.com); other values are returned as is
+     */
+    public static String normalizeEmail(String email) {
+        if (email == null || email.isEmpty() || email.charAt(0) != '[') {
+            return email;
+        }
+        int close = email.indexOf("](");
+        if (close < 0 || email.charAt(email.length() - 1) != ')') {
+            return email;
+        }
+        String text = email.substring(1, close).trim();
+        if (!text.isEmpty()) {
+            return text;
+        }
+        String target = email.substring(close + 2, email.length() - 1).trim();
+        return target.regionMatches(true, 0, "mailto:", 0, 7) ? target.substring(7) : target;
+    }
+
+    /**
+     * Undo the ' that CsvRowWriter puts before a value starting with =, +, - or @, so exported files import
+     * unchanged; other values are returned as is
+     */
+    public static String unescapeFormula(String value) {
+        if (value == null || value.length() < 2 || value.charAt(0) != '\'') {
+            return value;
+        }
+        char next = value.charAt(1);
+        return next == '=' || next == '+' || next == '-' || next == '@' ? value.substring(1) : value;
+    }
+
+    /**
+     * Validate email format
+     */
+    private boolean isValidEmail(String email) {
+        return EMAIL_PATTERN.matcher(email).matches();
+    }
+}
@@ -0,0 +1,226 @@
+package com.crm.leadservice.importer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bounded three-stage pipeline for file imports: parse → transform → sink.
+ *
+ * <p>One reader thread parses the file and cuts it into blocks of rows, worker threads transform blocks
+ * in parallel, and the calling thread hands the results to the sink in file order. At most
+ * {@code blocks-in-flight} blocks exist at a time, so a fast parser waits for a slow sink instead of
+ * buffering the file in memory.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParallelImportPipeline {
+
+    private final TaskDecorator contextPropagatingTaskDecorator;
+
+    @Value("${lead-import.csv.block-size:500}")
+    private int blockSize = 500;
+
+    // 0 = one worker per core
+    @Value("${lead-import.csv.parallelism:0}")
+    private int parallelism;
+
+    // 0 = two blocks per worker
+    @Value("${lead-import.csv.blocks-in-flight:0}")
+    private int blocksInFlight;
+
+    // Files parsed at the same time; further imports wait for a reader thread
+    @Value("${lead-import.csv.readers:4}")
+    private int readers = 4;
+
+    private ThreadPoolTaskExecutor readerPool;
+    private ThreadPoolTaskExecutor workerPool;
+
+    /**
+     * Source of rows, e.g. {@code handler -> CsvRowReader.read(file, handler)}
+     */
+    @FunctionalInterface
+    public interface RowSource {
+        void read(ImportRowHandler handler) throws IOException;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        if (blocksInFlight <= 0) {
+            blocksInFlight = parallelism * 2;
+        }
+        readerPool = newPool("lead-import-reader-", readers);
+        workerPool = newPool("lead-import-worker-", parallelism);
+    }
+
+    @PreDestroy
+    public void stop() {
+        readerPool.shutdown();
+        workerPool.shutdown();
+    }
+
+    private ThreadPoolTaskExecutor newPool(String threadNamePrefix, int threads) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(threads);
+        pool.setMaxPoolSize(threads);
+        pool.setThreadNamePrefix(threadNamePrefix);
+        pool.setTaskDecorator(contextPropagatingTaskDecorator);
+        pool.initialize();
+        return pool;
+    }
+
+    /**
+     * Run a file through the pipeline and return once every row has reached the sink.
+     *
+     * @param source    rows of the file; the first row is the header
+     * @param onHeader  called with the header row before any data row, returns the row transform,
+     *                  or null to stop without reading further; the transform runs on worker threads
+     * @param sink      receives each transformed data row in file order, on the calling thread
+     */
+    public <T> void run(RowSource source, Function<ImportRow, Function<ImportRow, T>> onHeader,
+                        Consumer<T> sink) throws IOException {
+        BlockingQueue<CompletableFuture<List<T>>> inFlight = new ArrayBlockingQueue<>(blocksInFlight);
+        CompletableFuture<List<T>> endOfFile = CompletableFuture.completedFuture(List.of());
+        Reader<T> reader = new Reader<>(onHeader, inFlight);
+
+        CompletableFuture<Void> reading = CompletableFuture.runAsync(() -> {
+            try {
+                source.read(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                reader.submitBlock();
+                reader.put(endOfFile);
+            }
+        }, readerPool);
+
+        boolean ended = false;
+        try {
+            CompletableFuture<List<T>> block;
+            while ((block = next(inFlight, reading)) != endOfFile && block != null) {
+                block.join().forEach(sink);
+            }
+            ended = true;
+            reading.join();
+        } catch (RuntimeException e) {
+            if (!ended) {
+                // Stop the reader and let it run out; blocks still queued are dropped
+                reader.cancelled = true;
+                CompletableFuture<List<T>> block;
+                while ((block = next(inFlight, reading)) != endOfFile && block != null) {
+                    block.cancel(false);
+                }
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw cause instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    /**
+     * Next queued block, or null if the reader stopped without queueing the end marker
+     */
+    private static <T> CompletableFuture<List<T>> next(BlockingQueue<CompletableFuture<List<T>>> inFlight,
+                                                       CompletableFuture<Void> reading) {
+        try {
+            CompletableFuture<List<T>> block;
+            while ((block = inFlight.poll(1, TimeUnit.SECONDS)) == null) {
+                if (reading.isDone() && inFlight.isEmpty()) {
+                    return null;
+                }
+            }
+            return block;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        }
+    }
+
+    /**
+     * Reader-side state of one run: cuts rows into blocks and queues their transforms
+     */
+    private class Reader<T> implements ImportRowHandler {
+
+        private final Function<ImportRow, Function<ImportRow, T>> onHeader;
+        private final BlockingQueue<CompletableFuture<List<T>>> inFlight;
+        private Function<ImportRow, T> transform;
+        private List<ImportRow> block = new ArrayList<>(blockSize);
+        private volatile boolean cancelled;
+
+        Reader(Function<ImportRow, Function<ImportRow, T>> onHeader,
+               BlockingQueue<CompletableFuture<List<T>>> inFlight) {
+            this.onHeader = onHeader;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public boolean handle(ImportRow row) {
+            if (cancelled) {
+                return false;
+            }
+            if (transform == null) {
+                transform = onHeader.apply(row);
+                return transform != null;
+            }
+
+            block.add(row);
+            if (block.size() >= blockSize) {
+                submitBlock();
+            }
+            return !cancelled;
+        }
+
+        void submitBlock() {
+            if (block.isEmpty() || cancelled) {
+                return;
+            }
+            List<ImportRow> rows = block;
+            Function<ImportRow, T> rowTransform = transform;
+            block = new ArrayList<>(blockSize);
+
+            put(CompletableFuture.supplyAsync(() -> {
+                List<T> results = new ArrayList<>(rows.size());
+                for (ImportRow row : rows) {
+                    results.add(rowTransform.apply(row));
+                }
+                return results;
+            }, workerPool));
+        }
+
+        /**
+         * Blocks while the sink is {@code blocks-in-flight} blocks behind
+         */
+        void put(CompletableFuture<List<T>> future) {
+            try {
+                inFlight.put(future);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+                log.warn("Import reader interrupted, stopping");
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.crm.leadservice.importer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.NotOfficeXmlFileException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streams the first sheet of an .xlsx file row by row with POI's XSSF event model.
+ *
+ * <p>Unlike {@code new XSSFWorkbook(stream)}, no cell objects are built: the sheet XML is parsed with SAX
+ * and only the current row is held in memory, plus the shared-strings table. The workbook is opened from
+ * a file so the zip is read by random access instead of being inflated into heap.
+ */
+@Slf4j
+public final class XlsxRowReader {
+
+    private XlsxRowReader() {
+    }
+
+    /**
+     * Spools an upload to a temp file, reads it and deletes the file again
+     */
+    public static void read(MultipartFile file, ImportRowHandler handler) throws IOException {
+        Path spooled = Files.createTempFile("lead-import-", ".xlsx");
+        try {
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            }
+            read(spooled, handler);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    public static void read(Path xlsx, ImportRowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(xlsx.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+
+            RowCollector collector = new RowCollector(handler);
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null,
+                    new ReadOnlySharedStringsTable(pkg, false), collector, new ImportCellFormatter(), false));
+
+            try (InputStream sheet = sheets.next()) {
+                parser.parse(new InputSource(sheet));
+            } catch (StopReading stop) {
+                log.debug("Stopped reading after row {}", stop.rowNumber);
+            }
+        } catch (NotOfficeXmlFileException e) {
+            throw new IOException("Not an .xlsx file", e);
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Unreadable .xlsx file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Buffers the cells of the current row and hands the row over when it ends
+     */
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ImportRowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+        private int nextColumn;
+
+        RowCollector(ImportRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+            nextColumn = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            while (cells.size() <= column) {
+                cells.add(null);
+            }
+            cells.set(column, formattedValue);
+            nextColumn = column + 1;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!handler.handle(new ImportRow(rowNum + 1, cells.toArray(new String[0])))) {
+                throw new StopReading(rowNum + 1);
+            }
+        }
+    }
+
+    /**
+     * Numbers as plain digits (phone numbers must not turn into 9.19877E+11), dates as ISO timestamps
+     */
+    private static final class ImportCellFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            return formatRawCellContents(value, formatIndex, formatString, false);
+        }
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toString();
+            }
+            if (value == Math.floor(value) && !Double.isInfinite(value)) {
+                return String.valueOf((long) value);
+            }
+            return String.valueOf(value);
+        }
+    }
+
+    private static final class StopReading extends RuntimeException {
+
+        private final int rowNumber;
+
+        StopReading(int rowNumber) {
+            super(null, null, false, false);
+            this.rowNumber = rowNumber;
+        }
+    }
+}
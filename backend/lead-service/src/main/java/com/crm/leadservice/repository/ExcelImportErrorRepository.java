@@ -0,0 +1,16 @@
+package com.crm.leadservice.repository;
+
+import com.crm.leadservice.entity.ExcelImportError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ExcelImportErrorRepository extends JpaRepository<ExcelImportError, UUID> {
+
+    // Row errors of an import, in file order
+    Page<ExcelImportError> findByImportIdAndTenantIdOrderByRowNumberAsc(UUID importId, UUID tenantId, Pageable pageable);
+}
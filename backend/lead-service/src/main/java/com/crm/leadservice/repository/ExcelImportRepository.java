@@ -1,12 +1,19 @@
 package com.crm.leadservice.repository;
 
 import com.crm.leadservice.entity.ExcelImport;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -20,4 +27,71 @@ public interface ExcelImportRepository extends JpaRepository<ExcelImport, UUID>
 
     // Find imports by status
     List<ExcelImport> findByTenantIdAndStatusOrderByCreatedAtDesc(UUID tenantId, ExcelImport.ImportStatus status);
+
+    Optional<ExcelImport> findByIdAndTenantId(UUID id, UUID tenantId);
+
+    // Jobs whose worker stopped refreshing the heartbeat (crash, restart); staleness is judged by the database clock
+    @Query(value = """
+        SELECT id FROM lead_management.excel_imports
+        WHERE status = 'PROCESSING'
+        AND (heartbeat_at IS NULL OR heartbeat_at < now() - make_interval(secs => :staleAfterSeconds))
+        ORDER BY created_at
+        """, nativeQuery = true)
+    List<UUID> findStaleImportIds(@Param("staleAfterSeconds") double staleAfterSeconds);
+
+    // Takes a new job or over a stale one under a fresh token; 0 if another worker owns it
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE lead_management.excel_imports SET claim_token = :token, heartbeat_at = now()
+        WHERE id = :id AND status = 'PROCESSING'
+        AND (claim_token IS NULL OR heartbeat_at IS NULL
+             OR heartbeat_at < now() - make_interval(secs => :staleAfterSeconds))
+        """, nativeQuery = true)
+    int claimImport(@Param("id") UUID id,
+                    @Param("token") UUID token,
+                    @Param("staleAfterSeconds") double staleAfterSeconds);
+
+    // 0 once another worker has taken the job over
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE lead_management.excel_imports SET heartbeat_at = now()
+        WHERE id = :id AND claim_token = :token AND status = 'PROCESSING'
+        """, nativeQuery = true)
+    int refreshHeartbeat(@Param("id") UUID id, @Param("token") UUID token);
+
+    // Gives up a claim without finishing the job; the cleared heartbeat makes it stale for every instance at once
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE lead_management.excel_imports SET claim_token = NULL, heartbeat_at = NULL
+        WHERE id = :id AND claim_token = :token AND status = 'PROCESSING'
+        """, nativeQuery = true)
+    int releaseClaim(@Param("id") UUID id, @Param("token") UUID token);
+
+    // Progress of one chunk; 0 if the token no longer owns the job or the chunk does not follow the last one
+    @Modifying
+    @Query(value = """
+        UPDATE lead_management.excel_imports
+        SET total_rows = COALESCE(total_rows, 0) + :rows,
+            successful_rows = COALESCE(successful_rows, 0) + :successful,
+            failed_rows = COALESCE(failed_rows, 0) + :failed,
+            last_committed_row = :lastRow,
+            heartbeat_at = now(),
+            updated_at = now()
+        WHERE id = :id AND claim_token = :token AND last_committed_row = :previousRow
+        """, nativeQuery = true)
+    int commitProgress(@Param("id") UUID id,
+                       @Param("token") UUID token,
+                       @Param("previousRow") int previousRow,
+                       @Param("lastRow") int lastRow,
+                       @Param("rows") int rows,
+                       @Param("successful") int successful,
+                       @Param("failed") int failed);
+
+    // Lock the job while its final status is written
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM ExcelImport e WHERE e.id = :id")
+    Optional<ExcelImport> findByIdForUpdate(@Param("id") UUID id);
 }
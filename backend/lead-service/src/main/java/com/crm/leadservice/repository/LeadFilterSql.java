@@ -0,0 +1,178 @@
+package com.crm.leadservice.repository;
+
+import com.crm.common.exception.BadRequestException;
+import com.crm.leadservice.dto.request.CustomFieldFilter;
+import com.crm.leadservice.dto.request.SearchLeadRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the WHERE clause of lead list queries from search filters, for plain JDBC.
+ *
+ * <p>Only the filters that are set are emitted, so each combination gets its own plan. Custom field
+ * conditions compile to forms Postgres can answer from an index:
+ * <ul>
+ *   <li>EQUALS / IN: JSONB containment ({@code custom_fields @> '{"key": value}'}), served by the GIN
+ *       jsonb_path_ops index</li>
+ *   <li>RANGE / EXISTS: {@link #textExpression} or {@link #numericExpression} of the key, served by the
+ *       per-key expression indexes of hot keys (see CustomFieldIndexManager)</li>
+ * </ul>
+ * Keys are validated and inlined as literals, because an expression index only matches a query whose
+ * expression is identical; values are always bound.
+ */
+public final class LeadFilterSql {
+
+    private static final Pattern KEY = Pattern.compile("[A-Za-z0-9_.\\- ]{1,64}");
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private LeadFilterSql() {
+    }
+
+    /**
+     * WHERE clause (without the keyword) over lead_management.leads; bind values are appended to args
+     *
+     * @param assignee restrict to leads of this user (agents), or null for all
+     */
+    public static String where(UUID tenantId, SearchLeadRequest filters, UUID assignee, List<Object> args) {
+        StringBuilder sql = new StringBuilder("tenant_id = ?");
+        args.add(tenantId);
+
+        if (filters != null) {
+            if (hasSearchQuery(filters)) {
+                sql.append(" AND search_vector @@ plainto_tsquery('english', ?)");
+                args.add(filters.getSearchQuery());
+            }
+            if (filters.getStatus() != null) {
+                sql.append(" AND status = ?");
+                args.add(filters.getStatus().name());
+            }
+            if (filters.getPriority() != null) {
+                sql.append(" AND priority = ?");
+                args.add(filters.getPriority().name());
+            }
+            if (filters.getSource() != null && !filters.getSource().isBlank()) {
+                sql.append(" AND source = ?");
+                args.add(filters.getSource());
+            }
+            if (filters.getAssigned() != null) {
+                sql.append(filters.getAssigned() ? " AND current_assignee IS NOT NULL" : " AND current_assignee IS NULL");
+            }
+            if (filters.getCustomFields() != null) {
+                for (CustomFieldFilter filter : filters.getCustomFields()) {
+                    sql.append(" AND ").append(customField(filter, args));
+                }
+            }
+        }
+        if (assignee != null) {
+            sql.append(" AND current_assignee = ?");
+            args.add(assignee);
+        }
+        return sql.toString();
+    }
+
+    public static boolean hasSearchQuery(SearchLeadRequest filters) {
+        return filters != null && filters.getSearchQuery() != null && !filters.getSearchQuery().isBlank();
+    }
+
+    public static boolean hasCustomFieldFilters(SearchLeadRequest filters) {
+        return filters != null && filters.getCustomFields() != null && !filters.getCustomFields().isEmpty();
+    }
+
+    /**
+     * The key's value as text; JSON null and missing keys are NULL
+     */
+    public static String textExpression(String key) {
+        return "(custom_fields ->> " + literal(key) + ")";
+    }
+
+    /**
+     * The key's value as numeric when it is a JSON number, otherwise NULL (never a cast error)
+     */
+    public static String numericExpression(String key) {
+        return "lead_management.jsonb_numeric(custom_fields -> " + literal(key) + ")";
+    }
+
+    private static String customField(CustomFieldFilter filter, List<Object> args) {
+        String key = filter.getKey();
+        if (filter.getOperator() == null) {
+            throw new BadRequestException("Custom field operator is required");
+        }
+        switch (filter.getOperator()) {
+            case EQUALS -> {
+                args.add(containment(key, scalar(filter.getValue(), key)));
+                return "custom_fields @> CAST(? AS jsonb)";
+            }
+            case IN -> {
+                List<Object> values = filter.getValues();
+                if (values == null || values.isEmpty()) {
+                    throw new BadRequestException("IN filter on custom field '" + key + "' needs values");
+                }
+                StringBuilder any = new StringBuilder("(");
+                for (Object value : values) {
+                    any.append(any.length() > 1 ? " OR " : "").append("custom_fields @> CAST(? AS jsonb)");
+                    args.add(containment(key, scalar(value, key)));
+                }
+                return any.append(")").toString();
+            }
+            case RANGE -> {
+                return range(key, filter.getFrom(), filter.getTo(), args);
+            }
+            case EXISTS -> {
+                return textExpression(key) + " IS NOT NULL";
+            }
+            default -> throw new BadRequestException("Unsupported custom field operator: " + filter.getOperator());
+        }
+    }
+
+    private static String range(String key, Object from, Object to, List<Object> args) {
+        if (from == null && to == null) {
+            throw new BadRequestException("RANGE filter on custom field '" + key + "' needs from or to");
+        }
+        boolean numeric = (from == null || from instanceof Number) && (to == null || to instanceof Number);
+        boolean text = (from == null || from instanceof String) && (to == null || to instanceof String);
+        if (!numeric && !text) {
+            throw new BadRequestException("RANGE bounds on custom field '" + key + "' must both be numbers or both strings");
+        }
+
+        String expression = numeric ? numericExpression(key) : textExpression(key);
+        StringBuilder sql = new StringBuilder();
+        if (from != null) {
+            sql.append(expression).append(" >= ?");
+            args.add(numeric ? new BigDecimal(from.toString()) : from);
+        }
+        if (to != null) {
+            sql.append(from != null ? " AND " : "").append(expression).append(" <= ?");
+            args.add(numeric ? new BigDecimal(to.toString()) : to);
+        }
+        return "(" + sql + ")";
+    }
+
+    private static Object scalar(Object value, String key) {
+        if (value == null || value instanceof Map || value instanceof List) {
+            throw new BadRequestException("Custom field '" + key + "' can only be compared with a string, number or boolean");
+        }
+        return value;
+    }
+
+    private static String containment(String key, Object value) {
+        try {
+            return JSON.writeValueAsString(Collections.singletonMap(key, value));
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid value for custom field '" + key + "'");
+        }
+    }
+
+    private static String literal(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            throw new BadRequestException("Invalid custom field key: " + key);
+        }
+        return "'" + key + "'";
+    }
+}
@@ -15,6 +15,9 @@ public interface LeadHistoryRepository extends JpaRepository<LeadHistory, UUID>
     // Find history for a specific lead
     List<LeadHistory> findByLeadIdOrderByTimestampDesc(UUID leadId);
 
+    // Find history for a specific lead, oldest first (for rebuilding snapshots)
+    List<LeadHistory> findByLeadIdAndTenantIdOrderByTimestampAsc(UUID leadId, UUID tenantId);
+
     // Find history for a specific lead with pagination
     Page<LeadHistory> findByLeadIdOrderByTimestampDesc(UUID leadId, Pageable pageable);
 
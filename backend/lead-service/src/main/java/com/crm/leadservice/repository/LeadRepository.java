@@ -1,9 +1,12 @@
 package com.crm.leadservice.repository;
 
 import com.crm.leadservice.entity.Lead;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,7 +16,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface LeadRepository extends JpaRepository<Lead, UUID> {
+public interface LeadRepository extends JpaRepository<Lead, UUID>, LeadRepositoryCustom {
 
     // Find by tenant
     Page<Lead> findByTenantId(UUID tenantId, Pageable pageable);
@@ -27,27 +30,63 @@ public interface LeadRepository extends JpaRepository<Lead, UUID> {
     // Find by email
     Optional<Lead> findByTenantIdAndEmail(UUID tenantId, String email);
 
-    // Full-text search
+    // Full-text search with filters, best matches first; null filters are ignored
     @Query(value = """
-        SELECT * FROM lead_management.leads
-        WHERE tenant_id = :tenantId
-        AND to_tsvector('english', COALESCE(first_name, '') || ' ' ||
-            COALESCE(last_name, '') || ' ' ||
-            COALESCE(company, '') || ' ' ||
-            COALESCE(email, ''))
-        @@ plainto_tsquery('english', :searchQuery)
-        """, nativeQuery = true)
-    List<Lead> searchLeads(@Param("tenantId") UUID tenantId, @Param("searchQuery") String searchQuery);
+        SELECT l.* FROM lead_management.leads l, plainto_tsquery('english', :searchQuery) q
+        WHERE l.tenant_id = :tenantId
+        AND l.search_vector @@ q
+        AND (CAST(:status AS text) IS NULL OR l.status = CAST(:status AS text))
+        AND (CAST(:priority AS text) IS NULL OR l.priority = CAST(:priority AS text))
+        AND (CAST(:source AS text) IS NULL OR l.source = CAST(:source AS text))
+        AND (CAST(:assignee AS uuid) IS NULL OR l.current_assignee = CAST(:assignee AS uuid))
+        AND (CAST(:assigned AS boolean) IS NULL OR (l.current_assignee IS NOT NULL) = CAST(:assigned AS boolean))
+        ORDER BY ts_rank(l.search_vector, q) DESC, l.created_at DESC, l.id
+        """,
+        countQuery = """
+        SELECT count(*) FROM lead_management.leads l
+        WHERE l.tenant_id = :tenantId
+        AND l.search_vector @@ plainto_tsquery('english', :searchQuery)
+        AND (CAST(:status AS text) IS NULL OR l.status = CAST(:status AS text))
+        AND (CAST(:priority AS text) IS NULL OR l.priority = CAST(:priority AS text))
+        AND (CAST(:source AS text) IS NULL OR l.source = CAST(:source AS text))
+        AND (CAST(:assignee AS uuid) IS NULL OR l.current_assignee = CAST(:assignee AS uuid))
+        AND (CAST(:assigned AS boolean) IS NULL OR (l.current_assignee IS NOT NULL) = CAST(:assigned AS boolean))
+        """,
+        nativeQuery = true)
+    Page<Lead> searchLeads(@Param("tenantId") UUID tenantId,
+                           @Param("searchQuery") String searchQuery,
+                           @Param("status") String status,
+                           @Param("priority") String priority,
+                           @Param("source") String source,
+                           @Param("assignee") UUID assignee,
+                           @Param("assigned") Boolean assigned,
+                           Pageable pageable);
+
+    // Filtered listing; null filters are ignored
+    @Query("""
+        SELECT l FROM Lead l
+        WHERE l.tenantId = :tenantId
+        AND (:status IS NULL OR l.status = :status)
+        AND (:priority IS NULL OR l.priority = :priority)
+        AND (:source IS NULL OR l.source = :source)
+        AND (:assignee IS NULL OR l.currentAssignee = :assignee)
+        AND (:assigned IS NULL
+            OR (:assigned = true AND l.currentAssignee IS NOT NULL)
+            OR (:assigned = false AND l.currentAssignee IS NULL))
+        """)
+    Page<Lead> filterLeads(@Param("tenantId") UUID tenantId,
+                           @Param("status") Lead.LeadStatus status,
+                           @Param("priority") Lead.LeadPriority priority,
+                           @Param("source") String source,
+                           @Param("assignee") UUID assignee,
+                           @Param("assigned") Boolean assigned,
+                           Pageable pageable);
 
     // Find leads assigned to specific user
     @Query("""
         SELECT l FROM Lead l
         WHERE l.tenantId = :tenantId
-        AND l.id IN (
-            SELECT la.leadId FROM LeadAssignment la
-            WHERE la.assignedTo = :userId
-            AND la.isCurrent = true
-        )
+        AND l.currentAssignee = :userId
         """)
     Page<Lead> findAssignedLeads(@Param("tenantId") UUID tenantId,
                                   @Param("userId") UUID userId,
@@ -61,10 +100,20 @@ public interface LeadRepository extends JpaRepository<Lead, UUID> {
     @Query("""
         SELECT l FROM Lead l
         WHERE l.tenantId = :tenantId
-        AND l.id NOT IN (
-            SELECT la.leadId FROM LeadAssignment la
-            WHERE la.isCurrent = true
-        )
+        AND l.currentAssignee IS NULL
         """)
     Page<Lead> findUnassignedLeads(@Param("tenantId") UUID tenantId, Pageable pageable);
+
+    // Count assigned leads for a tenant
+    long countByTenantIdAndCurrentAssigneeIsNotNull(UUID tenantId);
+
+    // Lock a lead while its assignment changes, so concurrent assignments of one lead run one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Lead l WHERE l.id = :leadId AND l.tenantId = :tenantId")
+    Optional<Lead> findByIdAndTenantIdForUpdate(@Param("leadId") UUID leadId, @Param("tenantId") UUID tenantId);
+
+    // Set the denormalised current assignee; null when unassigned
+    @Modifying
+    @Query("UPDATE Lead l SET l.currentAssignee = :assignee WHERE l.id = :leadId")
+    int updateCurrentAssignee(@Param("leadId") UUID leadId, @Param("assignee") UUID assignee);
 }
@@ -0,0 +1,22 @@
+package com.crm.leadservice.repository;
+
+import com.crm.leadservice.dto.request.SearchLeadRequest;
+import com.crm.leadservice.entity.Lead;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+/**
+ * Lead queries whose SQL depends on the filters given, see {@link LeadFilterSql}
+ */
+public interface LeadRepositoryCustom {
+
+    /**
+     * Leads matching all filters, custom field conditions included; best matches first when there is a
+     * search query, otherwise newest first
+     *
+     * @param assignee restrict to leads of this user (agents), or null for all
+     */
+    Page<Lead> findByFilters(UUID tenantId, SearchLeadRequest filters, UUID assignee, Pageable pageable);
+}
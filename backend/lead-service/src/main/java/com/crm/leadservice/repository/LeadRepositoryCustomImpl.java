@@ -0,0 +1,74 @@
+package com.crm.leadservice.repository;
+
+import com.crm.leadservice.dto.request.SearchLeadRequest;
+import com.crm.leadservice.entity.Lead;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Pages over lead ids with plain SQL, so the filters can use the custom field indexes, then loads the
+ * page's leads by id
+ */
+@RequiredArgsConstructor
+public class LeadRepositoryCustomImpl implements LeadRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Lead> findByFilters(UUID tenantId, SearchLeadRequest filters, UUID assignee, Pageable pageable) {
+        List<Object> args = new ArrayList<>();
+        String where = LeadFilterSql.where(tenantId, filters, assignee, args);
+
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM lead_management.leads WHERE " + where, Long.class, args.toArray());
+        if (total == null || total == 0 || pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total != null ? total : 0);
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT id FROM lead_management.leads WHERE ").append(where);
+        List<Object> pageArgs = new ArrayList<>(args);
+        if (LeadFilterSql.hasSearchQuery(filters)) {
+            sql.append(" ORDER BY ts_rank(search_vector, plainto_tsquery('english', ?)) DESC, created_at DESC, id");
+            pageArgs.add(filters.getSearchQuery());
+        } else {
+            sql.append(" ORDER BY created_at DESC, id");
+        }
+        sql.append(" LIMIT ? OFFSET ?");
+        pageArgs.add(pageable.getPageSize());
+        pageArgs.add(pageable.getOffset());
+
+        List<UUID> ids = jdbcTemplate.queryForList(sql.toString(), UUID.class, pageArgs.toArray());
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        Map<UUID, Lead> byId = new HashMap<>();
+        for (Lead lead : entityManager.createQuery("SELECT l FROM Lead l WHERE l.id IN :ids", Lead.class)
+                .setParameter("ids", ids)
+                .getResultList()) {
+            byId.put(lead.getId(), lead);
+        }
+        List<Lead> leads = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Lead lead = byId.get(id);
+            if (lead != null) {
+                leads.add(lead);
+            }
+        }
+        return new PageImpl<>(leads, pageable, total);
+    }
+}
@@ -0,0 +1,19 @@
+package com.crm.leadservice.repository;
+
+import com.crm.leadservice.entity.LeadRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface LeadRuleRepository extends JpaRepository<LeadRule, UUID> {
+
+    List<LeadRule> findByTenantIdOrderByCreatedAtAsc(UUID tenantId);
+
+    Optional<LeadRule> findByIdAndTenantId(UUID id, UUID tenantId);
+
+    List<LeadRule> findByEnabledTrue();
+}
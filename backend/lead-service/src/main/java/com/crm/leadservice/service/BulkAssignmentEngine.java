@@ -0,0 +1,227 @@
+package com.crm.leadservice.service;
+
+import com.crm.leadservice.dto.response.LeadAssignmentDTO;
+import com.crm.leadservice.entity.Lead;
+import com.crm.leadservice.entity.LeadAssignment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Set-based bulk assignment: the whole distribution is computed in memory, then applied with one
+ * lock query, one UPDATE closing old assignments, one JDBC batch of new assignments and one UPDATE
+ * of leads.current_assignee, whatever the number of leads.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkAssignmentEngine {
+
+    private static final String INSERT_ASSIGNMENT_SQL = """
+            INSERT INTO lead_management.lead_assignments
+                (id, tenant_id, lead_id, assigned_to, assigned_by, assignment_type, assigned_at, is_current, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, true, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LeadStatsService leadStatsService;
+    private final LeadHistoryService leadHistoryService;
+
+    /**
+     * Assign leads to one user; leads already assigned to that user are left alone
+     */
+    @Transactional
+    public List<LeadAssignmentDTO> assignTo(List<UUID> leadIds, UUID assignedTo, UUID tenantId, UUID assignedBy,
+                                            LeadAssignment.AssignmentType assignmentType) {
+        List<Lead> leads = lockLeads(tenantId, leadIds);
+        Map<UUID, UUID> targets = new LinkedHashMap<>();
+        for (Lead lead : leads) {
+            if (!assignedTo.equals(lead.getCurrentAssignee())) {
+                targets.put(lead.getId(), assignedTo);
+            }
+        }
+        return apply(tenantId, assignedBy, assignmentType, leads, targets);
+    }
+
+    /**
+     * Spread leads over agents, always giving the next lead to the agent with the fewest current leads
+     *
+     * @param currentLoad current assignments per agent; agents missing from the map start at zero
+     */
+    @Transactional
+    public List<LeadAssignmentDTO> distribute(List<UUID> leadIds, List<UUID> agentIds, Map<UUID, Long> currentLoad,
+                                              UUID tenantId, UUID assignedBy) {
+        List<Lead> leads = lockLeads(tenantId, leadIds);
+
+        Map<UUID, long[]> loads = new LinkedHashMap<>();
+        for (UUID agentId : agentIds) {
+            loads.putIfAbsent(agentId, new long[]{currentLoad.getOrDefault(agentId, 0L)});
+        }
+        // Leads being redistributed no longer count against their current agent
+        for (Lead lead : leads) {
+            long[] load = loads.get(lead.getCurrentAssignee());
+            if (load != null && load[0] > 0) {
+                load[0]--;
+            }
+        }
+
+        // Min-heap on (load, agent order), so ties keep the caller's agent order
+        List<UUID> agents = new ArrayList<>(loads.keySet());
+        PriorityQueue<long[]> heap = new PriorityQueue<>(Math.max(1, agents.size()),
+                Comparator.<long[]>comparingLong(entry -> entry[0]).thenComparingLong(entry -> entry[1]));
+        for (int i = 0; i < agents.size(); i++) {
+            heap.add(new long[]{loads.get(agents.get(i))[0], i});
+        }
+
+        Map<UUID, UUID> targets = new LinkedHashMap<>();
+        for (Lead lead : leads) {
+            long[] next = heap.poll();
+            UUID agentId = agents.get((int) next[1]);
+            if (!agentId.equals(lead.getCurrentAssignee())) {
+                targets.put(lead.getId(), agentId);
+            }
+            next[0]++;
+            heap.add(next);
+        }
+        return apply(tenantId, assignedBy, LeadAssignment.AssignmentType.AUTO, leads, targets);
+    }
+
+    /**
+     * Lock the requested leads in id order, so concurrent bulk runs cannot deadlock; unknown ids are dropped
+     * and the request order is kept
+     */
+    private List<Lead> lockLeads(UUID tenantId, List<UUID> leadIds) {
+        Map<UUID, Lead> found = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    SELECT id, status, priority, current_assignee FROM lead_management.leads
+                    WHERE tenant_id = ? AND id = ANY(?)
+                    ORDER BY id
+                    FOR UPDATE
+                    """);
+            ps.setObject(1, tenantId);
+            ps.setArray(2, con.createArrayOf("uuid", leadIds.toArray()));
+            return ps;
+        }, rs -> {
+            Lead lead = new Lead();
+            lead.setId(rs.getObject(1, UUID.class));
+            lead.setTenantId(tenantId);
+            lead.setStatus(Lead.LeadStatus.valueOf(rs.getString(2)));
+            lead.setPriority(Lead.LeadPriority.valueOf(rs.getString(3)));
+            lead.setCurrentAssignee(rs.getObject(4, UUID.class));
+            found.put(lead.getId(), lead);
+        });
+
+        List<Lead> leads = new ArrayList<>(found.size());
+        for (UUID leadId : new LinkedHashSet<>(leadIds)) {
+            Lead lead = found.get(leadId);
+            if (lead != null) {
+                leads.add(lead);
+            }
+        }
+        if (leads.size() < leadIds.size()) {
+            log.warn("Bulk assignment skipped {} unknown or duplicate lead ids", leadIds.size() - leads.size());
+        }
+        return leads;
+    }
+
+    /**
+     * Write the computed assignments: close, insert, denormalise, count and record history
+     */
+    private List<LeadAssignmentDTO> apply(UUID tenantId, UUID assignedBy, LeadAssignment.AssignmentType assignmentType,
+                                          List<Lead> leads, Map<UUID, UUID> targets) {
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        UUID[] changedIds = targets.keySet().toArray(new UUID[0]);
+        UUID[] assignees = targets.values().toArray(new UUID[0]);
+
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    UPDATE lead_management.lead_assignments SET is_current = false, updated_at = ?
+                    WHERE tenant_id = ? AND lead_id = ANY(?) AND is_current = true
+                    """);
+            ps.setTimestamp(1, timestamp);
+            ps.setObject(2, tenantId);
+            ps.setArray(3, con.createArrayOf("uuid", changedIds));
+            return ps;
+        });
+
+        List<LeadAssignmentDTO> assignments = new ArrayList<>(targets.size());
+        for (Map.Entry<UUID, UUID> target : targets.entrySet()) {
+            assignments.add(LeadAssignmentDTO.builder()
+                    .id(UUID.randomUUID())
+                    .leadId(target.getKey())
+                    .assignedTo(target.getValue())
+                    .assignedBy(assignedBy)
+                    .assignmentType(assignmentType)
+                    .assignedAt(now)
+                    .isCurrent(true)
+                    .build());
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ASSIGNMENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                LeadAssignmentDTO assignment = assignments.get(i);
+                ps.setObject(1, assignment.getId());
+                ps.setObject(2, tenantId);
+                ps.setObject(3, assignment.getLeadId());
+                ps.setObject(4, assignment.getAssignedTo());
+                ps.setObject(5, assignedBy);
+                ps.setString(6, assignmentType.name());
+                ps.setTimestamp(7, timestamp);
+                ps.setTimestamp(8, timestamp);
+                ps.setTimestamp(9, timestamp);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return assignments.size();
+            }
+        });
+
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    UPDATE lead_management.leads l SET current_assignee = t.assignee
+                    FROM unnest(?, ?) AS t(lead_id, assignee)
+                    WHERE l.id = t.lead_id
+                    """);
+            Array ids = con.createArrayOf("uuid", changedIds);
+            Array to = con.createArrayOf("uuid", assignees);
+            ps.setArray(1, ids);
+            ps.setArray(2, to);
+            return ps;
+        });
+
+        List<Lead> newlyAssigned = new ArrayList<>();
+        for (Lead lead : leads) {
+            UUID assignee = targets.get(lead.getId());
+            if (assignee == null) {
+                continue;
+            }
+            if (lead.getCurrentAssignee() == null) {
+                newlyAssigned.add(lead);
+            }
+            leadHistoryService.record(tenantId, lead.getId(), "ASSIGNED", assignedBy,
+                    Collections.singletonMap("assignedTo", lead.getCurrentAssignee() != null ? lead.getCurrentAssignee().toString() : null),
+                    Collections.singletonMap("assignedTo", assignee.toString()));
+        }
+        leadStatsService.assignmentsChanged(newlyAssigned, 1);
+
+        log.info("Bulk assignment wrote {} assignments for tenant {}", assignments.size(), tenantId);
+        return assignments;
+    }
+}
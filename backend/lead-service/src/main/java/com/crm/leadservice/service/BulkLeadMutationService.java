@@ -0,0 +1,238 @@
+package com.crm.leadservice.service;
+
+import com.crm.common.exception.BadRequestException;
+import com.crm.leadservice.dto.request.BulkLeadRequest;
+import com.crm.leadservice.dto.response.BulkLeadResultDTO;
+import com.crm.leadservice.dto.response.BulkLeadResultDTO.Outcome;
+import com.crm.leadservice.entity.Lead;
+import com.crm.leadservice.repository.LeadFilterSql;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Set-based bulk update and delete of leads selected by id or by search filters.
+ *
+ * <p>Each request is one statement: a CTE locks the selected leads in id order (as BulkAssignmentEngine
+ * does, so concurrent bulk runs cannot deadlock), then a single UPDATE or DELETE ... RETURNING applies the
+ * change and reports the old values. Counters and history are then updated from the returned rows in one
+ * call each, instead of per lead.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkLeadMutationService {
+
+    // %s: the selection; rows already holding the requested values are locked but not written
+    private static final String UPDATE_SQL = """
+            WITH target AS (
+                SELECT id, status, priority, source, current_assignee,
+                       COALESCE(CAST(? AS varchar), status) AS new_status,
+                       COALESCE(CAST(? AS varchar), priority) AS new_priority,
+                       COALESCE(CAST(? AS varchar), source) AS new_source
+                FROM lead_management.leads
+                WHERE %s
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE
+            ), updated AS (
+                UPDATE lead_management.leads l
+                SET status = t.new_status, priority = t.new_priority, source = t.new_source, updated_at = ?
+                FROM target t
+                WHERE l.id = t.id
+                AND (t.status, t.priority, t.source) IS DISTINCT FROM (t.new_status, t.new_priority, t.new_source)
+                RETURNING l.id
+            )
+            SELECT t.id, t.status, t.priority, t.source, t.current_assignee,
+                   t.new_status, t.new_priority, t.new_source, u.id IS NOT NULL
+            FROM target t LEFT JOIN updated u ON u.id = t.id
+            """;
+
+    private static final String DELETE_SQL = """
+            WITH target AS (
+                SELECT id FROM lead_management.leads
+                WHERE %s
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE
+            )
+            DELETE FROM lead_management.leads l
+            USING target t
+            WHERE l.id = t.id
+            RETURNING l.id, l.status, l.priority, l.current_assignee
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LeadStatsService leadStatsService;
+    private final LeadHistoryService leadHistoryService;
+
+    @Value("${lead-bulk.max-leads:100000}")
+    private int maxLeads = 100_000;
+
+    /**
+     * Apply a bulk update or delete; all or nothing
+     *
+     * @param assignee restrict to leads of this user (agents), or null for all
+     */
+    @Transactional
+    public BulkLeadResultDTO apply(BulkLeadRequest request, UUID tenantId, UUID userId, UUID assignee) {
+        boolean byIds = request.getLeadIds() != null && !request.getLeadIds().isEmpty();
+        if (byIds == (request.getFilter() != null)) {
+            throw new BadRequestException("Specify either lead IDs or a filter");
+        }
+        if (request.getAction() == BulkLeadRequest.Action.UPDATE
+                && request.getStatus() == null && request.getPriority() == null && request.getSource() == null) {
+            throw new BadRequestException("Nothing to update: set status, priority or source");
+        }
+
+        List<Object> selectionArgs = new ArrayList<>();
+        String selection;
+        if (byIds) {
+            UUID[] ids = new LinkedHashSet<>(request.getLeadIds()).toArray(new UUID[0]);
+            if (ids.length > maxLeads) {
+                throw new BadRequestException("At most " + maxLeads + " leads can be changed at once");
+            }
+            selection = "tenant_id = ? AND id = ANY(?)" + (assignee != null ? " AND current_assignee = ?" : "");
+            selectionArgs.add(tenantId);
+            selectionArgs.add(ids);
+            if (assignee != null) {
+                selectionArgs.add(assignee);
+            }
+        } else {
+            selection = LeadFilterSql.where(tenantId, request.getFilter(), assignee, selectionArgs);
+        }
+
+        long start = System.currentTimeMillis();
+        Map<UUID, Outcome> found = request.getAction() == BulkLeadRequest.Action.DELETE
+                ? delete(tenantId, selection, selectionArgs)
+                : update(request, tenantId, userId, selection, selectionArgs);
+
+        Map<UUID, Outcome> outcomes = found;
+        if (byIds) {
+            outcomes = new LinkedHashMap<>();
+            for (UUID leadId : request.getLeadIds()) {
+                outcomes.put(leadId, found.getOrDefault(leadId, Outcome.NOT_FOUND));
+            }
+        }
+        Map<Outcome, Integer> summary = new EnumMap<>(Outcome.class);
+        outcomes.values().forEach(outcome -> summary.merge(outcome, 1, Integer::sum));
+
+        log.info("Bulk {} of tenant {} by {}: {} in {} ms",
+                request.getAction(), tenantId, userId, summary, System.currentTimeMillis() - start);
+        return BulkLeadResultDTO.builder()
+                .summary(summary)
+                .outcomes(outcomes)
+                .build();
+    }
+
+    private Map<UUID, Outcome> update(BulkLeadRequest request, UUID tenantId, UUID userId,
+                                      String selection, List<Object> selectionArgs) {
+        List<Object> args = new ArrayList<>(selectionArgs.size() + 5);
+        args.add(request.getStatus() != null ? request.getStatus().name() : null);
+        args.add(request.getPriority() != null ? request.getPriority().name() : null);
+        args.add(request.getSource());
+        args.addAll(selectionArgs);
+        args.add(maxLeads + 1);
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+
+        Map<UUID, Outcome> outcomes = new LinkedHashMap<>();
+        List<Lead> before = new ArrayList<>();
+        List<Lead> after = new ArrayList<>();
+        List<LeadHistoryService.Change> changes = new ArrayList<>();
+
+        query(UPDATE_SQL.formatted(selection), args, rs -> {
+            UUID leadId = rs.getObject(1, UUID.class);
+            if (!rs.getBoolean(9)) {
+                outcomes.put(leadId, Outcome.UNCHANGED);
+                return;
+            }
+            UUID currentAssignee = rs.getObject(5, UUID.class);
+            Lead oldLead = lead(tenantId, leadId, rs.getString(2), rs.getString(3), rs.getString(4), currentAssignee);
+            Lead newLead = lead(tenantId, leadId, rs.getString(6), rs.getString(7), rs.getString(8), currentAssignee);
+            before.add(oldLead);
+            after.add(newLead);
+            changes.add(new LeadHistoryService.Change(leadId, convertToMap(oldLead), convertToMap(newLead)));
+            outcomes.put(leadId, Outcome.UPDATED);
+        });
+        checkLimit(outcomes.size());
+
+        leadStatsService.leadsChanged(before, after);
+        leadHistoryService.recordAll(tenantId, "UPDATED", userId, changes);
+        return outcomes;
+    }
+
+    private Map<UUID, Outcome> delete(UUID tenantId, String selection, List<Object> selectionArgs) {
+        List<Object> args = new ArrayList<>(selectionArgs);
+        args.add(maxLeads + 1);
+
+        Map<UUID, Outcome> outcomes = new LinkedHashMap<>();
+        List<Lead> deleted = new ArrayList<>();
+        query(DELETE_SQL.formatted(selection), args, rs -> {
+            Lead lead = lead(tenantId, rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3), null,
+                    rs.getObject(4, UUID.class));
+            deleted.add(lead);
+            outcomes.put(lead.getId(), Outcome.DELETED);
+        });
+        checkLimit(outcomes.size());
+
+        // No DELETED history: history rows are removed with their lead (ON DELETE CASCADE)
+        leadStatsService.leadsRemoved(deleted);
+        return outcomes;
+    }
+
+    /**
+     * The statements select one lead more than allowed; finding it rolls the whole change back
+     */
+    private void checkLimit(int matched) {
+        if (matched > maxLeads) {
+            throw new BadRequestException("The filter matches more than " + maxLeads + " leads; narrow it down");
+        }
+    }
+
+    private void query(String sql, List<Object> args, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            for (int i = 0; i < args.size(); i++) {
+                Object arg = args.get(i);
+                if (arg instanceof UUID[] ids) {
+                    ps.setArray(i + 1, con.createArrayOf("uuid", ids));
+                } else {
+                    ps.setObject(i + 1, arg);
+                }
+            }
+            return ps;
+        }, handler);
+    }
+
+    private static Lead lead(UUID tenantId, UUID leadId, String status, String priority, String source,
+                             UUID currentAssignee) {
+        Lead lead = new Lead();
+        lead.setId(leadId);
+        lead.setTenantId(tenantId);
+        lead.setStatus(Lead.LeadStatus.valueOf(status));
+        lead.setPriority(Lead.LeadPriority.valueOf(priority));
+        lead.setSource(source);
+        lead.setCurrentAssignee(currentAssignee);
+        return lead;
+    }
+
+    /**
+     * The fields a bulk update can change, keyed like LeadService's history snapshots
+     */
+    private static Map<String, Object> convertToMap(Lead lead) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("source", lead.getSource());
+        map.put("status", lead.getStatus());
+        map.put("priority", lead.getPriority());
+        return map;
+    }
+}
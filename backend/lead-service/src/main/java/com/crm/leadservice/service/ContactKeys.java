@@ -0,0 +1,76 @@
+package com.crm.leadservice.service;
+
+import java.util.Locale;
+
+/**
+ * Canonical forms of lead contact details used as lookup keys: E.164 phone numbers and lower-cased emails.
+ */
+public final class ContactKeys {
+
+    private static final int MIN_DIGITS = 7;
+    private static final int MAX_DIGITS = 15;
+
+    private ContactKeys() {
+    }
+
+    /**
+     * E.164 form of a phone number as typed, e.g. "(555) 010-2030" → "+15550102030" for country code 1.
+     * International numbers keep their own code ("+44 20 ...", "0044 20 ..."), national numbers get the default
+     * country code with a leading trunk 0 dropped, and anything after the digits ("x12", "ext. 4") is ignored.
+     *
+     * @return the normalised number, or null if the input does not look like a phone number
+     */
+    public static String phone(String raw, String defaultCountryCode) {
+        if (raw == null) {
+            return null;
+        }
+        // "+44 (0)20 ...": the bracketed trunk prefix is not dialled internationally
+        String text = raw.replace("(0)", "");
+        StringBuilder digits = new StringBuilder(16);
+        boolean plus = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c == '+' && digits.length() == 0) {
+                plus = true;
+            } else if (Character.isLetter(c)) {
+                // Extension
+                break;
+            }
+        }
+
+        String number;
+        if (plus) {
+            number = digits.toString();
+        } else if (digits.indexOf("00") == 0) {
+            number = digits.substring(2);
+        } else if ("1".equals(defaultCountryCode) && digits.indexOf("011") == 0) {
+            number = digits.substring(3);
+        } else if (digits.indexOf("0") == 0) {
+            number = defaultCountryCode + digits.substring(1);
+        } else if (digits.indexOf(defaultCountryCode) == 0
+                && digits.length() - defaultCountryCode.length() >= 10) {
+            // National number written with its country code but without '+'
+            number = digits.toString();
+        } else {
+            number = defaultCountryCode + digits;
+        }
+
+        if (number.length() < MIN_DIGITS || number.length() > MAX_DIGITS || number.charAt(0) == '0') {
+            return null;
+        }
+        return "+" + number;
+    }
+
+    /**
+     * Trimmed, lower-cased email, or null if blank
+     */
+    public static String email(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String email = raw.trim();
+        return email.isEmpty() ? null : email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,145 @@
+package com.crm.leadservice.service;
+
+import com.crm.leadservice.repository.LeadFilterSql;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Expression indexes for hot custom field keys, so RANGE and EXISTS filters on them use a btree.
+ *
+ * <p>Keys are configured as {@code lead-custom-fields.indexed-keys}, e.g. {@code region,score:numeric};
+ * a plain key is indexed as text, {@code :numeric} as a number. Indexes are created CONCURRENTLY once the
+ * application is ready, so writes continue while they build; an index left invalid by an interrupted
+ * build is dropped and built again. Removing a key from the list does not drop its index.
+ *
+ * <p>Instances starting together take a per-index advisory lock around the check, drop and create, so one
+ * instance never drops an index another is still building. The lock is held on its own idle connection and
+ * polled with pg_try_advisory_lock: a session blocked in pg_advisory_lock holds a snapshot, which the other
+ * instance's CREATE INDEX CONCURRENTLY would wait for.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomFieldIndexManager {
+
+    private static final int MAX_IDENTIFIER_LENGTH = 63;
+    private static final long LOCK_RETRY_MS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${lead-custom-fields.indexed-keys:}")
+    private List<String> indexedKeys = List.of();
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        for (String entry : indexedKeys) {
+            if (entry == null || entry.isBlank()) {
+                continue;
+            }
+            String trimmed = entry.trim();
+            boolean numeric = trimmed.endsWith(":numeric");
+            String key = numeric ? trimmed.substring(0, trimmed.length() - ":numeric".length()) : trimmed;
+            try {
+                createIndex(key, numeric);
+            } catch (RuntimeException e) {
+                log.error("Failed to index custom field '{}': {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private void createIndex(String key, boolean numeric) {
+        String expression = numeric ? LeadFilterSql.numericExpression(key) : LeadFilterSql.textExpression(key);
+        String name = indexName(key, numeric);
+        String lockKey = "lead_management." + name;
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) lockConnection -> {
+            lock(lockConnection, lockKey);
+            try {
+                buildIndex(name, expression);
+            } finally {
+                try (PreparedStatement ps = lockConnection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))")) {
+                    ps.setString(1, lockKey);
+                    ps.execute();
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void lock(Connection connection, String lockKey) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))")) {
+            ps.setString(1, lockKey);
+            while (true) {
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        return;
+                    }
+                }
+                log.info("Waiting for another instance to finish index {}", lockKey);
+                try {
+                    Thread.sleep(LOCK_RETRY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the lock on " + lockKey, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs on pooled connections other than the one holding the lock, in auto-commit
+     */
+    private void buildIndex(String name, String expression) {
+        Boolean valid = jdbcTemplate.query("""
+                SELECT i.indisvalid FROM pg_index i
+                JOIN pg_class c ON c.oid = i.indexrelid
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = 'lead_management' AND c.relname = ?
+                """, rs -> rs.next() ? rs.getBoolean(1) : null, name);
+        if (Boolean.TRUE.equals(valid)) {
+            return;
+        }
+        if (Boolean.FALSE.equals(valid)) {
+            log.warn("Rebuilding invalid custom field index {}", name);
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS lead_management." + name);
+        }
+
+        long start = System.currentTimeMillis();
+        // CONCURRENTLY cannot run in a transaction; JdbcTemplate outside one runs in auto-commit
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name
+                + " ON lead_management.leads (tenant_id, " + expression + ")"
+                + " WHERE " + expression + " IS NOT NULL");
+        log.info("Created custom field index {} in {} ms", name, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * idx_leads_cf_&lt;key&gt;[_num] within Postgres' identifier limit; keys that are not plain lower-case
+     * identifiers get a hash so that e.g. "Region" and "region" do not share a name
+     */
+    private static String indexName(String key, boolean numeric) {
+        String suffix = numeric ? "_num" : "";
+        String sanitized = key.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_]", "_");
+        String base = "idx_leads_cf_" + sanitized;
+        int maxBase = MAX_IDENTIFIER_LENGTH - suffix.length();
+        if (!sanitized.equals(key) || base.length() > maxBase) {
+            String hash = Integer.toHexString(key.hashCode());
+            base = base.substring(0, Math.min(base.length(), maxBase - hash.length() - 1)) + "_" + hash;
+        }
+        return base + suffix;
+    }
+}
@@ -7,9 +7,7 @@ import com.crm.leadservice.dto.request.BulkAssignRequest;
 import com.crm.leadservice.dto.response.LeadAssignmentDTO;
 import com.crm.leadservice.entity.Lead;
 import com.crm.leadservice.entity.LeadAssignment;
-import com.crm.leadservice.entity.LeadHistory;
 import com.crm.leadservice.repository.LeadAssignmentRepository;
-import com.crm.leadservice.repository.LeadHistoryRepository;
 import com.crm.leadservice.repository.LeadRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,7 +25,9 @@ public class LeadAssignmentService {
 
     private final LeadRepository leadRepository;
     private final LeadAssignmentRepository assignmentRepository;
-    private final LeadHistoryRepository historyRepository;
+    private final LeadHistoryService leadHistoryService;
+    private final LeadStatsService leadStatsService;
+    private final BulkAssignmentEngine bulkAssignmentEngine;
 
     /**
      * Assign a lead to a user
@@ -35,9 +35,8 @@ public class LeadAssignmentService {
     public LeadAssignmentDTO assignLead(UUID leadId, AssignLeadRequest request, UUID tenantId, UUID assignedBy) {
         log.info("Assigning lead {} to user {}", leadId, request.getAssignedTo());
 
-        // Verify lead exists
-        Lead lead = leadRepository.findById(leadId)
-                .filter(l -> l.getTenantId().equals(tenantId))
+        // Verify lead exists; the row lock serialises concurrent assignments of this lead
+        Lead lead = leadRepository.findByIdAndTenantIdForUpdate(leadId, tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Lead not found"));
 
         // Check if already assigned
@@ -64,6 +63,10 @@ public class LeadAssignmentService {
         assignment.setIsCurrent(true);
 
         assignment = assignmentRepository.save(assignment);
+        leadRepository.updateCurrentAssignee(leadId, request.getAssignedTo());
+        if (existingAssignment.isEmpty()) {
+            leadStatsService.assignmentChanged(lead, 1);
+        }
 
         // Record history
         recordAssignmentHistory(leadId, "ASSIGNED", assignedBy,
@@ -90,6 +93,9 @@ public class LeadAssignmentService {
     public void unassignLead(UUID leadId, UUID tenantId, UUID unassignedBy) {
         log.info("Unassigning lead {}", leadId);
 
+        Lead lead = leadRepository.findByIdAndTenantIdForUpdate(leadId, tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lead not found"));
+
         LeadAssignment assignment = assignmentRepository.findByLeadIdAndIsCurrentTrue(leadId)
                 .orElseThrow(() -> new ResourceNotFoundException("No current assignment found for this lead"));
 
@@ -101,6 +107,8 @@ public class LeadAssignmentService {
 
         assignment.setIsCurrent(false);
         assignmentRepository.save(assignment);
+        leadRepository.updateCurrentAssignee(leadId, null);
+        leadStatsService.assignmentChanged(lead, -1);
 
         // Record history
         recordAssignmentHistory(leadId, "UNASSIGNED", unassignedBy, previousAssignee, null, tenantId);
@@ -109,29 +117,19 @@ public class LeadAssignmentService {
     }
 
     /**
-     * Bulk assign leads (auto or manual)
+     * Bulk assign leads (auto or manual); the whole batch is written set-based by {@link BulkAssignmentEngine}
      */
     public List<LeadAssignmentDTO> bulkAssignLeads(BulkAssignRequest request, UUID tenantId, UUID assignedBy, List<UUID> availableAgentIds) {
         log.info("Bulk assigning {} leads", request.getLeadIds().size());
 
-        List<LeadAssignmentDTO> assignments = new ArrayList<>();
+        List<LeadAssignmentDTO> assignments;
 
         if (request.getAssignedTo() != null) {
             // Manual assignment to specific user
-            for (UUID leadId : request.getLeadIds()) {
-                AssignLeadRequest assignRequest = new AssignLeadRequest();
-                assignRequest.setAssignedTo(request.getAssignedTo());
-                assignRequest.setAssignmentType(LeadAssignment.AssignmentType.MANUAL);
-
-                try {
-                    LeadAssignmentDTO assignment = assignLead(leadId, assignRequest, tenantId, assignedBy);
-                    assignments.add(assignment);
-                } catch (Exception e) {
-                    log.error("Failed to assign lead {}: {}", leadId, e.getMessage());
-                }
-            }
+            assignments = bulkAssignmentEngine.assignTo(request.getLeadIds(), request.getAssignedTo(),
+                    tenantId, assignedBy, LeadAssignment.AssignmentType.MANUAL);
         } else {
-            // Auto assignment using round-robin
+            // Auto assignment to the least loaded agents
             assignments = autoAssignLeads(request.getLeadIds(), tenantId, assignedBy, availableAgentIds);
         }
 
@@ -140,61 +138,26 @@ public class LeadAssignmentService {
     }
 
     /**
-     * Auto-assign leads using round-robin algorithm
+     * Auto-assign leads, each to the agent with the fewest current leads at that point
      */
     private List<LeadAssignmentDTO> autoAssignLeads(List<UUID> leadIds, UUID tenantId, UUID assignedBy, List<UUID> agentIds) {
-        log.info("Auto-assigning {} leads to {} agents", leadIds.size(), agentIds.size());
-
         if (agentIds == null || agentIds.isEmpty()) {
             throw new BadRequestException("No agents available for auto-assignment");
         }
-
-        List<LeadAssignmentDTO> assignments = new ArrayList<>();
+        log.info("Auto-assigning {} leads to {} agents", leadIds.size(), agentIds.size());
 
         // Get current assignment counts for load balancing
+        Set<UUID> agents = new HashSet<>(agentIds);
         Map<UUID, Long> assignmentCounts = new HashMap<>();
         List<Object[]> counts = assignmentRepository.countAssignmentsByUser(tenantId);
         for (Object[] row : counts) {
             UUID userId = (UUID) row[0];
-            Long count = ((Number) row[1]).longValue();
-            if (agentIds.contains(userId)) {
-                assignmentCounts.put(userId, count);
+            if (agents.contains(userId)) {
+                assignmentCounts.put(userId, ((Number) row[1]).longValue());
             }
         }
 
-        // Initialize counts for agents with no assignments
-        for (UUID agentId : agentIds) {
-            assignmentCounts.putIfAbsent(agentId, 0L);
-        }
-
-        // Sort agents by assignment count (ascending)
-        List<UUID> sortedAgents = new ArrayList<>(assignmentCounts.keySet());
-        sortedAgents.sort(Comparator.comparing(assignmentCounts::get));
-
-        // Round-robin assignment
-        int agentIndex = 0;
-        for (UUID leadId : leadIds) {
-            try {
-                UUID assignedTo = sortedAgents.get(agentIndex % sortedAgents.size());
-
-                AssignLeadRequest assignRequest = new AssignLeadRequest();
-                assignRequest.setAssignedTo(assignedTo);
-                assignRequest.setAssignmentType(LeadAssignment.AssignmentType.AUTO);
-
-                LeadAssignmentDTO assignment = assignLead(leadId, assignRequest, tenantId, assignedBy);
-                assignments.add(assignment);
-
-                // Update count for load balancing
-                assignmentCounts.put(assignedTo, assignmentCounts.get(assignedTo) + 1);
-                sortedAgents.sort(Comparator.comparing(assignmentCounts::get));
-
-                agentIndex++;
-            } catch (Exception e) {
-                log.error("Failed to auto-assign lead {}: {}", leadId, e.getMessage());
-            }
-        }
-
-        return assignments;
+        return bulkAssignmentEngine.distribute(leadIds, agentIds, assignmentCounts, tenantId, assignedBy);
     }
 
     /**
@@ -239,19 +202,9 @@ public class LeadAssignmentService {
      */
     private void recordAssignmentHistory(UUID leadId, String action, UUID performedBy,
                                          UUID oldAssignee, UUID newAssignee, UUID tenantId) {
-        Map<String, Object> oldValue = oldAssignee != null ? Map.of("assignedTo", oldAssignee.toString()) : null;
-        Map<String, Object> newValue = newAssignee != null ? Map.of("assignedTo", newAssignee.toString()) : null;
-
-        LeadHistory history = new LeadHistory();
-        history.setTenantId(tenantId);
-        history.setLeadId(leadId);
-        history.setAction(action);
-        history.setPerformedBy(performedBy);
-        history.setOldValue(oldValue);
-        history.setNewValue(newValue);
-        history.setTimestamp(LocalDateTime.now());
-
-        historyRepository.save(history);
+        leadHistoryService.record(tenantId, leadId, action, performedBy,
+                Collections.singletonMap("assignedTo", oldAssignee != null ? oldAssignee.toString() : null),
+                Collections.singletonMap("assignedTo", newAssignee != null ? newAssignee.toString() : null));
     }
 
     /**
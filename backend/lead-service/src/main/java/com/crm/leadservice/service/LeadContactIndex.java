@@ -0,0 +1,119 @@
+package com.crm.leadservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Lookup from normalised phone number and email to lead ids, per tenant.
+ *
+ * <p>Backed by the expression indexes of V11 rather than an in-process copy, so every instance sees every
+ * write at once and nothing has to be kept in memory. Each requested value is expanded to the stored forms
+ * that can normalise to it, matched through the index, and the candidates are then checked on their
+ * normalised form.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeadContactIndex {
+
+    // %s: indexed expression, as declared in V11
+    private static final String FIND_SQL = """
+            SELECT id, %1$s FROM lead_management.leads
+            WHERE tenant_id = ? AND %2$s = ANY(?)
+            ORDER BY created_at DESC
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${lead-lookup.default-country-code:1}")
+    private String defaultCountryCode = "1";
+
+    /**
+     * Normalised phone of a lead's raw phone, as used for lookups
+     */
+    public String phoneKey(String phone) {
+        return ContactKeys.phone(phone, defaultCountryCode);
+    }
+
+    /**
+     * Leads per requested phone number, newest first; numbers without a lead are left out
+     */
+    public Map<String, List<UUID>> findByPhones(UUID tenantId, Collection<String> phones) {
+        return find(tenantId, phones, this::phoneKey, this::phoneDigits,
+                "phone", "lead_management.phone_digits(phone)");
+    }
+
+    /**
+     * Leads per requested email, newest first; emails without a lead are left out
+     */
+    public Map<String, List<UUID>> findByEmails(UUID tenantId, Collection<String> emails) {
+        return find(tenantId, emails, ContactKeys::email, List::of, "email", "lower(btrim(email))");
+    }
+
+    private Map<String, List<UUID>> find(UUID tenantId, Collection<String> values, Function<String, String> normalize,
+                                         Function<String, Collection<String>> storedForms,
+                                         String column, String indexed) {
+        Map<String, List<UUID>> result = new LinkedHashMap<>();
+        if (values == null || values.isEmpty()) {
+            return result;
+        }
+        Map<String, List<String>> valuesByKey = new HashMap<>();
+        Set<String> candidates = new HashSet<>();
+        for (String value : values) {
+            String key = normalize.apply(value);
+            if (key != null) {
+                valuesByKey.computeIfAbsent(key, k -> new ArrayList<>(1)).add(value);
+                candidates.addAll(storedForms.apply(key));
+            }
+        }
+        if (candidates.isEmpty()) {
+            return result;
+        }
+
+        Map<String, List<UUID>> leadsByKey = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FIND_SQL.formatted(column, indexed));
+            ps.setObject(1, tenantId);
+            ps.setArray(2, con.createArrayOf("text", candidates.toArray()));
+            return ps;
+        }, rs -> {
+            String key = normalize.apply(rs.getString(2));
+            if (key != null && valuesByKey.containsKey(key)) {
+                leadsByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(rs.getObject(1, UUID.class));
+            }
+        });
+
+        valuesByKey.forEach((key, requested) -> {
+            List<UUID> leadIds = leadsByKey.get(key);
+            if (leadIds != null) {
+                for (String value : requested) {
+                    result.put(value, List.copyOf(leadIds));
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * The digit strings (phone_digits) of the ways a number can be written that normalise to this key:
+     * with its country code, after 00 or 011, and, for the default country, nationally with or without trunk 0
+     */
+    private Collection<String> phoneDigits(String key) {
+        String digits = key.substring(1);
+        List<String> forms = new ArrayList<>(5);
+        forms.add(digits);
+        forms.add("00" + digits);
+        forms.add("011" + digits);
+        if (digits.startsWith(defaultCountryCode)) {
+            String national = digits.substring(defaultCountryCode.length());
+            forms.add(national);
+            forms.add("0" + national);
+        }
+        return forms;
+    }
+}
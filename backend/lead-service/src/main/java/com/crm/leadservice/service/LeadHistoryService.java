@@ -0,0 +1,385 @@
+package com.crm.leadservice.service;
+
+import com.crm.leadservice.dto.response.LeadHistoryDTO;
+import com.crm.leadservice.entity.LeadHistory;
+import com.crm.leadservice.repository.LeadHistoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lead audit trail.
+ *
+ * <p>Updates store only the fields that changed, with their old and new values. Snapshots are rebuilt
+ * backwards from the lead's current row, so leads created or changed by paths that write no CREATED
+ * entry (imports, bulk updates, rules) still show complete snapshots. Entries are buffered once the
+ * recording transaction commits and inserted in JDBC batches off the request path. A batch that fails
+ * on a transient database error is kept and retried with exponential backoff; one rejected by the
+ * database is written entry by entry so only the offending entries are dropped. Every insert commits in
+ * its own transaction: a request that overflows the buffer drains it from its commit hook, where the
+ * request's connection is still bound but its transaction is already over. Entries still in the
+ * buffer when the process dies, or offered while the buffer is full and the database unavailable,
+ * are lost; the lead change itself is not.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeadHistoryService {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO lead_management.lead_history
+                (id, tenant_id, lead_id, action, performed_by, old_value, new_value, timestamp, created_at, updated_at)
+            SELECT ?, ?, ?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), ?, ?, ?
+            WHERE EXISTS (SELECT 1 FROM lead_management.leads WHERE id = ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LeadHistoryRepository historyRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${lead-history.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${lead-history.buffer-capacity:20000}")
+    private int bufferCapacity = 20_000;
+
+    @Value("${lead-history.retry-backoff-ms:1000}")
+    private long retryBackoffMs = 1_000;
+
+    @Value("${lead-history.max-retry-backoff-ms:60000}")
+    private long maxRetryBackoffMs = 60_000;
+
+    private BlockingQueue<LeadHistory> buffer;
+    private TransactionTemplate insertTransaction;
+
+    // Guarded by this: the batch that failed last, consecutive failures, and when to retry
+    private List<LeadHistory> failedBatch;
+    private int failures;
+    private long retryAt;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    @PostConstruct
+    void createBuffer() {
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        insertTransaction = new TransactionTemplate(transactionManager);
+        insertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Record a lead change; old and new are full snapshots and only the fields that differ are kept.
+     * A change without differences records nothing.
+     */
+    public void record(UUID tenantId, UUID leadId, String action, UUID performedBy,
+                       Map<String, Object> oldValue, Map<String, Object> newValue) {
+        LeadHistory history = entry(tenantId, leadId, action, performedBy, oldValue, newValue);
+        if (history != null) {
+            enqueueAfterCommit(List.of(history));
+        }
+    }
+
+    /**
+     * Record the same action on many leads, e.g. a bulk update, with a single commit hook
+     */
+    public void recordAll(UUID tenantId, String action, UUID performedBy, Collection<Change> changes) {
+        List<LeadHistory> entries = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            LeadHistory history = entry(tenantId, change.leadId(), action, performedBy,
+                    change.oldValue(), change.newValue());
+            if (history != null) {
+                entries.add(history);
+            }
+        }
+        if (!entries.isEmpty()) {
+            enqueueAfterCommit(entries);
+        }
+    }
+
+    public record Change(UUID leadId, Map<String, Object> oldValue, Map<String, Object> newValue) {
+    }
+
+    private LeadHistory entry(UUID tenantId, UUID leadId, String action, UUID performedBy,
+                              Map<String, Object> oldValue, Map<String, Object> newValue) {
+        LeadHistory history = new LeadHistory();
+        history.setId(UUID.randomUUID());
+        history.setTenantId(tenantId);
+        history.setLeadId(leadId);
+        history.setAction(action);
+        history.setPerformedBy(performedBy);
+        history.setTimestamp(LocalDateTime.now());
+
+        if (oldValue != null && newValue != null) {
+            Map<String, Object> changedFrom = new LinkedHashMap<>();
+            Map<String, Object> changedTo = new LinkedHashMap<>();
+            Set<String> fields = new LinkedHashSet<>(oldValue.keySet());
+            fields.addAll(newValue.keySet());
+            for (String field : fields) {
+                if (!Objects.equals(oldValue.get(field), newValue.get(field))) {
+                    changedFrom.put(field, oldValue.get(field));
+                    changedTo.put(field, newValue.get(field));
+                }
+            }
+            if (changedTo.isEmpty()) {
+                return null;
+            }
+            history.setOldValue(changedFrom);
+            history.setNewValue(changedTo);
+        } else {
+            history.setOldValue(withoutNulls(oldValue));
+            history.setNewValue(withoutNulls(newValue));
+        }
+        return history;
+    }
+
+    private void enqueueAfterCommit(List<LeadHistory> entries) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.forEach(LeadHistoryService.this::enqueue);
+                }
+            });
+        } else {
+            entries.forEach(this::enqueue);
+        }
+    }
+
+    /**
+     * History of a lead, newest first.
+     *
+     * @param snapshots return the full lead before and after each entry instead of the stored diff
+     * @param current   the lead's current fields, keyed like the recorded snapshots; replay starts from them
+     */
+    @Transactional(readOnly = true)
+    public List<LeadHistoryDTO> getHistory(UUID leadId, UUID tenantId, boolean snapshots,
+                                           Map<String, Object> current) {
+        List<LeadHistory> history = historyRepository.findByLeadIdAndTenantIdOrderByTimestampAsc(leadId, tenantId);
+        List<LeadHistoryDTO> result = new ArrayList<>(history.size());
+        for (LeadHistory entry : history) {
+            result.add(convertToDTO(entry));
+        }
+        Collections.reverse(result);
+
+        if (snapshots) {
+            // Walk back from the current row, undoing each entry's diff
+            Map<String, Object> state = current != null ? withoutNulls(toJsonMap(current)) : new LinkedHashMap<>();
+            for (LeadHistoryDTO dto : result) {
+                Map<String, Object> changedFrom = dto.getOldValue();
+                Map<String, Object> changedTo = dto.getNewValue();
+                dto.setNewValue(state.isEmpty() ? null : new LinkedHashMap<>(state));
+                if ("CREATED".equals(dto.getAction())) {
+                    state.clear();
+                } else {
+                    Set<String> fields = new LinkedHashSet<>();
+                    if (changedTo != null) {
+                        fields.addAll(changedTo.keySet());
+                    }
+                    if (changedFrom != null) {
+                        fields.addAll(changedFrom.keySet());
+                    }
+                    for (String field : fields) {
+                        Object value = changedFrom != null ? changedFrom.get(field) : null;
+                        if (value != null) {
+                            state.put(field, value);
+                        } else {
+                            state.remove(field);
+                        }
+                    }
+                }
+                dto.setOldValue(state.isEmpty() ? null : new LinkedHashMap<>(state));
+            }
+        }
+        return result;
+    }
+
+    private void enqueue(LeadHistory history) {
+        while (!buffer.offer(history)) {
+            // Buffer full: the writer falls behind, so this thread helps drain it
+            if (!drain()) {
+                dropped.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Write buffered entries in batches
+     */
+    @Scheduled(fixedDelayString = "${lead-history.flush-interval-ms:1000}")
+    public void flush() {
+        drain();
+    }
+
+    /**
+     * Write buffered entries in batches, retrying a failed batch first
+     *
+     * @return whether the buffer could be drained; false while backing off after a failure
+     */
+    private synchronized boolean drain() {
+        if (failedBatch != null) {
+            if (System.currentTimeMillis() < retryAt || !write(failedBatch)) {
+                return false;
+            }
+            failedBatch = null;
+        }
+        List<LeadHistory> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            if (!write(batch)) {
+                failedBatch = batch;
+                return false;
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            log.error("Dropped {} lead history entries offered while the buffer was full", lost);
+        }
+        return true;
+    }
+
+    /**
+     * Insert one batch; false if it should be retried later
+     */
+    private boolean write(List<LeadHistory> batch) {
+        try {
+            insert(batch);
+        } catch (TransientDataAccessException | RecoverableDataAccessException
+                 | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+            failures++;
+            long backoff = Math.min(maxRetryBackoffMs, retryBackoffMs << Math.min(failures - 1, 20));
+            retryAt = System.currentTimeMillis() + backoff;
+            log.warn("Failed to write {} lead history entries ({} failures in a row), retrying in {} ms: {}",
+                    batch.size(), failures, backoff, e.getMessage());
+            return false;
+        } catch (RuntimeException e) {
+            // Rejected by the database, not unavailable: isolate the offending entries
+            log.warn("Lead history batch of {} rejected, writing it entry by entry: {}", batch.size(), e.getMessage());
+            for (LeadHistory history : batch) {
+                try {
+                    insert(List.of(history));
+                } catch (RuntimeException entryFailure) {
+                    log.error("Dropped lead history entry {} of lead {}: {}",
+                            history.getId(), history.getLeadId(), entryFailure.getMessage());
+                }
+            }
+        }
+        failures = 0;
+        return true;
+    }
+
+    @PreDestroy
+    synchronized void flushOnShutdown() {
+        retryAt = 0;
+        if (!drain()) {
+            log.error("Lead history not written on shutdown: {} buffered entries lost",
+                    buffer.size() + (failedBatch != null ? failedBatch.size() : 0));
+        }
+    }
+
+    /**
+     * One JDBC batch in a new transaction; entries of leads deleted in the meantime are skipped
+     */
+    private void insert(List<LeadHistory> batch) {
+        insertTransaction.executeWithoutResult(status -> insertBatch(batch));
+    }
+
+    private void insertBatch(List<LeadHistory> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                LeadHistory history = batch.get(i);
+                ps.setObject(1, history.getId());
+                ps.setObject(2, history.getTenantId());
+                ps.setObject(3, history.getLeadId());
+                ps.setString(4, history.getAction());
+                ps.setObject(5, history.getPerformedBy());
+                ps.setString(6, toJson(history.getOldValue()));
+                ps.setString(7, toJson(history.getNewValue()));
+                ps.setTimestamp(8, Timestamp.valueOf(history.getTimestamp()));
+                ps.setTimestamp(9, now);
+                ps.setTimestamp(10, now);
+                ps.setObject(11, history.getLeadId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+    }
+
+    private String toJson(Map<String, Object> value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Lead history value is not serializable", e);
+        }
+    }
+
+    /**
+     * The map as stored in a jsonb column, e.g. enums and dates as strings
+     */
+    private Map<String, Object> toJsonMap(Map<String, Object> value) {
+        return objectMapper.convertValue(value, new TypeReference<Map<String, Object>>() {
+        });
+    }
+
+    private static Map<String, Object> withoutNulls(Map<String, Object> value) {
+        if (value == null) {
+            return null;
+        }
+        Map<String, Object> compact = new LinkedHashMap<>();
+        value.forEach((field, fieldValue) -> {
+            if (fieldValue != null) {
+                compact.put(field, fieldValue);
+            }
+        });
+        return compact;
+    }
+
+    private LeadHistoryDTO convertToDTO(LeadHistory history) {
+        return LeadHistoryDTO.builder()
+                .id(history.getId())
+                .leadId(history.getLeadId())
+                .action(history.getAction())
+                .performedBy(history.getPerformedBy())
+                .oldValue(history.getOldValue())
+                .newValue(history.getNewValue())
+                .timestamp(history.getTimestamp())
+                .build();
+    }
+}
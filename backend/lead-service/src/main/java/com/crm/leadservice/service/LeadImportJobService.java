@@ -0,0 +1,350 @@
+package com.crm.leadservice.service;
+
+import com.crm.common.util.TenantContext;
+import com.crm.leadservice.dto.response.ImportResultDTO;
+import com.crm.leadservice.entity.ExcelImport;
+import com.crm.leadservice.entity.Lead;
+import com.crm.leadservice.importer.ImportFileStore;
+import com.crm.leadservice.importer.ImportRow;
+import com.crm.leadservice.importer.ImportRowHandler;
+import com.crm.leadservice.importer.LeadImportBatch;
+import com.crm.leadservice.importer.LeadImportWriter;
+import com.crm.leadservice.importer.LeadRowMapper;
+import com.crm.leadservice.importer.XlsxRowReader;
+import com.crm.leadservice.repository.ExcelImportRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs lead imports in the background.
+ *
+ * <p>The uploaded file is streamed and committed in chunks: leads, row errors and the progress on the
+ * ExcelImport row go into one transaction per chunk. A job that dies with its worker keeps status
+ * PROCESSING; once its heartbeat is stale, any instance claims it and resumes after the last committed row.
+ *
+ * <p>Every claim writes a new token to the job. A chunk only commits while its worker still holds the token
+ * and the chunk follows the last committed row, otherwise it rolls back. A worker that merely looked stale
+ * (long GC pause, busy scheduler) therefore stops at its next chunk instead of importing alongside the new
+ * owner. Heartbeats and staleness use the database clock.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeadImportJobService {
+
+    private final ExcelImportRepository importRepository;
+    private final LeadImportWriter leadImportWriter;
+    private final LeadRowMapper leadRowMapper;
+    private final ImportFileStore importFileStore;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskDecorator contextPropagatingTaskDecorator;
+
+    @Value("${lead-import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${lead-import.workers:2}")
+    private int workers = 2;
+
+    @Value("${lead-import.stale-after-ms:300000}")
+    private long staleAfterMs = 300_000;
+
+    // Jobs queued or running on this instance, with their claim token
+    private final Map<UUID, UUID> localJobs = new ConcurrentHashMap<>();
+
+    // Dedicated pool, not a bean: an Executor bean would replace Boot's applicationTaskExecutor
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void startWorkers() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("lead-import-");
+        executor.setTaskDecorator(contextPropagatingTaskDecorator);
+        // Committed chunks survive; an interrupted job is resumed by the next instance that sees it stale
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void stopWorkers() {
+        executor.shutdown();
+    }
+
+    /**
+     * Claim an import whose file is already stored and queue it; a no-op if another worker owns it
+     */
+    public void submit(UUID importId) {
+        UUID token = UUID.randomUUID();
+        if (localJobs.putIfAbsent(importId, token) != null) {
+            return;
+        }
+        if (importRepository.claimImport(importId, token, staleAfterMs / 1000.0) != 1) {
+            localJobs.remove(importId);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(importId, token);
+                } finally {
+                    localJobs.remove(importId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            localJobs.remove(importId);
+            log.warn("Import {} could not be queued, it will be picked up once stale: {}", importId, e.getMessage());
+        }
+    }
+
+    /**
+     * Keep local jobs owned and take over jobs whose worker went away
+     */
+    @Scheduled(initialDelayString = "${lead-import.recovery-interval-ms:60000}",
+            fixedDelayString = "${lead-import.recovery-interval-ms:60000}")
+    public void recoverStaleImports() {
+        localJobs.forEach((importId, token) -> {
+            if (importRepository.refreshHeartbeat(importId, token) == 0) {
+                log.warn("Import {} was taken over by another worker; this run stops at its next chunk", importId);
+            }
+        });
+
+        for (UUID importId : importRepository.findStaleImportIds(staleAfterMs / 1000.0)) {
+            if (!localJobs.containsKey(importId)) {
+                log.info("Resuming stale import {}", importId);
+                submit(importId);
+            }
+        }
+    }
+
+    /**
+     * Process an import from its last committed row to the end of the file
+     */
+    private void run(UUID importId, UUID token) {
+        ExcelImport importRecord = importRepository.findById(importId).orElse(null);
+        if (importRecord == null || importRecord.getStatus() != ExcelImport.ImportStatus.PROCESSING
+                || !token.equals(importRecord.getClaimToken())) {
+            return;
+        }
+        TenantContext.runAsTenant(importRecord.getTenantId(), () -> process(importRecord, token));
+    }
+
+    private void process(ExcelImport importRecord, UUID token) {
+        ImportJob job = new ImportJob(importRecord, token);
+        log.info("Import {} started after row {}", job.importId, job.resumeAfter);
+
+        try {
+            Path file = importFileStore.resolve(importRecord.getS3Key());
+            if (!Files.exists(file)) {
+                // Stored on another instance's disk: leave the job for the instance that has the file
+                log.warn("Import {} file {} is not on this instance; releasing the job", job.importId, file);
+                importRepository.releaseClaim(job.importId, token);
+                return;
+            }
+
+            XlsxRowReader.read(file, job);
+
+            if (job.columnIndexMap == null) {
+                job.rejectHeader("Excel file has no headers");
+            } else if (job.headerRejected) {
+                job.finish(ExcelImport.ImportStatus.FAILED);
+            } else {
+                job.commitChunk();
+                job.finish(null);
+            }
+        } catch (OwnershipLostException e) {
+            log.warn("Import {} stopped: {}", job.importId, e.getMessage());
+        } catch (IOException e) {
+            log.error("Error reading Excel file for import {}: {}", job.importId, e.getMessage());
+            job.fail("Failed to read Excel file: " + e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Import {} failed", job.importId, e);
+            job.fail("Import failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * State of one run of an import; everything durable lives on the ExcelImport row
+     */
+    private class ImportJob implements ImportRowHandler {
+
+        private final UUID importId;
+        private final UUID token;
+        private final UUID tenantId;
+        private final String storageKey;
+        private final int resumeAfter;
+        private int committedThrough;
+        private final List<ImportRow> pending = new ArrayList<>();
+        private final List<ImportResultDTO.ImportError> headerErrors = new ArrayList<>();
+        private Map<String, Integer> columnIndexMap;
+        private boolean headerRejected;
+
+        ImportJob(ExcelImport importRecord, UUID token) {
+            this.importId = importRecord.getId();
+            this.token = token;
+            this.tenantId = importRecord.getTenantId();
+            this.storageKey = importRecord.getS3Key();
+            this.resumeAfter = importRecord.getLastCommittedRow() != null ? importRecord.getLastCommittedRow() : 0;
+            this.committedThrough = resumeAfter;
+        }
+
+        @Override
+        public boolean handle(ImportRow row) {
+            if (columnIndexMap == null) {
+                if (row.getRowNumber() != 1) {
+                    return false;
+                }
+                columnIndexMap = leadRowMapper.mapHeaders(row, headerErrors);
+                headerRejected = !headerErrors.isEmpty();
+                return !headerRejected;
+            }
+
+            if (row.getRowNumber() <= resumeAfter || row.isEmpty()) {
+                return true;
+            }
+
+            pending.add(row);
+            if (pending.size() >= chunkSize) {
+                commitChunk();
+            }
+            return true;
+        }
+
+        /**
+         * Leads, row errors and progress of the pending rows in one transaction; rolled back if the job is
+         * no longer ours
+         */
+        void commitChunk() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            int lastRow = pending.get(pending.size() - 1).getRowNumber();
+
+            transactionTemplate.executeWithoutResult(status -> {
+                List<ImportResultDTO.ImportError> errors = new ArrayList<>();
+                LeadImportBatch batch = leadImportWriter.newBatch(tenantId, errors, true);
+                int failed = 0;
+
+                for (ImportRow row : pending) {
+                    Lead lead = leadRowMapper.toLead(row, columnIndexMap, tenantId, errors);
+                    if (lead != null) {
+                        batch.add(row.getRowNumber(), lead);
+                    } else {
+                        failed++;
+                    }
+                }
+                batch.flush();
+                failed += batch.getRejected();
+
+                errors.sort(Comparator.comparing(ImportResultDTO.ImportError::getRowNumber));
+                leadImportWriter.insertErrors(importId, tenantId, errors);
+
+                if (importRepository.commitProgress(importId, token, committedThrough, lastRow,
+                        pending.size(), batch.getInserted(), failed) != 1) {
+                    throw new OwnershipLostException("taken over by another worker before row " + lastRow);
+                }
+            });
+
+            log.debug("Import {} committed through row {}", importId, lastRow);
+            committedThrough = lastRow;
+            pending.clear();
+        }
+
+        void rejectHeader(String error) {
+            headerErrors.add(ImportResultDTO.ImportError.builder()
+                    .rowNumber(1)
+                    .field("Headers")
+                    .error(error)
+                    .build());
+            finish(ExcelImport.ImportStatus.FAILED);
+        }
+
+        void fail(String reason) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    ExcelImport importRecord = lockOwned();
+                    importRecord.setStatus(ExcelImport.ImportStatus.FAILED);
+                    importRecord.setErrorLog(reason);
+                    importRecord.setCompletedAt(LocalDateTime.now());
+                    importRepository.save(importRecord);
+                });
+            } catch (OwnershipLostException e) {
+                // The new owner decides the outcome and cleans up the file
+                log.warn("Import {} failed after it was taken over: {}", importId, reason);
+                return;
+            }
+            deleteFile();
+        }
+
+        /**
+         * @param status final status, or null to derive it from the row counts
+         */
+        void finish(ExcelImport.ImportStatus status) {
+            transactionTemplate.executeWithoutResult(tx -> {
+                ExcelImport importRecord = lockOwned();
+                leadImportWriter.insertErrors(importId, tenantId, headerErrors);
+
+                int successfulRows = valueOf(importRecord.getSuccessfulRows());
+                int failedRows = valueOf(importRecord.getFailedRows());
+                importRecord.setTotalRows(valueOf(importRecord.getTotalRows()));
+                importRecord.setSuccessfulRows(successfulRows);
+                importRecord.setFailedRows(failedRows);
+                importRecord.setStatus(status != null ? status :
+                        (failedRows == 0 || successfulRows > 0) ?
+                                ExcelImport.ImportStatus.COMPLETED : ExcelImport.ImportStatus.FAILED);
+                importRecord.setCompletedAt(LocalDateTime.now());
+                importRepository.save(importRecord);
+
+                log.info("Excel import {} finished. Total: {}, Success: {}, Failed: {}",
+                        importId, importRecord.getTotalRows(), successfulRows, failedRows);
+            });
+            deleteFile();
+        }
+
+        /**
+         * The job row, locked, as long as this run still owns it
+         */
+        private ExcelImport lockOwned() {
+            ExcelImport importRecord = importRepository.findByIdForUpdate(importId).orElseThrow();
+            if (!token.equals(importRecord.getClaimToken())) {
+                throw new OwnershipLostException("taken over by another worker");
+            }
+            return importRecord;
+        }
+
+        private void deleteFile() {
+            try {
+                importFileStore.delete(storageKey);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}: {}", storageKey, e.getMessage());
+            }
+        }
+    }
+
+    private static class OwnershipLostException extends RuntimeException {
+
+        OwnershipLostException(String message) {
+            super(message);
+        }
+    }
+
+    private static int valueOf(Integer count) {
+        return count != null ? count : 0;
+    }
+}
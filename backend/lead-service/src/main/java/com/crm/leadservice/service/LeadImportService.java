@@ -4,16 +4,18 @@ import com.crm.leadservice.dto.request.CreateLeadRequest;
 import com.crm.leadservice.entity.Lead;
 import com.crm.leadservice.entity.Lead.LeadStatus;
 import com.crm.leadservice.entity.Lead.LeadPriority;
-import com.crm.leadservice.repository.LeadRepository;
+import com.crm.leadservice.importer.CsvRowReader;
+import com.crm.leadservice.importer.ImportRow;
+import com.crm.leadservice.importer.LeadImportBatch;
+import com.crm.leadservice.importer.LeadImportWriter;
+import com.crm.leadservice.importer.LeadRowMapper;
+import com.crm.leadservice.importer.ParallelImportPipeline;
+import com.crm.leadservice.importer.XlsxRowReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.util.*;
 
 @Service
@@ -21,7 +23,14 @@ import java.util.*;
 @Slf4j
 public class LeadImportService {
 
-    private final LeadRepository leadRepository;
+    private final LeadImportWriter leadImportWriter;
+    private final ParallelImportPipeline importPipeline;
+
+    /**
+     * A data row mapped on a pipeline worker; lead is null if the row was skipped
+     */
+    private record ParsedRow(int rowNumber, Lead lead) {
+    }
 
     public Map<String, Integer> importFromFile(MultipartFile file, UUID tenantId, UUID userId) {
         Map<String, Integer> result = new HashMap<>();
@@ -54,160 +63,103 @@ public class LeadImportService {
 
     private Map<String, Integer> importFromCsv(MultipartFile file, UUID tenantId, UUID userId) {
         Map<String, Integer> result = new HashMap<>();
-        int successCount = 0;
-        int errorCount = 0;
+        LeadImportBatch batch = leadImportWriter.newBatch(tenantId, new ArrayList<>(), false);
+        int[] counts = new int[2]; // header seen, errors
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
+        try {
+            // Parsed on a reader thread, rows mapped to leads across cores, batches written here in file order
+            importPipeline.<ParsedRow>run(handler -> CsvRowReader.read(file, handler),
+                    header -> {
+                        counts[0] = 1;
+                        Map<String, Integer> columnIndexMap = buildColumnIndexMap(header);
+                        return row -> new ParsedRow(row.getRowNumber(), createLeadFromRow(row, columnIndexMap, tenantId, userId));
+                    },
+                    parsed -> {
+                        if (parsed.lead() != null) {
+                            batch.add(parsed.rowNumber(), parsed.lead());
+                        } else {
+                            counts[1]++;
+                        }
+                    });
+            batch.flush();
+
+            if (counts[0] == 0) {
                 log.error("CSV file is empty");
-                result.put("successCount", 0);
-                result.put("errorCount", 1);
-                return result;
-            }
-
-            String[] headers = headerLine.split(",");
-            Map<String, Integer> columnIndexMap = buildColumnIndexMap(headers);
-
-            String line;
-            int lineNumber = 1;
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                try {
-                    String[] values = line.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1); // Handle quoted fields
-                    Lead lead = createLeadFromRow(values, columnIndexMap, tenantId, userId);
-                    if (lead != null) {
-                        leadRepository.save(lead);
-                        successCount++;
-                    } else {
-                        errorCount++;
-                    }
-                } catch (Exception e) {
-                    log.error("Error processing CSV line {}: {}", lineNumber, e.getMessage());
-                    errorCount++;
-                }
+                counts[1]++;
             }
         } catch (Exception e) {
             log.error("Error reading CSV file", e);
-            errorCount++;
+            counts[1]++;
         }
 
-        result.put("successCount", successCount);
-        result.put("errorCount", errorCount);
+        result.put("successCount", batch.getInserted());
+        result.put("errorCount", counts[1] + batch.getRejected());
         return result;
     }
 
     private Map<String, Integer> importFromExcel(MultipartFile file, UUID tenantId, UUID userId) {
         Map<String, Integer> result = new HashMap<>();
-        int successCount = 0;
-        int errorCount = 0;
-
-        try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
+        Map<String, Integer> columnIndexMap = new HashMap<>();
+        LeadImportBatch batch = leadImportWriter.newBatch(tenantId, new ArrayList<>(), false);
+        int[] counts = new int[2]; // rows seen, errors
 
-            if (sheet.getPhysicalNumberOfRows() == 0) {
-                log.error("Excel file is empty");
-                result.put("successCount", 0);
-                result.put("errorCount", 1);
-                return result;
-            }
-
-            Row headerRow = sheet.getRow(0);
-            Map<String, Integer> columnIndexMap = buildColumnIndexMapFromExcel(headerRow);
-
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
+        try {
+            XlsxRowReader.read(file, row -> {
+                if (counts[0]++ == 0) {
+                    columnIndexMap.putAll(buildColumnIndexMap(row));
+                    return true;
+                }
 
                 try {
-                    Lead lead = createLeadFromExcelRow(row, columnIndexMap, tenantId, userId);
+                    Lead lead = createLeadFromRow(row, columnIndexMap, tenantId, userId);
                     if (lead != null) {
-                        leadRepository.save(lead);
-                        successCount++;
+                        batch.add(row.getRowNumber(), lead);
                     } else {
-                        errorCount++;
+                        counts[1]++;
                     }
                 } catch (Exception e) {
-                    log.error("Error processing Excel row {}: {}", i + 1, e.getMessage());
-                    errorCount++;
+                    log.error("Error processing Excel row {}: {}", row.getRowNumber(), e.getMessage());
+                    counts[1]++;
                 }
+                return true;
+            });
+            batch.flush();
+
+            if (counts[0] == 0) {
+                log.error("Excel file is empty");
+                counts[1]++;
             }
         } catch (Exception e) {
             log.error("Error reading Excel file", e);
-            errorCount++;
+            counts[1]++;
         }
 
-        result.put("successCount", successCount);
-        result.put("errorCount", errorCount);
+        result.put("successCount", batch.getInserted());
+        result.put("errorCount", counts[1] + batch.getRejected());
         return result;
     }
 
-    private Map<String, Integer> buildColumnIndexMap(String[] headers) {
+    private Map<String, Integer> buildColumnIndexMap(ImportRow headerRow) {
         Map<String, Integer> map = new HashMap<>();
-        for (int i = 0; i < headers.length; i++) {
-            String header = headers[i].trim().toLowerCase().replace("\"", "");
-            map.put(header, i);
-        }
-        return map;
-    }
-
-    private Map<String, Integer> buildColumnIndexMapFromExcel(Row headerRow) {
-        Map<String, Integer> map = new HashMap<>();
-        if (headerRow == null) return map;
-
-        for (Cell cell : headerRow) {
-            String header = getCellValueAsString(cell).trim().toLowerCase();
-            map.put(header, cell.getColumnIndex());
-        }
-        return map;
-    }
-
-    private Lead createLeadFromRow(String[] values, Map<String, Integer> columnIndexMap, UUID tenantId, UUID userId) {
-        try {
-            String firstName = getColumnValue(values, columnIndexMap, "firstname");
-            String lastName = getColumnValue(values, columnIndexMap, "lastname");
-            String email = getColumnValue(values, columnIndexMap, "email");
-
-            if (firstName == null || firstName.isEmpty() ||
-                lastName == null || lastName.isEmpty() ||
-                email == null || email.isEmpty()) {
-                log.warn("Skipping row with missing required fields");
-                return null;
+        for (int i = 0; i < headerRow.size(); i++) {
+            String header = headerRow.get(i);
+            if (header != null) {
+                map.putIfAbsent(LeadRowMapper.headerKey(header), i);
             }
-
-            Lead lead = new Lead();
-            lead.setTenantId(tenantId);
-            lead.setFirstName(firstName);
-            lead.setLastName(lastName);
-            lead.setEmail(email);
-            lead.setPhone(getColumnValue(values, columnIndexMap, "phone"));
-            lead.setCompany(getColumnValue(values, columnIndexMap, "company"));
-            lead.setSource(getColumnValue(values, columnIndexMap, "source"));
-            lead.setNotes(getColumnValue(values, columnIndexMap, "notes"));
-
-            String status = getColumnValue(values, columnIndexMap, "status");
-            lead.setStatus(parseStatus(status));
-
-            String priority = getColumnValue(values, columnIndexMap, "priority");
-            lead.setPriority(parsePriority(priority));
-
-            return lead;
-        } catch (Exception e) {
-            log.error("Error creating lead from row", e);
-            return null;
         }
+        return map;
     }
 
-    private Lead createLeadFromExcelRow(Row row, Map<String, Integer> columnIndexMap, UUID tenantId, UUID userId) {
+    private Lead createLeadFromRow(ImportRow row, Map<String, Integer> columnIndexMap, UUID tenantId, UUID userId) {
         try {
-            String firstName = getExcelColumnValue(row, columnIndexMap, "firstname");
-            String lastName = getExcelColumnValue(row, columnIndexMap, "lastname");
-            String email = getExcelColumnValue(row, columnIndexMap, "email");
+            String firstName = getColumnValue(row, columnIndexMap, "firstname");
+            String lastName = getColumnValue(row, columnIndexMap, "lastname");
+            String email = LeadRowMapper.normalizeEmail(getColumnValue(row, columnIndexMap, "email"));
 
             if (firstName == null || firstName.isEmpty() ||
                 lastName == null || lastName.isEmpty() ||
                 email == null || email.isEmpty()) {
-                log.warn("Skipping row with missing required fields");
+                log.warn("Skipping row {} with missing required fields", row.getRowNumber());
                 return null;
             }
 
@@ -216,64 +168,26 @@ public class LeadImportService {
             lead.setFirstName(firstName);
             lead.setLastName(lastName);
             lead.setEmail(email);
-            lead.setPhone(getExcelColumnValue(row, columnIndexMap, "phone"));
-            lead.setCompany(getExcelColumnValue(row, columnIndexMap, "company"));
-            lead.setSource(getExcelColumnValue(row, columnIndexMap, "source"));
-            lead.setNotes(getExcelColumnValue(row, columnIndexMap, "notes"));
+            lead.setPhone(getColumnValue(row, columnIndexMap, "phone"));
+            lead.setCompany(getColumnValue(row, columnIndexMap, "company"));
+            lead.setSource(getColumnValue(row, columnIndexMap, "source"));
+            lead.setNotes(getColumnValue(row, columnIndexMap, "notes"));
 
-            String status = getExcelColumnValue(row, columnIndexMap, "status");
+            String status = getColumnValue(row, columnIndexMap, "status");
             lead.setStatus(parseStatus(status));
 
-            String priority = getExcelColumnValue(row, columnIndexMap, "priority");
+            String priority = getColumnValue(row, columnIndexMap, "priority");
             lead.setPriority(parsePriority(priority));
 
             return lead;
         } catch (Exception e) {
-            log.error("Error creating lead from Excel row", e);
+            log.error("Error creating lead from row {}", row.getRowNumber(), e);
             return null;
         }
     }
 
-    private String getColumnValue(String[] values, Map<String, Integer> columnIndexMap, String columnName) {
-        Integer index = columnIndexMap.get(columnName.toLowerCase());
-        if (index != null && index < values.length) {
-            String value = values[index].trim().replace("\"", "");
-            return value.isEmpty() ? null : value;
-        }
-        return null;
-    }
-
-    private String getExcelColumnValue(Row row, Map<String, Integer> columnIndexMap, String columnName) {
-        Integer index = columnIndexMap.get(columnName.toLowerCase());
-        if (index != null) {
-            Cell cell = row.getCell(index);
-            if (cell != null) {
-                String value = getCellValueAsString(cell).trim();
-                return value.isEmpty() ? null : value;
-            }
-        }
-        return null;
-    }
-
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) return "";
-
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue();
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getLocalDateTimeCellValue().toString();
-                } else {
-                    return String.valueOf((long) cell.getNumericCellValue());
-                }
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
-                return cell.getCellFormula();
-            default:
-                return "";
-        }
+    private String getColumnValue(ImportRow row, Map<String, Integer> columnIndexMap, String columnName) {
+        return LeadRowMapper.unescapeFormula(row.get(columnIndexMap.get(columnName)));
     }
 
     private LeadStatus parseStatus(String status) {
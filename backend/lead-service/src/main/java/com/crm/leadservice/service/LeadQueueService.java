@@ -0,0 +1,127 @@
+package com.crm.leadservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Dialer queue: hands each agent the next lead to call under a time-limited lease.
+ *
+ * <p>The queue is the leads table itself, in idx_leads_dialer_queue order: priority, then due time
+ * (follow-up date or last contact plus the recontact gap), then age. Leasing is one UPDATE over a
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}, so concurrent agents skip the rows others are taking instead
+ * of waiting on them and never get the same lead. An expired lease makes the lead available again
+ * without any cleanup job. Times come from the database clock, so all instances agree on expiry.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeadQueueService {
+
+    // %s: which leads the agent may take
+    private static final String LEASE_SQL = """
+            UPDATE lead_management.leads l
+            SET leased_by = ?, lease_expires_at = now() + make_interval(secs => ?)
+            FROM (
+                SELECT id FROM lead_management.leads
+                WHERE tenant_id = ?
+                AND status IN ('NEW', 'CONTACTED', 'QUALIFIED')
+                AND %s
+                AND (next_contact_at IS NULL OR next_contact_at <= now())
+                AND (lease_expires_at IS NULL OR lease_expires_at <= now())
+                ORDER BY priority_rank, next_contact_at NULLS FIRST, created_at
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+            ) next
+            WHERE l.id = next.id
+            RETURNING l.id, l.lease_expires_at
+            """;
+
+    private static final String LEASE_OWN_SQL = LEASE_SQL.formatted("current_assignee = ?");
+    private static final String LEASE_UNASSIGNED_SQL = LEASE_SQL.formatted("current_assignee IS NULL");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${lead-queue.lease-seconds:300}")
+    private int leaseSeconds = 300;
+
+    @Value("${lead-queue.recontact-after-minutes:240}")
+    private int recontactAfterMinutes = 240;
+
+    // Offer unassigned leads too, after none of the agent's own leads is due
+    @Value("${lead-queue.include-unassigned:true}")
+    private boolean includeUnassigned = true;
+
+    public record Lease(UUID leadId, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * The agent's current lease, renewed, or a lease on the next due lead; empty when nothing is due
+     */
+    @Transactional
+    public Optional<Lease> leaseNext(UUID tenantId, UUID agentId) {
+        // Only while the lead would still be offered to the agent: callable, theirs (or unassigned) and due
+        List<Lease> current = jdbcTemplate.query("""
+                UPDATE lead_management.leads
+                SET lease_expires_at = now() + make_interval(secs => ?)
+                WHERE tenant_id = ? AND leased_by = ? AND lease_expires_at > now()
+                AND status IN ('NEW', 'CONTACTED', 'QUALIFIED')
+                AND (current_assignee = ? OR (? AND current_assignee IS NULL))
+                AND (next_contact_at IS NULL OR next_contact_at <= now())
+                RETURNING id, lease_expires_at
+                """, LeadQueueService::mapLease, leaseSeconds, tenantId, agentId, agentId, includeUnassigned);
+        if (!current.isEmpty()) {
+            return Optional.of(current.get(0));
+        }
+        // A lease on a lead that is no longer offered is dropped, so the agent holds one lease at a time
+        jdbcTemplate.update("""
+                UPDATE lead_management.leads SET leased_by = NULL, lease_expires_at = NULL
+                WHERE tenant_id = ? AND leased_by = ?
+                """, tenantId, agentId);
+
+        // Own leads first; separate statements keep each LIMIT 1 a plain walk of the queue index
+        List<Lease> leased = jdbcTemplate.query(LEASE_OWN_SQL, LeadQueueService::mapLease,
+                agentId, leaseSeconds, tenantId, agentId);
+        if (leased.isEmpty() && includeUnassigned) {
+            leased = jdbcTemplate.query(LEASE_UNASSIGNED_SQL, LeadQueueService::mapLease,
+                    agentId, leaseSeconds, tenantId);
+        }
+        if (leased.isEmpty()) {
+            return Optional.empty();
+        }
+        log.debug("Leased lead {} to agent {}", leased.get(0).leadId(), agentId);
+        return Optional.of(leased.get(0));
+    }
+
+    /**
+     * End the agent's lease on a lead; false if the agent does not hold it
+     */
+    @Transactional
+    public boolean release(UUID tenantId, UUID leadId, UUID agentId) {
+        return jdbcTemplate.update("""
+                UPDATE lead_management.leads SET leased_by = NULL, lease_expires_at = NULL
+                WHERE id = ? AND tenant_id = ? AND leased_by = ?
+                """, leadId, tenantId, agentId) > 0;
+    }
+
+    /**
+     * When a lead contacted now may be offered again, unless a follow-up date says otherwise
+     */
+    public LocalDateTime nextContactAfter(LocalDateTime contactedAt) {
+        return contactedAt.plusMinutes(recontactAfterMinutes);
+    }
+
+    private static Lease mapLease(ResultSet rs, int rowNum) throws SQLException {
+        return new Lease(rs.getObject(1, UUID.class), rs.getTimestamp(2).toLocalDateTime());
+    }
+}
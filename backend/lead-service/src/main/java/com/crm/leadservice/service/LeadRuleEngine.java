@@ -0,0 +1,398 @@
+package com.crm.leadservice.service;
+
+import com.crm.leadservice.entity.Lead;
+import com.crm.leadservice.entity.LeadRule;
+import com.crm.leadservice.repository.LeadRuleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs lead lifecycle rules as set-based sweeps over the leads table.
+ *
+ * <p>A rule run walks the tenant's leads in id order (idx_leads_tenant_id) in chunks. Each chunk is one
+ * statement in its own short transaction: it finds the next matching leads, locks those it can with
+ * {@code FOR UPDATE SKIP LOCKED}, updates them, and inserts their history rows with a single INSERT ... SELECT.
+ * Leads locked by interactive requests are skipped rather than waited for; they are counted in the rule's
+ * last_run_skipped and still match on the next run, which picks them up. Matching excludes leads that already
+ * hold the target values, so runs are idempotent.
+ *
+ * <p>Sweeps run on their own executor; the shared scheduler only queues them, so a long sweep never delays
+ * import heartbeats, stats reconciliation or history flushes.
+ *
+ * <p>"No contact" covers both contacts recorded through the dialer queue and calls logged by call-service
+ * in call_management.calls, which lives in the same database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeadRuleEngine {
+
+    // %1$s: SET list, %2$s: rule conditions, %3$s: lead has a value to change.
+    // Candidates are the next matching leads; the target is the candidates not locked elsewhere, re-checked
+    // under the lock. The first row carries the candidate count and the last candidate id even if none changed.
+    private static final String CHUNK_SQL = """
+            WITH candidates AS (
+                SELECT l.id
+                FROM lead_management.leads l
+                WHERE l.tenant_id = ? AND l.id > ?
+                AND (%3$s)%2$s
+                ORDER BY l.id
+                LIMIT ?
+            ), target AS (
+                SELECT l.id, l.status, l.priority, l.current_assignee
+                FROM lead_management.leads l
+                WHERE l.id IN (SELECT id FROM candidates)
+                AND (%3$s)%2$s
+                FOR UPDATE OF l SKIP LOCKED
+            ), updated AS (
+                UPDATE lead_management.leads l
+                SET %1$s, updated_at = ?
+                FROM target t
+                WHERE l.id = t.id
+                RETURNING l.id, t.status AS old_status, t.priority AS old_priority, l.status, l.priority, l.current_assignee
+            ), history AS (
+                INSERT INTO lead_management.lead_history
+                    (id, tenant_id, lead_id, action, performed_by, old_value, new_value, timestamp, created_at, updated_at)
+                SELECT gen_random_uuid(), ?, u.id, 'RULE_APPLIED', ?,
+                       jsonb_strip_nulls(jsonb_build_object(
+                           'status', CASE WHEN u.old_status <> u.status THEN u.old_status END,
+                           'priority', CASE WHEN u.old_priority <> u.priority THEN u.old_priority END)),
+                       jsonb_strip_nulls(jsonb_build_object(
+                           'status', CASE WHEN u.old_status <> u.status THEN u.status END,
+                           'priority', CASE WHEN u.old_priority <> u.priority THEN u.priority END)),
+                       ?, ?, ?
+                FROM updated u
+            )
+            SELECT s.candidates, s.last_id, u.id, u.old_status, u.old_priority, u.status, u.priority, u.current_assignee
+            FROM (SELECT (SELECT count(*) FROM candidates) AS candidates,
+                         (SELECT id FROM candidates ORDER BY id DESC LIMIT 1) AS last_id) s
+            LEFT JOIN updated u ON true
+            ORDER BY u.id
+            """;
+
+    private static final UUID START = new UUID(0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeadRuleRepository leadRuleRepository;
+    private final LeadStatsService leadStatsService;
+
+    @Value("${lead-rules.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    // A run that stops renewing (e.g. the instance died) frees the rule after this long
+    @Value("${lead-rules.run-lease-minutes:10}")
+    private int runLeaseMinutes = 10;
+
+    @Value("${lead-rules.workers:1}")
+    private int workers = 1;
+
+    // Set while a scheduled pass is queued or running, so slow passes do not pile up
+    private final AtomicBoolean passPending = new AtomicBoolean();
+
+    // Dedicated pool, not a bean: an Executor bean would replace Boot's applicationTaskExecutor
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void startWorkers() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("lead-rules-");
+        // Committed chunks survive; the rule's lease expires and the next pass continues
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void stopWorkers() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queue a pass over every enabled rule of every tenant
+     */
+    @Scheduled(cron = "${lead-rules.cron:0 */15 * * * *}")
+    public void runAll() {
+        if (!passPending.compareAndSet(false, true)) {
+            log.info("Previous lead rule pass still running, skipping this one");
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    leadRuleRepository.findByEnabledTrue().forEach(this::runLogged);
+                } finally {
+                    passPending.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            passPending.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Queue a run of one rule
+     */
+    public void submit(LeadRule rule) {
+        executor.execute(() -> runLogged(rule));
+    }
+
+    private void runLogged(LeadRule rule) {
+        try {
+            run(rule);
+        } catch (RuntimeException e) {
+            log.error("Lead rule {} of tenant {} failed: {}", rule.getId(), rule.getTenantId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Apply a rule to all matching leads of its tenant
+     *
+     * @return number of leads changed, or -1 if the rule is already running elsewhere
+     */
+    public long run(LeadRule rule) {
+        UUID owner = UUID.randomUUID();
+        if (!claim(rule.getId(), owner)) {
+            log.debug("Lead rule {} is already running", rule.getId());
+            return -1;
+        }
+
+        long start = System.currentTimeMillis();
+        long affected = 0;
+        long skipped = 0;
+        boolean leaseLost = false;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Object> conditionArgs = new ArrayList<>();
+            String conditions = conditions(rule, now, conditionArgs);
+            String sql = CHUNK_SQL.formatted(assignments(rule), conditions, changes(rule));
+
+            UUID after = START;
+            while (true) {
+                UUID from = after;
+                Chunk chunk = transactionTemplate.execute(status -> applyChunk(rule, owner, sql, conditionArgs, from));
+                if (chunk == null || chunk.candidates() == 0) {
+                    break;
+                }
+                affected += chunk.changed();
+                skipped += chunk.candidates() - chunk.changed();
+                after = chunk.lastId();
+                if (chunk.candidates() < chunkSize) {
+                    break;
+                }
+            }
+        } catch (LeaseLostException e) {
+            leaseLost = true;
+            log.warn("Lead rule {} overran its lease and was taken over; stopped after {} leads", rule.getId(), affected);
+        } finally {
+            if (!leaseLost) {
+                finish(rule.getId(), owner, affected, skipped);
+            }
+        }
+        if (skipped > 0) {
+            log.warn("Lead rule '{}' of tenant {} skipped {} leads locked by other work; the next run retries them",
+                    rule.getName(), rule.getTenantId(), skipped);
+        }
+        log.info("Lead rule '{}' of tenant {} changed {} leads in {} ms",
+                rule.getName(), rule.getTenantId(), affected, System.currentTimeMillis() - start);
+        return affected;
+    }
+
+    private record Chunk(int candidates, int changed, UUID lastId) {
+    }
+
+    private Chunk applyChunk(LeadRule rule, UUID owner, String sql, List<Object> conditionArgs, UUID after) {
+        // Renewing first locks the rule row until this chunk commits, so nobody can claim the rule mid-chunk
+        if (!renew(rule.getId(), owner)) {
+            throw new LeaseLostException();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> args = new ArrayList<>(conditionArgs.size() * 2 + 16);
+        args.add(rule.getTenantId());
+        args.add(after);
+        addTargets(rule, args);
+        args.addAll(conditionArgs);
+        args.add(chunkSize);
+        addTargets(rule, args);
+        args.addAll(conditionArgs);
+        if (rule.getTargetStatus() != null) {
+            args.add(rule.getTargetStatus().name());
+        }
+        if (rule.getTargetPriority() != null) {
+            args.add(rule.getTargetPriority().name());
+        }
+        args.add(now);
+        args.add(rule.getTenantId());
+        args.add(rule.getCreatedBy());
+        args.add(now);
+        args.add(now);
+        args.add(now);
+
+        int[] candidates = new int[1];
+        UUID[] lastId = {after};
+        List<Lead> before = new ArrayList<>();
+        List<Lead> changed = new ArrayList<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            for (int i = 0; i < args.size(); i++) {
+                Object arg = args.get(i);
+                if (arg instanceof String[] values) {
+                    ps.setArray(i + 1, con.createArrayOf("varchar", values));
+                } else {
+                    ps.setObject(i + 1, arg);
+                }
+            }
+            return ps;
+        }, rs -> {
+            candidates[0] = rs.getInt(1);
+            if (candidates[0] > 0) {
+                lastId[0] = rs.getObject(2, UUID.class);
+            }
+            UUID leadId = rs.getObject(3, UUID.class);
+            if (leadId == null) {
+                return;
+            }
+            UUID assignee = rs.getObject(8, UUID.class);
+            before.add(lead(rule.getTenantId(), leadId, rs.getString(4), rs.getString(5), assignee));
+            changed.add(lead(rule.getTenantId(), leadId, rs.getString(6), rs.getString(7), assignee));
+        });
+
+        if (!changed.isEmpty()) {
+            leadStatsService.leadsChanged(before, changed);
+        }
+        return new Chunk(candidates[0], changed.size(), lastId[0]);
+    }
+
+    private static void addTargets(LeadRule rule, List<Object> args) {
+        if (rule.getTargetStatus() != null) {
+            args.add(rule.getTargetStatus().name());
+        }
+        if (rule.getTargetPriority() != null) {
+            args.add(rule.getTargetPriority().name());
+        }
+    }
+
+    /**
+     * SQL conditions of the rule, each starting with AND; bind values are appended to args
+     */
+    private static String conditions(LeadRule rule, LocalDateTime now, List<Object> args) {
+        StringBuilder sql = new StringBuilder();
+        if (rule.getMatchStatuses() != null && !rule.getMatchStatuses().isEmpty()) {
+            sql.append("\n    AND l.status = ANY(?)");
+            args.add(rule.getMatchStatuses().toArray(new String[0]));
+        }
+        if (rule.getMatchPriorities() != null && !rule.getMatchPriorities().isEmpty()) {
+            sql.append("\n    AND l.priority = ANY(?)");
+            args.add(rule.getMatchPriorities().toArray(new String[0]));
+        }
+        if (rule.getMatchSources() != null && !rule.getMatchSources().isEmpty()) {
+            sql.append("\n    AND l.source = ANY(?)");
+            args.add(rule.getMatchSources().toArray(new String[0]));
+        }
+        if (rule.getNoContactDays() != null) {
+            Timestamp cutoff = Timestamp.valueOf(now.minusDays(rule.getNoContactDays()));
+            sql.append("\n    AND l.created_at < ?")
+                    .append("\n    AND (l.last_contacted_at IS NULL OR l.last_contacted_at < ?)")
+                    .append("\n    AND NOT EXISTS (SELECT 1 FROM call_management.calls c")
+                    .append(" WHERE c.tenant_id = l.tenant_id AND c.lead_id = l.id AND c.created_at >= ?)");
+            args.add(cutoff);
+            args.add(cutoff);
+            args.add(cutoff);
+        }
+        if (rule.getAssignedForDays() != null) {
+            sql.append("\n    AND EXISTS (SELECT 1 FROM lead_management.lead_assignments a")
+                    .append(" WHERE a.lead_id = l.id AND a.is_current = true AND a.assigned_at < ?)");
+            args.add(Timestamp.valueOf(now.minusDays(rule.getAssignedForDays())));
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Leads that already hold every target value are left out
+     */
+    private static String changes(LeadRule rule) {
+        List<String> changes = new ArrayList<>(2);
+        if (rule.getTargetStatus() != null) {
+            changes.add("l.status <> ?");
+        }
+        if (rule.getTargetPriority() != null) {
+            changes.add("l.priority <> ?");
+        }
+        return String.join(" OR ", changes);
+    }
+
+    private static String assignments(LeadRule rule) {
+        List<String> assignments = new ArrayList<>(2);
+        if (rule.getTargetStatus() != null) {
+            assignments.add("status = ?");
+        }
+        if (rule.getTargetPriority() != null) {
+            assignments.add("priority = ?");
+        }
+        return String.join(", ", assignments);
+    }
+
+    /**
+     * Take the rule's run lease for this run; false if another run holds it. Lease times use the database clock.
+     */
+    private boolean claim(UUID ruleId, UUID owner) {
+        return jdbcTemplate.update("""
+                UPDATE lead_management.lead_rules
+                SET running_by = ?, running_until = now() + make_interval(mins => ?)
+                WHERE id = ? AND (running_until IS NULL OR running_until < now())
+                """, owner, runLeaseMinutes, ruleId) > 0;
+    }
+
+    /**
+     * Extend the lease; false if it expired and another run took the rule
+     */
+    private boolean renew(UUID ruleId, UUID owner) {
+        return jdbcTemplate.update("""
+                UPDATE lead_management.lead_rules SET running_until = now() + make_interval(mins => ?)
+                WHERE id = ? AND running_by = ?
+                """, runLeaseMinutes, ruleId, owner) > 0;
+    }
+
+    /**
+     * Release the lease and record the run, unless another run holds the lease by now
+     */
+    private void finish(UUID ruleId, UUID owner, long affected, long skipped) {
+        jdbcTemplate.update("""
+                UPDATE lead_management.lead_rules
+                SET running_by = NULL, running_until = NULL, last_run_at = now(),
+                    last_run_affected = ?, last_run_skipped = ?
+                WHERE id = ? AND running_by = ?
+                """, affected, skipped, ruleId, owner);
+    }
+
+    private static class LeaseLostException extends RuntimeException {
+    }
+
+    private static Lead lead(UUID tenantId, UUID leadId, String status, String priority, UUID currentAssignee) {
+        Lead lead = new Lead();
+        lead.setId(leadId);
+        lead.setTenantId(tenantId);
+        lead.setStatus(Lead.LeadStatus.valueOf(status));
+        lead.setPriority(Lead.LeadPriority.valueOf(priority));
+        lead.setCurrentAssignee(currentAssignee);
+        return lead;
+    }
+}
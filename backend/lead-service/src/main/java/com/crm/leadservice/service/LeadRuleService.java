@@ -0,0 +1,123 @@
+package com.crm.leadservice.service;
+
+import com.crm.common.exception.BadRequestException;
+import com.crm.common.exception.ResourceNotFoundException;
+import com.crm.leadservice.dto.request.LeadRuleRequest;
+import com.crm.leadservice.dto.response.LeadRuleDTO;
+import com.crm.leadservice.entity.LeadRule;
+import com.crm.leadservice.repository.LeadRuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class LeadRuleService {
+
+    private final LeadRuleRepository leadRuleRepository;
+    private final LeadRuleEngine leadRuleEngine;
+
+    @Transactional(readOnly = true)
+    public List<LeadRuleDTO> getRules(UUID tenantId) {
+        return leadRuleRepository.findByTenantIdOrderByCreatedAtAsc(tenantId).stream()
+                .map(this::convertToDTO)
+                .toList();
+    }
+
+    public LeadRuleDTO createRule(LeadRuleRequest request, UUID tenantId, UUID userId) {
+        LeadRule rule = new LeadRule();
+        rule.setTenantId(tenantId);
+        rule.setCreatedBy(userId);
+        apply(rule, request);
+
+        rule = leadRuleRepository.save(rule);
+        log.info("Lead rule created: {} ({})", rule.getId(), rule.getName());
+        return convertToDTO(rule);
+    }
+
+    public LeadRuleDTO updateRule(UUID ruleId, LeadRuleRequest request, UUID tenantId) {
+        LeadRule rule = findRule(ruleId, tenantId);
+        apply(rule, request);
+
+        rule = leadRuleRepository.save(rule);
+        log.info("Lead rule updated: {}", rule.getId());
+        return convertToDTO(rule);
+    }
+
+    public void deleteRule(UUID ruleId, UUID tenantId) {
+        leadRuleRepository.delete(findRule(ruleId, tenantId));
+        log.info("Lead rule deleted: {}", ruleId);
+    }
+
+    /**
+     * Start a run of the rule now instead of waiting for the schedule
+     */
+    @Transactional(readOnly = true)
+    public void runRule(UUID ruleId, UUID tenantId) {
+        LeadRule rule = findRule(ruleId, tenantId);
+        if (rule.getRunningUntil() != null && rule.getRunningUntil().isAfter(LocalDateTime.now())) {
+            throw new BadRequestException("Rule is already running");
+        }
+        leadRuleEngine.submit(rule);
+    }
+
+    private LeadRule findRule(UUID ruleId, UUID tenantId) {
+        return leadRuleRepository.findByIdAndTenantId(ruleId, tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lead rule not found"));
+    }
+
+    private static void apply(LeadRule rule, LeadRuleRequest request) {
+        if (request.getTargetStatus() == null && request.getTargetPriority() == null) {
+            throw new BadRequestException("A rule must set a target status or priority");
+        }
+        if (isEmpty(request.getMatchStatuses()) && isEmpty(request.getMatchPriorities())
+                && isEmpty(request.getMatchSources())
+                && request.getNoContactDays() == null && request.getAssignedForDays() == null) {
+            throw new BadRequestException("A rule needs at least one condition");
+        }
+
+        rule.setName(request.getName());
+        rule.setEnabled(request.getEnabled() == null || request.getEnabled());
+        rule.setMatchStatuses(isEmpty(request.getMatchStatuses()) ? null
+                : request.getMatchStatuses().stream().map(Enum::name).distinct().toList());
+        rule.setMatchPriorities(isEmpty(request.getMatchPriorities()) ? null
+                : request.getMatchPriorities().stream().map(Enum::name).distinct().toList());
+        rule.setMatchSources(isEmpty(request.getMatchSources()) ? null
+                : request.getMatchSources().stream().distinct().toList());
+        rule.setNoContactDays(request.getNoContactDays());
+        rule.setAssignedForDays(request.getAssignedForDays());
+        rule.setTargetStatus(request.getTargetStatus());
+        rule.setTargetPriority(request.getTargetPriority());
+    }
+
+    private static boolean isEmpty(List<?> values) {
+        return values == null || values.isEmpty();
+    }
+
+    private LeadRuleDTO convertToDTO(LeadRule rule) {
+        return LeadRuleDTO.builder()
+                .id(rule.getId())
+                .name(rule.getName())
+                .enabled(rule.getEnabled())
+                .matchStatuses(rule.getMatchStatuses())
+                .matchPriorities(rule.getMatchPriorities())
+                .matchSources(rule.getMatchSources())
+                .noContactDays(rule.getNoContactDays())
+                .assignedForDays(rule.getAssignedForDays())
+                .targetStatus(rule.getTargetStatus())
+                .targetPriority(rule.getTargetPriority())
+                .createdBy(rule.getCreatedBy())
+                .lastRunAt(rule.getLastRunAt())
+                .lastRunAffected(rule.getLastRunAffected())
+                .lastRunSkipped(rule.getLastRunSkipped())
+                .createdAt(rule.getCreatedAt())
+                .build();
+    }
+}
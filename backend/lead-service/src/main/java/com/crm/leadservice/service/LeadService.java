@@ -2,16 +2,17 @@ package com.crm.leadservice.service;
 
 import com.crm.common.exception.ResourceNotFoundException;
 import com.crm.leadservice.dto.request.CreateLeadRequest;
+import com.crm.leadservice.dto.request.LeadLookupRequest;
+import com.crm.leadservice.dto.request.RecordContactRequest;
 import com.crm.leadservice.dto.request.SearchLeadRequest;
 import com.crm.leadservice.dto.request.UpdateLeadRequest;
 import com.crm.leadservice.dto.response.LeadDTO;
 import com.crm.leadservice.dto.response.LeadHistoryDTO;
+import com.crm.leadservice.dto.response.LeadLeaseDTO;
+import com.crm.leadservice.dto.response.LeadLookupDTO;
 import com.crm.leadservice.dto.response.LeadStatsDTO;
 import com.crm.leadservice.entity.Lead;
-import com.crm.leadservice.entity.LeadAssignment;
-import com.crm.leadservice.entity.LeadHistory;
-import com.crm.leadservice.repository.LeadAssignmentRepository;
-import com.crm.leadservice.repository.LeadHistoryRepository;
+import com.crm.leadservice.repository.LeadFilterSql;
 import com.crm.leadservice.repository.LeadRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,7 +25,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -33,8 +33,10 @@ import java.util.stream.Collectors;
 public class LeadService {
 
     private final LeadRepository leadRepository;
-    private final LeadAssignmentRepository assignmentRepository;
-    private final LeadHistoryRepository historyRepository;
+    private final LeadHistoryService leadHistoryService;
+    private final LeadStatsService leadStatsService;
+    private final LeadContactIndex leadContactIndex;
+    private final LeadQueueService leadQueueService;
 
     /**
      * Create a new lead
@@ -56,9 +58,10 @@ public class LeadService {
         lead.setNotes(request.getNotes());
 
         lead = leadRepository.save(lead);
+        leadStatsService.leadsAdded(List.of(lead));
 
         // Record history
-        recordHistory(lead.getId(), "CREATED", userId, null, convertToMap(lead), tenantId);
+        leadHistoryService.record(tenantId, lead.getId(), "CREATED", userId, null, convertToMap(lead));
 
         log.info("Lead created successfully: {}", lead.getId());
         return convertToDTO(lead);
@@ -78,10 +81,7 @@ public class LeadService {
         // Check access based on role
         if (roles.contains("AGENT")) {
             // Agents can only see their assigned leads
-            LeadAssignment assignment = assignmentRepository.findByLeadIdAndIsCurrentTrue(leadId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Lead not assigned to you"));
-
-            if (!assignment.getAssignedTo().equals(userId)) {
+            if (!userId.equals(lead.getCurrentAssignee())) {
                 throw new ResourceNotFoundException("Lead not assigned to you");
             }
         }
@@ -100,6 +100,8 @@ public class LeadService {
                 .orElseThrow(() -> new ResourceNotFoundException("Lead not found"));
 
         Map<String, Object> oldValue = convertToMap(lead);
+        Lead.LeadStatus oldStatus = lead.getStatus();
+        Lead.LeadPriority oldPriority = lead.getPriority();
 
         // Update fields
         if (request.getFirstName() != null) lead.setFirstName(request.getFirstName());
@@ -114,9 +116,10 @@ public class LeadService {
         if (request.getNotes() != null) lead.setNotes(request.getNotes());
 
         lead = leadRepository.save(lead);
+        leadStatsService.leadChanged(lead, oldStatus, oldPriority);
 
         // Record history
-        recordHistory(lead.getId(), "UPDATED", userId, oldValue, convertToMap(lead), tenantId);
+        leadHistoryService.record(tenantId, lead.getId(), "UPDATED", userId, oldValue, convertToMap(lead));
 
         log.info("Lead updated successfully: {}", lead.getId());
         return convertToDTO(lead);
@@ -133,12 +136,86 @@ public class LeadService {
                 .orElseThrow(() -> new ResourceNotFoundException("Lead not found"));
 
         // Record history before deletion
-        recordHistory(lead.getId(), "DELETED", userId, convertToMap(lead), null, tenantId);
+        leadHistoryService.record(tenantId, lead.getId(), "DELETED", userId, convertToMap(lead), null);
 
         leadRepository.delete(lead);
+        leadStatsService.leadRemoved(lead);
         log.info("Lead deleted successfully: {}", leadId);
     }
 
+    /**
+     * Resolve phone numbers and emails to leads in bulk, e.g. for call matching and imports
+     */
+    @Transactional(readOnly = true)
+    public LeadLookupDTO lookupLeads(LeadLookupRequest request, UUID tenantId) {
+        return LeadLookupDTO.builder()
+                .phones(leadContactIndex.findByPhones(tenantId, request.getPhones()))
+                .emails(leadContactIndex.findByEmails(tenantId, request.getEmails()))
+                .build();
+    }
+
+    /**
+     * Lease the next lead the agent should call; empty when nothing is due
+     */
+    public Optional<LeadLeaseDTO> leaseNextLead(UUID tenantId, UUID agentId) {
+        return leadQueueService.leaseNext(tenantId, agentId).map(lease -> {
+            Lead lead = leadRepository.findById(lease.leadId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Lead not found"));
+            return LeadLeaseDTO.builder()
+                    .lead(convertToDTO(lead))
+                    .leaseExpiresAt(lease.expiresAt())
+                    .build();
+        });
+    }
+
+    /**
+     * Record that the agent contacted the lead: schedules the next contact and ends the agent's lease
+     */
+    public LeadDTO recordContact(UUID leadId, RecordContactRequest request, UUID tenantId, UUID userId,
+                                 List<String> roles) {
+        log.info("Recording contact with lead: {}", leadId);
+
+        Lead lead = leadRepository.findByIdAndTenantIdForUpdate(leadId, tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lead not found"));
+
+        // Agents can only record contacts with leads assigned or leased to them
+        if (roles.contains("AGENT")
+                && !userId.equals(lead.getCurrentAssignee()) && !userId.equals(lead.getLeasedBy())) {
+            throw new ResourceNotFoundException("Lead not assigned to you");
+        }
+
+        Map<String, Object> oldValue = convertToMap(lead);
+        Lead.LeadStatus oldStatus = lead.getStatus();
+
+        LocalDateTime now = LocalDateTime.now();
+        lead.setLastContactedAt(now);
+        lead.setFollowUpAt(request.getFollowUpAt());
+        lead.setNextContactAt(request.getFollowUpAt() != null
+                ? request.getFollowUpAt() : leadQueueService.nextContactAfter(now));
+        if (request.getStatus() != null) {
+            lead.setStatus(request.getStatus());
+        } else if (lead.getStatus() == Lead.LeadStatus.NEW) {
+            lead.setStatus(Lead.LeadStatus.CONTACTED);
+        }
+
+        lead = leadRepository.save(lead);
+        leadStatsService.leadChanged(lead, oldStatus, lead.getPriority());
+        leadQueueService.release(tenantId, leadId, userId);
+
+        leadHistoryService.record(tenantId, lead.getId(), "CONTACTED", userId, oldValue, convertToMap(lead));
+
+        return convertToDTO(lead);
+    }
+
+    /**
+     * Hand a leased lead back to the queue without recording a contact
+     */
+    public void releaseLease(UUID leadId, UUID tenantId, UUID userId) {
+        if (!leadQueueService.release(tenantId, leadId, userId)) {
+            throw new ResourceNotFoundException("No lease on this lead");
+        }
+    }
+
     /**
      * Get all leads with role-based filtering
      */
@@ -162,125 +239,67 @@ public class LeadService {
     }
 
     /**
-     * Search leads with filters
+     * Search leads with filters; filtering, ranking and paging all run in the database
      */
     @Transactional(readOnly = true)
     public Page<LeadDTO> searchLeads(SearchLeadRequest request, UUID tenantId, UUID userId, List<String> roles) {
         log.info("Searching leads with query: {}", request.getSearchQuery());
 
-        Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), Sort.by("createdAt").descending());
+        // Agents only ever see their assigned leads
+        UUID assignee = roles.contains("AGENT") ? userId : null;
+        String source = request.getSource() != null && !request.getSource().isBlank() ? request.getSource() : null;
 
-        // Apply role-based filtering
         Page<Lead> leads;
 
-        if (request.getSearchQuery() != null && !request.getSearchQuery().isBlank()) {
-            // Full-text search
-            List<Lead> searchResults = leadRepository.searchLeads(tenantId, request.getSearchQuery());
-
-            // Apply additional filters
-            searchResults = searchResults.stream()
-                    .filter(lead -> request.getStatus() == null || lead.getStatus().equals(request.getStatus()))
-                    .filter(lead -> request.getPriority() == null || lead.getPriority().equals(request.getPriority()))
-                    .filter(lead -> request.getSource() == null || request.getSource().equals(lead.getSource()))
-                    .collect(Collectors.toList());
-
-            // Apply role-based filtering for agents
-            if (roles.contains("AGENT")) {
-                searchResults = searchResults.stream()
-                        .filter(lead -> {
-                            Optional<LeadAssignment> assignment = assignmentRepository.findByLeadIdAndIsCurrentTrue(lead.getId());
-                            return assignment.isPresent() && assignment.get().getAssignedTo().equals(userId);
-                        })
-                        .collect(Collectors.toList());
-            }
-
-            // Manual pagination
-            int start = (int) pageable.getOffset();
-            int end = Math.min((start + pageable.getPageSize()), searchResults.size());
-            List<Lead> pageContent = searchResults.subList(start, end);
-
-            leads = new org.springframework.data.domain.PageImpl<>(pageContent, pageable, searchResults.size());
-        } else if (request.getStatus() != null) {
-            leads = leadRepository.findByTenantIdAndStatus(tenantId, request.getStatus(), pageable);
-        } else if (Boolean.TRUE.equals(request.getAssigned())) {
-            if (roles.contains("AGENT")) {
-                leads = leadRepository.findAssignedLeads(tenantId, userId, pageable);
-            } else {
-                // For supervisors/admins, this would need a different query
-                leads = leadRepository.findByTenantId(tenantId, pageable);
-            }
-        } else if (Boolean.FALSE.equals(request.getAssigned())) {
-            leads = leadRepository.findUnassignedLeads(tenantId, pageable);
+        if (LeadFilterSql.hasCustomFieldFilters(request)) {
+            // Custom field conditions need SQL built per request
+            leads = leadRepository.findByFilters(tenantId, request, assignee,
+                    PageRequest.of(request.getPage(), request.getSize()));
+        } else if (request.getSearchQuery() != null && !request.getSearchQuery().isBlank()) {
+            // Full-text search, best matches first
+            leads = leadRepository.searchLeads(tenantId, request.getSearchQuery(),
+                    request.getStatus() != null ? request.getStatus().name() : null,
+                    request.getPriority() != null ? request.getPriority().name() : null,
+                    source, assignee, request.getAssigned(),
+                    PageRequest.of(request.getPage(), request.getSize()));
         } else {
-            return getAllLeads(tenantId, userId, roles, request.getPage(), request.getSize());
+            leads = leadRepository.filterLeads(tenantId, request.getStatus(), request.getPriority(),
+                    source, assignee, request.getAssigned(),
+                    PageRequest.of(request.getPage(), request.getSize(), Sort.by("createdAt").descending()));
         }
 
         return leads.map(this::convertToDTO);
     }
 
     /**
-     * Get lead history
+     * Get lead history, as stored diffs or as full snapshots
      */
     @Transactional(readOnly = true)
-    public List<LeadHistoryDTO> getLeadHistory(UUID leadId, UUID tenantId) {
+    public List<LeadHistoryDTO> getLeadHistory(UUID leadId, UUID tenantId, boolean snapshots) {
         log.info("Fetching history for lead: {}", leadId);
 
-        List<LeadHistory> history = historyRepository.findByLeadIdOrderByTimestampDesc(leadId);
-
-        return history.stream()
-                .map(this::convertHistoryToDTO)
-                .collect(Collectors.toList());
+        Map<String, Object> current = !snapshots ? null : leadRepository.findById(leadId)
+                .filter(lead -> lead.getTenantId().equals(tenantId))
+                .map(this::convertToMap)
+                .orElse(null);
+        return leadHistoryService.getHistory(leadId, tenantId, snapshots, current);
     }
 
     /**
-     * Get lead statistics
+     * Get lead statistics from the per-tenant counters
      */
     @Transactional(readOnly = true)
     public LeadStatsDTO getLeadStats(UUID tenantId) {
         log.info("Fetching lead statistics for tenant: {}", tenantId);
 
-        long totalLeads = leadRepository.findByTenantId(tenantId, Pageable.unpaged()).getTotalElements();
-
-        List<Object[]> statusCounts = leadRepository.countLeadsByStatus(tenantId);
-        Map<Lead.LeadStatus, Long> leadsByStatus = new HashMap<>();
-        for (Object[] row : statusCounts) {
-            leadsByStatus.put((Lead.LeadStatus) row[0], ((Number) row[1]).longValue());
-        }
-
-        // Count assigned/unassigned
-        long assignedLeads = assignmentRepository.findByTenantIdAndAssignedToAndIsCurrentTrue(tenantId, null).size();
-        long unassignedLeads = totalLeads - assignedLeads;
-
-        return LeadStatsDTO.builder()
-                .totalLeads(totalLeads)
-                .assignedLeads(assignedLeads)
-                .unassignedLeads(unassignedLeads)
-                .leadsByStatus(leadsByStatus)
-                .build();
-    }
-
-    /**
-     * Record lead history
-     */
-    private void recordHistory(UUID leadId, String action, UUID performedBy,
-                                Map<String, Object> oldValue, Map<String, Object> newValue, UUID tenantId) {
-        LeadHistory history = new LeadHistory();
-        history.setTenantId(tenantId);
-        history.setLeadId(leadId);
-        history.setAction(action);
-        history.setPerformedBy(performedBy);
-        history.setOldValue(oldValue);
-        history.setNewValue(newValue);
-        history.setTimestamp(LocalDateTime.now());
-
-        historyRepository.save(history);
+        return leadStatsService.getStats(tenantId);
     }
 
     /**
      * Convert Lead entity to DTO
      */
     private LeadDTO convertToDTO(Lead lead) {
-        LeadDTO dto = LeadDTO.builder()
+        return LeadDTO.builder()
                 .id(lead.getId())
                 .tenantId(lead.getTenantId())
                 .firstName(lead.getFirstName())
@@ -293,17 +312,12 @@ public class LeadService {
                 .priority(lead.getPriority())
                 .customFields(lead.getCustomFields())
                 .notes(lead.getNotes())
+                .assignedTo(lead.getCurrentAssignee())
+                .lastContactedAt(lead.getLastContactedAt())
+                .followUpAt(lead.getFollowUpAt())
                 .createdAt(lead.getCreatedAt())
                 .updatedAt(lead.getUpdatedAt())
                 .build();
-
-        // Add assignment info if exists
-        assignmentRepository.findByLeadIdAndIsCurrentTrue(lead.getId())
-                .ifPresent(assignment -> {
-                    dto.setAssignedTo(assignment.getAssignedTo());
-                });
-
-        return dto;
     }
 
     /**
@@ -320,21 +334,8 @@ public class LeadService {
         map.put("status", lead.getStatus());
         map.put("priority", lead.getPriority());
         map.put("notes", lead.getNotes());
+        map.put("lastContactedAt", lead.getLastContactedAt());
+        map.put("followUpAt", lead.getFollowUpAt());
         return map;
     }
-
-    /**
-     * Convert LeadHistory to DTO
-     */
-    private LeadHistoryDTO convertHistoryToDTO(LeadHistory history) {
-        return LeadHistoryDTO.builder()
-                .id(history.getId())
-                .leadId(history.getLeadId())
-                .action(history.getAction())
-                .performedBy(history.getPerformedBy())
-                .oldValue(history.getOldValue())
-                .newValue(history.getNewValue())
-                .timestamp(history.getTimestamp())
-                .build();
-    }
 }
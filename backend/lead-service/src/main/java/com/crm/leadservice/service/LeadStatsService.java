@@ -0,0 +1,267 @@
+package com.crm.leadservice.service;
+
+import com.crm.leadservice.dto.response.LeadStatsDTO;
+import com.crm.leadservice.entity.Lead;
+import com.crm.leadservice.entity.Lead.LeadPriority;
+import com.crm.leadservice.entity.Lead.LeadStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Lead counters per tenant, status and priority in lead_management.lead_stats.
+ *
+ * <p>Every lead write adjusts the counters in its own transaction, so the dashboard reads at most
+ * one row per status and priority. Counters are reconciled against the leads table on a schedule
+ * to correct drift from writes that bypass this service.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeadStatsService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Count new leads; a batch of inserts becomes one statement per tenant
+     */
+    public void leadsAdded(Collection<Lead> leads) {
+        Map<UUID, Map<Key, long[]>> deltasByTenant = new HashMap<>();
+        for (Lead lead : leads) {
+            add(deltasByTenant.computeIfAbsent(lead.getTenantId(), tenantId -> new TreeMap<>()),
+                    lead.getStatus(), lead.getPriority(), 1, lead.getCurrentAssignee() != null ? 1 : 0);
+        }
+        deltasByTenant.forEach(this::apply);
+    }
+
+    public void leadRemoved(Lead lead) {
+        leadsRemoved(List.of(lead));
+    }
+
+    /**
+     * Stop counting deleted leads; one statement per tenant
+     */
+    public void leadsRemoved(Collection<Lead> leads) {
+        Map<UUID, Map<Key, long[]>> deltasByTenant = new HashMap<>();
+        for (Lead lead : leads) {
+            add(deltasByTenant.computeIfAbsent(lead.getTenantId(), tenantId -> new TreeMap<>()),
+                    lead.getStatus(), lead.getPriority(), -1, lead.getCurrentAssignee() != null ? -1 : 0);
+        }
+        deltasByTenant.forEach(this::apply);
+    }
+
+    /**
+     * Move leads between counters after a bulk change; before and after hold the same leads in both states
+     */
+    public void leadsChanged(Collection<Lead> before, Collection<Lead> after) {
+        Map<UUID, Map<Key, long[]>> deltasByTenant = new HashMap<>();
+        for (Lead lead : before) {
+            add(deltasByTenant.computeIfAbsent(lead.getTenantId(), tenantId -> new TreeMap<>()),
+                    lead.getStatus(), lead.getPriority(), -1, lead.getCurrentAssignee() != null ? -1 : 0);
+        }
+        for (Lead lead : after) {
+            add(deltasByTenant.computeIfAbsent(lead.getTenantId(), tenantId -> new TreeMap<>()),
+                    lead.getStatus(), lead.getPriority(), 1, lead.getCurrentAssignee() != null ? 1 : 0);
+        }
+        deltasByTenant.forEach(this::apply);
+    }
+
+    /**
+     * Move a lead between counters after its status or priority changed
+     */
+    public void leadChanged(Lead lead, LeadStatus oldStatus, LeadPriority oldPriority) {
+        if (oldStatus == lead.getStatus() && oldPriority == lead.getPriority()) {
+            return;
+        }
+        long assigned = lead.getCurrentAssignee() != null ? 1 : 0;
+        Map<Key, long[]> deltas = new TreeMap<>();
+        add(deltas, oldStatus, oldPriority, -1, -assigned);
+        add(deltas, lead.getStatus(), lead.getPriority(), 1, assigned);
+        apply(lead.getTenantId(), deltas);
+    }
+
+    /**
+     * Count a lead going from unassigned to assigned (+1) or back (-1)
+     */
+    public void assignmentChanged(Lead lead, int assignedDelta) {
+        assignmentsChanged(List.of(lead), assignedDelta);
+    }
+
+    /**
+     * Count leads going from unassigned to assigned (+1) or back (-1); one statement per tenant
+     */
+    public void assignmentsChanged(Collection<Lead> leads, int assignedDelta) {
+        Map<UUID, Map<Key, long[]>> deltasByTenant = new HashMap<>();
+        for (Lead lead : leads) {
+            add(deltasByTenant.computeIfAbsent(lead.getTenantId(), tenantId -> new TreeMap<>()),
+                    lead.getStatus(), lead.getPriority(), 0, assignedDelta);
+        }
+        deltasByTenant.forEach(this::apply);
+    }
+
+    /**
+     * Dashboard numbers for a tenant, read from the counters
+     */
+    public LeadStatsDTO getStats(UUID tenantId) {
+        Map<LeadStatus, Long> leadsByStatus = new EnumMap<>(LeadStatus.class);
+        Map<LeadPriority, Long> leadsByPriority = new EnumMap<>(LeadPriority.class);
+        long[] totals = new long[2];
+
+        jdbcTemplate.query("SELECT status, priority, total, assigned FROM lead_management.lead_stats WHERE tenant_id = ?",
+                rs -> {
+                    long total = rs.getLong(3);
+                    if (total == 0) {
+                        return;
+                    }
+                    leadsByStatus.merge(LeadStatus.valueOf(rs.getString(1)), total, Long::sum);
+                    leadsByPriority.merge(LeadPriority.valueOf(rs.getString(2)), total, Long::sum);
+                    totals[0] += total;
+                    totals[1] += rs.getLong(4);
+                }, tenantId);
+
+        return LeadStatsDTO.builder()
+                .totalLeads(totals[0])
+                .assignedLeads(totals[1])
+                .unassignedLeads(totals[0] - totals[1])
+                .leadsByStatus(leadsByStatus)
+                .leadsByPriority(leadsByPriority)
+                .build();
+    }
+
+    /**
+     * Recount every tenant from the leads table and correct counters that drifted
+     */
+    @Scheduled(initialDelayString = "${lead-stats.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${lead-stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        List<UUID> tenantIds = jdbcTemplate.queryForList("""
+                SELECT tenant_id FROM lead_management.lead_stats
+                UNION
+                SELECT DISTINCT tenant_id FROM lead_management.leads
+                """, UUID.class);
+
+        int corrected = 0;
+        for (UUID tenantId : tenantIds) {
+            try {
+                Integer rows = transactionTemplate.execute(status -> reconcile(tenantId));
+                corrected += rows != null ? rows : 0;
+            } catch (RuntimeException e) {
+                log.error("Lead stats reconciliation failed for tenant {}: {}", tenantId, e.getMessage());
+            }
+        }
+        if (corrected > 0) {
+            log.warn("Lead stats reconciliation corrected {} counters across {} tenants", corrected, tenantIds.size());
+        }
+    }
+
+    /**
+     * Lock the tenant's counters, recount, and write back the ones that differ; returns the number corrected
+     */
+    private int reconcile(UUID tenantId) {
+        Map<Key, long[]> stored = new TreeMap<>();
+        // Concurrent writers of this tenant wait here, so the recount below sees all of their leads
+        jdbcTemplate.query("""
+                SELECT status, priority, total, assigned FROM lead_management.lead_stats
+                WHERE tenant_id = ?
+                ORDER BY status, priority
+                FOR UPDATE
+                """, rs -> {
+            stored.put(new Key(LeadStatus.valueOf(rs.getString(1)), LeadPriority.valueOf(rs.getString(2))),
+                    new long[]{rs.getLong(3), rs.getLong(4)});
+        }, tenantId);
+
+        Map<Key, long[]> actual = new TreeMap<>();
+        jdbcTemplate.query("""
+                SELECT status, priority, count(*), count(current_assignee) FROM lead_management.leads
+                WHERE tenant_id = ?
+                GROUP BY status, priority
+                """, rs -> {
+            actual.put(new Key(LeadStatus.valueOf(rs.getString(1)), LeadPriority.valueOf(rs.getString(2))),
+                    new long[]{rs.getLong(3), rs.getLong(4)});
+        }, tenantId);
+
+        Map<Key, long[]> corrections = new TreeMap<>();
+        Set<Key> keys = new TreeSet<>(stored.keySet());
+        keys.addAll(actual.keySet());
+        for (Key key : keys) {
+            long[] counted = actual.getOrDefault(key, new long[2]);
+            if (!Arrays.equals(counted, stored.getOrDefault(key, new long[2]))) {
+                corrections.put(key, counted);
+            }
+        }
+
+        if (!corrections.isEmpty()) {
+            log.info("Correcting {} lead stats counters for tenant {}", corrections.size(), tenantId);
+            upsert(tenantId, corrections, false);
+        }
+        return corrections.size();
+    }
+
+    private static void add(Map<Key, long[]> deltas, LeadStatus status, LeadPriority priority, long total, long assigned) {
+        long[] delta = deltas.computeIfAbsent(new Key(status, priority), key -> new long[2]);
+        delta[0] += total;
+        delta[1] += assigned;
+    }
+
+    private void apply(UUID tenantId, Map<Key, long[]> deltas) {
+        deltas.values().removeIf(delta -> delta[0] == 0 && delta[1] == 0);
+        if (!deltas.isEmpty()) {
+            upsert(tenantId, deltas, true);
+        }
+    }
+
+    /**
+     * One multi-row upsert; rows are locked in key order so concurrent writers cannot deadlock
+     *
+     * @param relative add the values to the counters instead of overwriting them
+     */
+    private void upsert(UUID tenantId, Map<Key, long[]> values, boolean relative) {
+        StringBuilder sql = new StringBuilder("""
+                INSERT INTO lead_management.lead_stats (tenant_id, status, priority, total, assigned, updated_at)
+                VALUES\s""");
+        List<Object> args = new ArrayList<>(values.size() * 6);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (Map.Entry<Key, long[]> entry : values.entrySet()) {
+            sql.append(args.isEmpty() ? "" : ", ").append("(?, ?, ?, ?, ?, ?)");
+            args.add(tenantId);
+            args.add(entry.getKey().status().name());
+            args.add(entry.getKey().priority().name());
+            args.add(entry.getValue()[0]);
+            args.add(entry.getValue()[1]);
+            args.add(now);
+        }
+        sql.append(relative ? """
+
+                ON CONFLICT (tenant_id, status, priority) DO UPDATE
+                SET total = lead_stats.total + EXCLUDED.total,
+                    assigned = lead_stats.assigned + EXCLUDED.assigned,
+                    updated_at = EXCLUDED.updated_at
+                """ : """
+
+                ON CONFLICT (tenant_id, status, priority) DO UPDATE
+                SET total = EXCLUDED.total,
+                    assigned = EXCLUDED.assigned,
+                    updated_at = EXCLUDED.updated_at
+                """);
+
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private record Key(LeadStatus status, LeadPriority priority) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key other) {
+            int byStatus = status.name().compareTo(other.status.name());
+            return byStatus != 0 ? byStatus : priority.name().compareTo(other.priority.name());
+        }
+    }
+}
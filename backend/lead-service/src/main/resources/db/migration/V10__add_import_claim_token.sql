@@ -0,0 +1,6 @@
+-- Fence import job ownership: each claim writes a new token, and chunk commits only land for the token holder.
+-- Heartbeats use the database clock, so instances with skewed clocks agree on staleness.
+
+ALTER TABLE lead_management.excel_imports
+    ADD COLUMN IF NOT EXISTS claim_token UUID,
+    ALTER COLUMN heartbeat_at SET DEFAULT now();
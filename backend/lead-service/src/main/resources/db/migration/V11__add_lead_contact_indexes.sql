@@ -0,0 +1,18 @@
+-- Contact lookups (see LeadContactIndex) match phone and email keys in the database
+
+-- The digits of a phone number as typed, ignoring a bracketed trunk prefix "(0)" and anything from the
+-- first letter on (extensions); the lookup derives every digit string that normalises to the wanted number
+CREATE OR REPLACE FUNCTION lead_management.phone_digits(phone text)
+    RETURNS text
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+AS $$
+    SELECT NULLIF(regexp_replace(regexp_replace(replace(phone, '(0)', ''), '[[:alpha:]].*$', ''), '[^0-9]', '', 'g'), '')
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_leads_tenant_phone_digits
+    ON lead_management.leads(tenant_id, lead_management.phone_digits(phone));
+
+CREATE INDEX IF NOT EXISTS idx_leads_tenant_email_key
+    ON lead_management.leads(tenant_id, lower(btrim(email)));
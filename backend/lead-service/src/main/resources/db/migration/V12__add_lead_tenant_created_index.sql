@@ -0,0 +1,3 @@
+-- Exports page through a tenant's leads newest first by (created_at, id) keyset (see LeadExportService);
+-- also serves the default lead list order
+CREATE INDEX IF NOT EXISTS idx_leads_tenant_created ON lead_management.leads(tenant_id, created_at, id);
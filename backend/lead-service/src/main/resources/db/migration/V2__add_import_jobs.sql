@@ -0,0 +1,26 @@
+-- Background lead imports: progress, resume point and per-row errors
+
+ALTER TABLE lead_management.excel_imports
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS last_committed_row INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS completed_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_excel_imports_processing ON lead_management.excel_imports(heartbeat_at)
+    WHERE status = 'PROCESSING';
+
+CREATE TABLE IF NOT EXISTS lead_management.excel_import_errors (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    tenant_id UUID NOT NULL,
+    import_id UUID NOT NULL REFERENCES lead_management.excel_imports(id) ON DELETE CASCADE,
+    row_number INTEGER NOT NULL,
+    field VARCHAR(50),
+    error TEXT NOT NULL,
+    cell_value TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_excel_import_errors_import_row ON lead_management.excel_import_errors(import_id, row_number);
+
+COMMENT ON TABLE lead_management.excel_import_errors IS 'Row-level errors of lead imports, written with each committed chunk';
@@ -0,0 +1,25 @@
+-- Current assignee denormalised onto leads, so listings need no per-row or subquery lookup
+-- of lead_assignments. Kept in step with is_current by LeadAssignmentService.
+
+ALTER TABLE lead_management.leads
+    ADD COLUMN IF NOT EXISTS current_assignee UUID;
+
+UPDATE lead_management.leads l
+SET current_assignee = a.assigned_to
+FROM (
+    SELECT DISTINCT ON (lead_id) lead_id, assigned_to
+    FROM lead_management.lead_assignments
+    WHERE is_current = true
+    ORDER BY lead_id, assigned_at DESC
+) a
+WHERE a.lead_id = l.id
+AND l.current_assignee IS DISTINCT FROM a.assigned_to;
+
+-- Agent listings (my-leads) and unassigned listings, both newest first
+CREATE INDEX IF NOT EXISTS idx_leads_tenant_assignee_created
+    ON lead_management.leads(tenant_id, current_assignee, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_leads_tenant_unassigned_created
+    ON lead_management.leads(tenant_id, created_at DESC)
+    WHERE current_assignee IS NULL;
+
+COMMENT ON COLUMN lead_management.leads.current_assignee IS 'assigned_to of the current lead_assignments row, null when unassigned';
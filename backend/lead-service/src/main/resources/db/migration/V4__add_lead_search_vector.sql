@@ -0,0 +1,13 @@
+-- Stored search vector for lead full-text search. Same document as idx_leads_fulltext,
+-- computed once on write instead of per row at query time. Adding the column rewrites the table.
+
+ALTER TABLE lead_management.leads
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('english',
+        COALESCE(first_name, '') || ' ' || COALESCE(last_name, '') || ' ' ||
+        COALESCE(company, '') || ' ' || COALESCE(email, ''))) STORED;
+
+DROP INDEX IF EXISTS lead_management.idx_leads_fulltext;
+CREATE INDEX IF NOT EXISTS idx_leads_search_vector ON lead_management.leads USING gin(search_vector);
+
+COMMENT ON COLUMN lead_management.leads.search_vector IS 'Full-text document of name, company and email; generated';
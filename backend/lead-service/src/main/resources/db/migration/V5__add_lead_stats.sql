@@ -0,0 +1,20 @@
+-- Per-tenant lead counters for the stats dashboard, one row per (status, priority).
+-- Adjusted in the same transaction as each lead write; periodically reconciled against leads.
+
+CREATE TABLE IF NOT EXISTS lead_management.lead_stats (
+    tenant_id UUID NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    priority VARCHAR(20) NOT NULL,
+    total BIGINT NOT NULL DEFAULT 0,
+    assigned BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, status, priority)
+);
+
+INSERT INTO lead_management.lead_stats (tenant_id, status, priority, total, assigned)
+SELECT tenant_id, status, priority, count(*), count(current_assignee)
+FROM lead_management.leads
+GROUP BY tenant_id, status, priority
+ON CONFLICT (tenant_id, status, priority) DO NOTHING;
+
+COMMENT ON TABLE lead_management.lead_stats IS 'Lead counts per tenant, status and priority; total and assigned';
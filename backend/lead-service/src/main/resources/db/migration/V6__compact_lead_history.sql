@@ -0,0 +1,21 @@
+-- Lead history now stores changed fields only and is written in batches.
+-- Audit columns the entity maps, and lz4 for the JSONB values where the server supports it.
+
+ALTER TABLE lead_management.lead_history
+    ADD COLUMN IF NOT EXISTS created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_settings
+               WHERE name = 'default_toast_compression' AND 'lz4' = ANY(enumvals)) THEN
+        ALTER TABLE lead_management.lead_history
+            ALTER COLUMN old_value SET COMPRESSION lz4,
+            ALTER COLUMN new_value SET COMPRESSION lz4;
+    END IF;
+END $$;
+
+-- History is read per lead and tenant in time order
+CREATE INDEX IF NOT EXISTS idx_history_lead_tenant_timestamp
+    ON lead_management.lead_history(lead_id, tenant_id, timestamp);
+DROP INDEX IF EXISTS lead_management.idx_history_lead_timestamp;
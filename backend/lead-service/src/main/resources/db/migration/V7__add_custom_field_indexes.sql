@@ -0,0 +1,17 @@
+-- Custom field filters (see LeadFilterSql)
+
+-- EQUALS / IN compile to containment (custom_fields @> '{"key": value}'); jsonb_path_ops indexes
+-- hashed key paths with their values, smaller and faster for @> than the default jsonb_ops
+CREATE INDEX IF NOT EXISTS idx_leads_custom_fields
+    ON lead_management.leads USING gin (custom_fields jsonb_path_ops);
+
+-- A JSON number as numeric, anything else as NULL, so numeric RANGE filters and the expression
+-- indexes of hot keys never fail on a lead that stores text under the same key
+CREATE OR REPLACE FUNCTION lead_management.jsonb_numeric(value jsonb)
+    RETURNS numeric
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+AS $$
+    SELECT CASE WHEN jsonb_typeof(value) = 'number' THEN (value #>> '{}')::numeric END
+$$;
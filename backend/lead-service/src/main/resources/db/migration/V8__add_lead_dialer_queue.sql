@@ -0,0 +1,23 @@
+-- Dialer queue for GET /leads/next (see LeadQueueService)
+
+ALTER TABLE lead_management.leads
+    ADD COLUMN IF NOT EXISTS last_contacted_at TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS follow_up_at TIMESTAMP,
+    -- When the lead may be called again: the follow-up date, or the last contact plus the recontact gap; NULL = now
+    ADD COLUMN IF NOT EXISTS next_contact_at TIMESTAMP,
+    -- Agent currently working the lead, until lease_expires_at
+    ADD COLUMN IF NOT EXISTS leased_by UUID,
+    ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP,
+    -- Sortable priority, HIGH first; adding a stored generated column rewrites the table
+    ADD COLUMN IF NOT EXISTS priority_rank SMALLINT
+        GENERATED ALWAYS AS (CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END) STORED;
+
+-- Queue order over callable statuses, so the next lead is the first index entry that is due, not leased
+-- and not locked by a concurrent lease
+CREATE INDEX IF NOT EXISTS idx_leads_dialer_queue
+    ON lead_management.leads (tenant_id, priority_rank, next_contact_at NULLS FIRST, created_at)
+    WHERE status IN ('NEW', 'CONTACTED', 'QUALIFIED');
+
+CREATE INDEX IF NOT EXISTS idx_leads_tenant_leased_by
+    ON lead_management.leads (tenant_id, leased_by)
+    WHERE leased_by IS NOT NULL;
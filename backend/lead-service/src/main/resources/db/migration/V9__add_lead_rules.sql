@@ -0,0 +1,31 @@
+-- Lifecycle rules: per-tenant conditions on leads and the status or priority to set when they match.
+-- Run on a schedule by LeadRuleEngine; the running_by/running_until lease keeps two instances from sweeping
+-- the same rule, and only the lease holder may release it.
+
+CREATE TABLE IF NOT EXISTS lead_management.lead_rules (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    tenant_id UUID NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    enabled BOOLEAN NOT NULL DEFAULT true,
+    match_statuses VARCHAR(50)[],
+    match_priorities VARCHAR(20)[],
+    match_sources VARCHAR(100)[],
+    no_contact_days INTEGER CHECK (no_contact_days > 0),
+    assigned_for_days INTEGER CHECK (assigned_for_days > 0),
+    target_status VARCHAR(50) CHECK (target_status IN ('NEW', 'CONTACTED', 'QUALIFIED', 'CONVERTED', 'LOST')),
+    target_priority VARCHAR(20) CHECK (target_priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    created_by UUID NOT NULL,
+    last_run_at TIMESTAMP,
+    last_run_affected BIGINT,
+    last_run_skipped BIGINT,
+    running_by UUID,
+    running_until TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CHECK (target_status IS NOT NULL OR target_priority IS NOT NULL)
+);
+
+CREATE INDEX IF NOT EXISTS idx_lead_rules_tenant ON lead_management.lead_rules(tenant_id);
+
+-- Rule sweeps walk one tenant's leads in id order (keyset chunks)
+CREATE INDEX IF NOT EXISTS idx_leads_tenant_id ON lead_management.leads(tenant_id, id);
@@ -0,0 +1,37 @@
+package com.crm.leadservice.exporter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvRowWriterTest {
+
+    @Test
+    void quotesOnlyFieldsThatNeedIt() throws IOException {
+        assertEquals("plain,\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",\r\n",
+                write("plain", "a,b", "say \"hi\"", "two\nlines", null));
+    }
+
+    @Test
+    void prefixesFormulaLikeFields() throws IOException {
+        assertEquals("\"'=HYPERLINK(\"\"x\"\")\",'+15550102030,'-1,'@SUM(A1),a=b,\r\n",
+                write("=HYPERLINK(\"x\")", "+15550102030", "-1", "@SUM(A1)", "a=b", ""));
+    }
+
+    @Test
+    void quotesAPrefixedFieldThatNeedsQuoting() throws IOException {
+        assertEquals("\"'=1,2\"\r\n", write("=1,2"));
+    }
+
+    private static String write(String... row) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvRowWriter writer = new CsvRowWriter(out);
+        writer.write(row);
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,120 @@
+package com.crm.leadservice.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRowReaderTest {
+
+    @Test
+    void keepsCommasInsideQuotes() throws IOException {
+        List<ImportRow> rows = read("name,company\nAda,\"Lovelace, Byron & Co\"\n");
+
+        assertEquals(2, rows.size());
+        assertValues(rows.get(1), "Ada", "Lovelace, Byron & Co");
+    }
+
+    @Test
+    void keepsLineBreaksInsideQuotesWithoutShiftingRowNumbers() throws IOException {
+        List<ImportRow> rows = read("name,notes\nAda,\"first line\nsecond line\r\nthird\"\nGrace,short\n");
+
+        assertEquals(3, rows.size());
+        assertValues(rows.get(1), "Ada", "first line\nsecond line\r\nthird");
+        assertEquals(2, rows.get(1).getRowNumber());
+        assertValues(rows.get(2), "Grace", "short");
+        assertEquals(3, rows.get(2).getRowNumber());
+    }
+
+    @Test
+    void unescapesDoubledQuotes() throws IOException {
+        List<ImportRow> rows = read("\"say \"\"hi\"\"\",\"\"\"\",plain\n");
+
+        assertValues(rows.get(0), "say \"hi\"", "\"", "plain");
+    }
+
+    @Test
+    void keepsAStrayQuoteInAnUnquotedField() throws IOException {
+        List<ImportRow> rows = read("5\" display,x\n");
+
+        assertValues(rows.get(0), "5\" display", "x");
+    }
+
+    @Test
+    void endsRecordsOnCrlfLfAndLoneCr() throws IOException {
+        List<ImportRow> rows = read("a,b\r\nc,d\ne,f\rg,h\r\n");
+
+        assertEquals(4, rows.size());
+        assertValues(rows.get(0), "a", "b");
+        assertValues(rows.get(1), "c", "d");
+        assertValues(rows.get(2), "e", "f");
+        assertValues(rows.get(3), "g", "h");
+    }
+
+    @Test
+    void readsTheLastRecordWithoutAFinalLineBreak() throws IOException {
+        List<ImportRow> rows = read("a,b\nc,\"d\"");
+
+        assertEquals(2, rows.size());
+        assertValues(rows.get(1), "c", "d");
+    }
+
+    @Test
+    void readsEmptyFieldsAsBlank() throws IOException {
+        List<ImportRow> rows = read("a,,\"\",d,\n");
+
+        assertEquals(5, rows.get(0).size());
+        assertEquals("a", rows.get(0).get(0));
+        assertNull(rows.get(0).get(1));
+        assertNull(rows.get(0).get(2));
+        assertEquals("d", rows.get(0).get(3));
+        assertNull(rows.get(0).get(4));
+    }
+
+    @Test
+    void skipsTheByteOrderMark() throws IOException {
+        List<ImportRow> rows = read("\uFEFFemail\nada@example.com\n");
+
+        assertValues(rows.get(0), "email");
+    }
+
+    @Test
+    void readsFieldsSpanningBufferRefills() throws IOException {
+        String longText = "x".repeat(100_000) + "\"" + "y".repeat(50_000);
+        String quoted = longText.replace("\"", "\"\"");
+
+        List<ImportRow> rows = read("id,notes\n1,\"" + quoted + "\"\n2,\"" + quoted + "\"");
+
+        assertEquals(3, rows.size());
+        assertValues(rows.get(1), "1", longText);
+        assertValues(rows.get(2), "2", longText);
+    }
+
+    @Test
+    void stopsWhenTheHandlerDeclines() throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        CsvRowReader.read(new StringReader("a\nb\nc\n"), row -> {
+            rows.add(row);
+            return rows.size() < 2;
+        });
+
+        assertEquals(2, rows.size());
+    }
+
+    private static List<ImportRow> read(String csv) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        CsvRowReader.read(new StringReader(csv), rows::add);
+        return rows;
+    }
+
+    private static void assertValues(ImportRow row, String... expected) {
+        assertEquals(expected.length, row.size(), "field count of row " + row.getRowNumber());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], row.get(i), "field " + i + " of row " + row.getRowNumber());
+        }
+    }
+}
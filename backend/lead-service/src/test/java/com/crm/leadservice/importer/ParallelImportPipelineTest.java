@@ -0,0 +1,132 @@
+package com.crm.leadservice.importer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelImportPipelineTest {
+
+    private ParallelImportPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new ParallelImportPipeline(task -> task);
+        ReflectionTestUtils.setField(pipeline, "blockSize", 7);
+        ReflectionTestUtils.setField(pipeline, "parallelism", 4);
+        ReflectionTestUtils.setField(pipeline, "blocksInFlight", 3);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void deliversResultsInFileOrder() throws IOException {
+        List<Integer> received = new ArrayList<>();
+
+        pipeline.run(rows(1_000, new AtomicInteger()), header -> row -> {
+            // Uneven work so that blocks finish out of order
+            if (row.getRowNumber() % 13 == 0) {
+                sleep(1);
+            }
+            return row.getRowNumber();
+        }, received::add);
+
+        assertEquals(1_000, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(i + 2, received.get(i));
+        }
+    }
+
+    @Test
+    void rethrowsATransformFailureAndStopsReading() {
+        AtomicInteger read = new AtomicInteger();
+        List<Integer> received = new ArrayList<>();
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> pipeline.run(rows(1_000_000, read), header -> row -> {
+                    if (row.getRowNumber() == 100) {
+                        throw new IllegalArgumentException("bad row 100");
+                    }
+                    return row.getRowNumber();
+                }, received::add));
+
+        assertEquals("bad row 100", error.getMessage());
+        assertTrue(received.size() < 99, "no result at or after the failing row reaches the sink");
+        assertTrue(read.get() < 1_000_000, "the reader stops once the run fails");
+    }
+
+    @Test
+    void cancelsTheReaderWhenTheSinkFails() {
+        AtomicInteger read = new AtomicInteger();
+        AtomicInteger sunk = new AtomicInteger();
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> pipeline.run(rows(1_000_000, read), header -> ImportRow::getRowNumber, result -> {
+                    if (sunk.incrementAndGet() == 50) {
+                        throw new IllegalStateException("sink failed");
+                    }
+                }));
+
+        assertEquals("sink failed", error.getMessage());
+        assertEquals(50, sunk.get());
+        assertTrue(read.get() < 1_000_000, "the reader stops once the sink fails");
+    }
+
+    @Test
+    void rethrowsAReadFailureAsIoException() {
+        List<Integer> received = new ArrayList<>();
+
+        IOException error = assertThrows(IOException.class, () -> pipeline.run(handler -> {
+            handler.handle(new ImportRow(1, new String[]{"header"}));
+            handler.handle(new ImportRow(2, new String[]{"value"}));
+            throw new IOException("truncated upload");
+        }, header -> ImportRow::getRowNumber, received::add));
+
+        assertEquals("truncated upload", error.getMessage());
+    }
+
+    @Test
+    void stopsAfterTheHeaderWhenItIsRejected() throws IOException {
+        AtomicInteger read = new AtomicInteger();
+        List<Integer> received = new ArrayList<>();
+
+        pipeline.run(rows(1_000, read), header -> (Function<ImportRow, Integer>) null, received::add);
+
+        assertTrue(received.isEmpty());
+        assertEquals(1, read.get());
+    }
+
+    /**
+     * A header row followed by {@code count} data rows, counting the rows the pipeline accepted
+     */
+    private static ParallelImportPipeline.RowSource rows(int count, AtomicInteger read) {
+        return handler -> {
+            for (int rowNumber = 1; rowNumber <= count + 1; rowNumber++) {
+                read.incrementAndGet();
+                if (!handler.handle(new ImportRow(rowNumber, new String[]{"value " + rowNumber}))) {
+                    return;
+                }
+            }
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.crm.leadservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactKeysTest {
+
+    @Test
+    void givesNationalNumbersTheDefaultCountryCode() {
+        assertEquals("+15550102030", ContactKeys.phone("5550102030", "1"));
+        assertEquals("+15550102030", ContactKeys.phone("15550102030", "1"));
+        assertEquals("+442079460000", ContactKeys.phone("020 7946 0000", "44"));
+    }
+
+    @Test
+    void keepsThePlusPrefixedCountryCode() {
+        assertEquals("+442079460000", ContactKeys.phone("+44 20 7946 0000", "1"));
+        assertEquals("+442079460000", ContactKeys.phone("+44 (0)20 7946 0000", "1"));
+        assertEquals("+15550102030", ContactKeys.phone("+1-555-010-2030", "44"));
+    }
+
+    @Test
+    void readsInternationalAccessPrefixes() {
+        assertEquals("+442079460000", ContactKeys.phone("0044 20 7946 0000", "1"));
+        assertEquals("+442079460000", ContactKeys.phone("011 44 20 7946 0000", "1"));
+        // 011 is only the access prefix where the default country is NANP
+        assertEquals("+4911442079460", ContactKeys.phone("011 4420 79460", "49"));
+    }
+
+    @Test
+    void ignoresPunctuationAndExtensions() {
+        assertEquals("+15550102030", ContactKeys.phone("(555) 010-2030", "1"));
+        assertEquals("+15550102030", ContactKeys.phone("555.010.2030", "1"));
+        assertEquals("+15550102030", ContactKeys.phone(" 555 010 2030 x12", "1"));
+        assertEquals("+15550102030", ContactKeys.phone("555-010-2030 ext. 4", "1"));
+    }
+
+    @Test
+    void rejectsShortLongAndGarbageInput() {
+        assertNull(ContactKeys.phone(null, "1"));
+        assertNull(ContactKeys.phone("", "1"));
+        assertNull(ContactKeys.phone("n/a", "1"));
+        assertNull(ContactKeys.phone("12345", "1"));
+        assertNull(ContactKeys.phone("+12345", "1"));
+        assertNull(ContactKeys.phone("+1234567890123456", "1"));
+        assertNull(ContactKeys.phone("000", "1"));
+    }
+
+    @Test
+    void normalisesEmails() {
+        assertEquals("ada@example.com", ContactKeys.email("  Ada@Example.COM "));
+        assertNull(ContactKeys.email("   "));
+        assertNull(ContactKeys.email(null));
+    }
+}
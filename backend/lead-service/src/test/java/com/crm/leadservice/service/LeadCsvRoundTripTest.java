@@ -0,0 +1,117 @@
+package com.crm.leadservice.service;
+
+import com.crm.leadservice.dto.request.SearchLeadRequest;
+import com.crm.leadservice.entity.Lead;
+import com.crm.leadservice.importer.LeadImportBatch;
+import com.crm.leadservice.importer.LeadImportWriter;
+import com.crm.leadservice.importer.ParallelImportPipeline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * A lead exported as CSV and imported again keeps its values, including ones the export escapes as formulas
+ */
+class LeadCsvRoundTripTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+
+    private ParallelImportPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new ParallelImportPipeline(task -> task);
+        ReflectionTestUtils.setField(pipeline, "blockSize", 10);
+        ReflectionTestUtils.setField(pipeline, "parallelism", 2);
+        ReflectionTestUtils.setField(pipeline, "blocksInFlight", 2);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void reimportsAnExportedLeadUnchanged() throws IOException {
+        String csv = export(new Object[]{
+                UUID.randomUUID(), "Ada", "Lovelace", "ada@example.com", "+15550102030", "=Analytical, Engines",
+                "-referral", "QUALIFIED", "HIGH", null, "@mention \"quoted\"", null,
+                Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(LocalDateTime.now())
+        });
+        assertTrue(csv.contains("'+15550102030"), "the export still escapes formula-like cells");
+
+        Lead lead = reimport(csv);
+
+        assertEquals("Ada", lead.getFirstName());
+        assertEquals("Lovelace", lead.getLastName());
+        assertEquals("ada@example.com", lead.getEmail());
+        assertEquals("+15550102030", lead.getPhone());
+        assertEquals("=Analytical, Engines", lead.getCompany());
+        assertEquals("-referral", lead.getSource());
+        assertEquals(Lead.LeadStatus.QUALIFIED, lead.getStatus());
+        assertEquals(Lead.LeadPriority.HIGH, lead.getPriority());
+        assertEquals("@mention \"quoted\"", lead.getNotes());
+    }
+
+    @Test
+    void keepsAnApostropheThatDoesNotEscapeAFormula() throws IOException {
+        String csv = "First Name,Last Name,Email,Phone,Notes\r\nAda,Lovelace,ada@example.com,'555,'tis\r\n";
+
+        Lead lead = reimport(csv);
+
+        assertEquals("'555", lead.getPhone());
+        assertEquals("'tis", lead.getNotes());
+    }
+
+    private static String export(Object[] lead) throws IOException {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(call -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getObject(anyInt())).thenAnswer(get -> lead[(int) get.getArgument(0) - 1]);
+            RowMapper<?> mapper = call.getArgument(1);
+            return List.of(mapper.mapRow(rs, 0));
+        });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new LeadExportService(jdbcTemplate)
+                .export(TENANT, new SearchLeadRequest(), null, LeadExportService.Format.CSV, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Lead reimport(String csv) {
+        LeadImportWriter writer = mock(LeadImportWriter.class);
+        LeadImportBatch batch = mock(LeadImportBatch.class);
+        when(writer.newBatch(eq(TENANT), anyList(), anyBoolean())).thenReturn(batch);
+
+        Map<String, Integer> result = new LeadImportService(writer, pipeline).importFromFile(
+                new MockMultipartFile("file", "leads.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)),
+                TENANT, UUID.randomUUID());
+
+        assertEquals(0, result.get("errorCount"));
+        List<Lead> imported = mockingDetails(batch).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("add"))
+                .map(invocation -> (Lead) invocation.getArgument(1))
+                .toList();
+        assertEquals(1, imported.size());
+        return imported.get(0);
+    }
+}
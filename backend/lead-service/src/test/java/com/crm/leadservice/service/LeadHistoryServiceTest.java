@@ -0,0 +1,154 @@
+package com.crm.leadservice.service;
+
+import com.crm.leadservice.repository.LeadHistoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LeadHistoryServiceTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+    private final AtomicInteger transientFailures = new AtomicInteger();
+    private LeadHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenAnswer(call -> {
+            if (transientFailures.getAndDecrement() > 0) {
+                throw new TransientDataAccessResourceException("connection reset");
+            }
+            BatchPreparedStatementSetter setter = call.getArgument(1);
+            List<UUID> leadIds = new ArrayList<>();
+            PreparedStatement ps = mock(PreparedStatement.class);
+            doAnswer(set -> leadIds.add(set.getArgument(1))).when(ps).setObject(eq(3), any());
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+                setter.setValues(ps, i);
+            }
+            transactionManager.written(leadIds);
+            return new int[setter.getBatchSize()];
+        });
+
+        service = new LeadHistoryService(jdbcTemplate, mock(LeadHistoryRepository.class), new ObjectMapper(),
+                transactionManager);
+        ReflectionTestUtils.setField(service, "batchSize", 25);
+        ReflectionTestUtils.setField(service, "bufferCapacity", 100);
+        ReflectionTestUtils.setField(service, "retryBackoffMs", 0L);
+        service.createBuffer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void commitsEveryEntryWhenACommitHookOverflowsTheBuffer() {
+        List<LeadHistoryService.Change> changes = changes(1_050);
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.recordAll(TENANT, "BULK_UPDATED", UUID.randomUUID(), changes);
+        assertTrue(transactionManager.committed.isEmpty(), "nothing is written before the request commits");
+        // The request commits: its hooks run while its own connection is still bound to the thread
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        service.flush();
+
+        assertEquals(leadIds(changes), transactionManager.committedLeadIds());
+        assertEquals(1_050, transactionManager.committed.size());
+        assertTrue(transactionManager.outsideTransaction.isEmpty(), "no insert runs on the request's connection");
+    }
+
+    @Test
+    void retriesABatchThatFailedOnATransientError() {
+        List<LeadHistoryService.Change> changes = changes(60);
+        service.recordAll(TENANT, "BULK_UPDATED", UUID.randomUUID(), changes);
+
+        transientFailures.set(1);
+        service.flush();
+        assertEquals(0, transactionManager.committed.size());
+
+        service.flush();
+        assertEquals(leadIds(changes), transactionManager.committedLeadIds());
+        assertEquals(60, transactionManager.committed.size());
+    }
+
+    private List<LeadHistoryService.Change> changes(int count) {
+        List<LeadHistoryService.Change> changes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            changes.add(new LeadHistoryService.Change(UUID.randomUUID(),
+                    Map.of("status", "NEW"), Map.of("status", "QUALIFIED")));
+        }
+        return changes;
+    }
+
+    private static Set<UUID> leadIds(List<LeadHistoryService.Change> changes) {
+        Set<UUID> ids = new HashSet<>();
+        changes.forEach(change -> ids.add(change.leadId()));
+        return ids;
+    }
+
+    /**
+     * Rows (by lead id) count as stored only when written inside a transaction this manager began and committed
+     */
+    private static class RecordingTransactionManager implements PlatformTransactionManager {
+
+        final Deque<List<UUID>> open = new ArrayDeque<>();
+        final List<UUID> committed = new ArrayList<>();
+        final List<UUID> outsideTransaction = new ArrayList<>();
+
+        void written(List<UUID> leadIds) {
+            if (open.isEmpty()) {
+                outsideTransaction.addAll(leadIds);
+            } else {
+                open.peek().addAll(leadIds);
+            }
+        }
+
+        Set<UUID> committedLeadIds() {
+            return new HashSet<>(committed);
+        }
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getPropagationBehavior());
+            open.push(new ArrayList<>());
+            return new SimpleTransactionStatus(true);
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            committed.addAll(open.pop());
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            open.pop();
+        }
+    }
+}
@@ -38,6 +38,8 @@ public class SecurityConfig {
                         .requestMatchers("/auth/**", "/auth/login", "/auth/register", "/auth/refresh").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Access-log sampling is operator-only
+                        .requestMatchers("/actuator/accesslog", "/actuator/accesslog/**").hasRole("ADMIN")
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
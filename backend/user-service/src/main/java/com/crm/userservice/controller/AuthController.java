@@ -69,6 +69,15 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success("Logout successful"));
     }
 
+    @PostMapping("/logout-all")
+    @Operation(summary = "Logout all sessions", description = "Revoke every access and refresh token issued to the user")
+    public ResponseEntity<ApiResponse<Void>> logoutAll(HttpServletRequest request) {
+        log.info("Logout all sessions request");
+        String token = extractTokenFromRequest(request);
+        authService.logoutAllSessions(token);
+        return ResponseEntity.ok(ApiResponse.success("Logged out from all sessions"));
+    }
+
     /**
      * Extract JWT token from Authorization header
      */
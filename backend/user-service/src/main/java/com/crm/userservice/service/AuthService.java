@@ -182,6 +182,19 @@ public class AuthService {
         }
     }
 
+    /**
+     * Logout user from every session (revoke all tokens issued so far)
+     */
+    public void logoutAllSessions(String token) {
+        log.info("Logout all sessions request");
+
+        if (token != null && jwtUtil.validateToken(token)) {
+            UUID userId = jwtUtil.getUserIdFromToken(token);
+            tokenBlacklistService.revokeAllForUser(userId);
+            log.info("All sessions revoked for user: {}", userId);
+        }
+    }
+
     /**
      * Create new tenant
      */
@@ -0,0 +1,40 @@
+// k6 load test: authenticated lead reads through the API gateway.
+// Run via `make loadtest` (virtual threads) or `VIRTUAL_THREADS=false make loadtest` (platform threads)
+// and compare http_req_duration p95/p99 and http_req_failed between the two runs.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://api-gateway:8000';
+
+export const options = {
+  scenarios: {
+    leads: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: 200 },
+        { duration: '2m', target: 1000 },
+        { duration: '30s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    http_req_duration: ['p(95)<500', 'p(99)<1500'],
+  },
+};
+
+export function setup() {
+  const res = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({
+    email: __ENV.LOADTEST_EMAIL,
+    password: __ENV.LOADTEST_PASSWORD,
+  }), { headers: { 'Content-Type': 'application/json' } });
+  check(res, { 'logged in': (r) => r.status === 200 });
+  return { token: res.json('data.accessToken') };
+}
+
+export default function (data) {
+  const params = { headers: { Authorization: `Bearer ${data.token}` } };
+  check(http.get(`${BASE_URL}/api/leads?page=0&size=20`, params), { 'list 200': (r) => r.status === 200 });
+  check(http.get(`${BASE_URL}/api/leads/stats`, params), { 'stats 200': (r) => r.status === 200 });
+}